@@ -0,0 +1,42 @@
+package organizationmanagement.benchmark;
+
+import org.springframework.security.core.userdetails.User;
+import organizationmanagement.utils.JwtUtil;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Realistic signed tokens for the security-path benchmarks.
+ */
+final class BenchmarkTokens {
+
+    static final String SECRET = "b3JnYW5pemF0aW9uLW1hbmFnZW1lbnQtdGVzdC1zZWNyZXQta2V5ISE=";
+
+    private static final List<String> KNOWN_AUTHORITIES = List.of(
+            "PERMISSION_READ", "PERMISSION_CREATE", "PERMISSION_UPDATE", "PERMISSION_DELETE");
+
+    private BenchmarkTokens() {
+    }
+
+    /**
+     * The first authorities are the ones this service checks; the rest are the kind of
+     * feature flags other services put in the same token.
+     */
+    static List<String> authorities(int count) {
+        List<String> authorities = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            authorities.add(i < KNOWN_AUTHORITIES.size() ? KNOWN_AUTHORITIES.get(i) : "FEATURE_FLAG_" + i);
+        }
+        return authorities;
+    }
+
+    static String token(int authorityCount, UUID organizationId) {
+        return new JwtUtil(SECRET, TimeUnit.HOURS.toMillis(1)).generateToken(
+                User.withUsername("benchmark-user").password("n/a")
+                        .authorities(authorities(authorityCount).toArray(String[]::new)).build(),
+                organizationId);
+    }
+}
@@ -0,0 +1,126 @@
+package organizationmanagement.benchmark;
+
+import com.sun.net.httpserver.HttpServer;
+import feign.Client;
+import feign.Feign;
+import feign.hc5.ApacheHttp5Client;
+import org.apache.hc.client5.http.impl.classic.CloseableHttpClient;
+import org.apache.hc.client5.http.impl.classic.HttpClients;
+import org.apache.hc.client5.http.impl.io.PoolingHttpClientConnectionManagerBuilder;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.boot.autoconfigure.http.HttpMessageConverters;
+import org.springframework.cloud.openfeign.support.ResponseEntityDecoder;
+import org.springframework.cloud.openfeign.support.SpringDecoder;
+import org.springframework.cloud.openfeign.support.SpringEncoder;
+import org.springframework.cloud.openfeign.support.SpringMvcContract;
+import org.springframework.http.converter.json.MappingJackson2HttpMessageConverter;
+import organizationmanagement.client.UserServiceClient;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * {@link UserServiceClient#userExists} throughput from 16 threads against a local stub server,
+ * on Feign's default HttpURLConnection client and on the pooled Apache HttpClient 5 client.
+ * The stub also reports how many TCP connections each client opened: HttpURLConnection keeps
+ * at most {@code http.maxConnections} (5) idle connections per host, so with more concurrent
+ * callers than that it keeps opening new ones. Over plaintext loopback a new connection is
+ * cheap; across a network with TLS each one costs extra round trips.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Threads(16)
+@Fork(1)
+public class FeignClientBenchmark {
+
+    private static final byte[] TRUE = "true".getBytes(StandardCharsets.UTF_8);
+
+    @Param({"default", "hc5"})
+    public String client;
+
+    private final Set<InetSocketAddress> clientConnections = ConcurrentHashMap.newKeySet();
+    private HttpServer stub;
+    private ExecutorService stubThreads;
+    private CloseableHttpClient httpClient;
+    private UserServiceClient userService;
+
+    @Setup(Level.Trial)
+    public void setUp() throws IOException {
+        // Without TCP_NODELAY the stub's small responses hit the 40 ms delayed-ACK stall on every call
+        System.setProperty("sun.net.httpserver.nodelay", "true");
+        stubThreads = Executors.newFixedThreadPool(32);
+        stub = HttpServer.create(new InetSocketAddress("127.0.0.1", 0), 512);
+        stub.createContext("/api/users/", exchange -> {
+            clientConnections.add(exchange.getRemoteAddress());
+            exchange.getRequestBody().readAllBytes();
+            exchange.getResponseHeaders().set("Content-Type", "application/json");
+            exchange.sendResponseHeaders(200, TRUE.length);
+            try (OutputStream body = exchange.getResponseBody()) {
+                body.write(TRUE);
+            }
+        });
+        stub.setExecutor(stubThreads);
+        stub.start();
+
+        Client feignClient;
+        if ("hc5".equals(client)) {
+            // Same pool limits as spring.cloud.openfeign.httpclient.* in application.properties
+            httpClient = HttpClients.custom()
+                    .setConnectionManager(PoolingHttpClientConnectionManagerBuilder.create()
+                            .setMaxConnTotal(200)
+                            .setMaxConnPerRoute(50)
+                            .build())
+                    .build();
+            feignClient = new ApacheHttp5Client(httpClient);
+        } else {
+            feignClient = new Client.Default(null, null);
+        }
+
+        HttpMessageConverters converters = new HttpMessageConverters(new MappingJackson2HttpMessageConverter());
+        userService = Feign.builder()
+                .client(feignClient)
+                .contract(new SpringMvcContract())
+                .encoder(new SpringEncoder(() -> converters))
+                .decoder(new ResponseEntityDecoder(new SpringDecoder(() -> converters)))
+                .target(UserServiceClient.class, "http://127.0.0.1:" + stub.getAddress().getPort());
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws IOException {
+        System.out.printf("%n%s client: %d TCP connections opened%n", client, clientConnections.size());
+        if (httpClient != null) {
+            httpClient.close();
+        }
+        stub.stop(0);
+        stubThreads.shutdownNow();
+    }
+
+    @Benchmark
+    public Boolean userExists() {
+        return userService.userExists(UUID.randomUUID()).getBody();
+    }
+}
@@ -0,0 +1,68 @@
+package organizationmanagement.benchmark;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.security.core.context.SecurityContextHolder;
+import organizationmanagement.security.JwtRequestFilter;
+import organizationmanagement.security.JwtTokenCache;
+import organizationmanagement.security.JwtTokenUtil;
+import organizationmanagement.security.PublicEndpoints;
+
+import jakarta.servlet.FilterChain;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Filter throughput for a repeated bearer token, with and without the verified-token cache.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class JwtRequestFilterBenchmark {
+
+    private static final FilterChain NO_OP_CHAIN = (request, response) -> { };
+
+    @Param({"true", "false"})
+    public boolean cached;
+
+    @Param({"1", "10", "50"})
+    public int authorityCount;
+
+    private JwtRequestFilter filter;
+    private String authorizationHeader;
+
+    @Setup
+    public void setUp() {
+        filter = new JwtRequestFilter(
+                new JwtTokenUtil(BenchmarkTokens.SECRET, new JwtTokenCache(cached, 10_000)),
+                new PublicEndpoints());
+        authorizationHeader = "Bearer " + BenchmarkTokens.token(authorityCount, UUID.randomUUID());
+    }
+
+    @Benchmark
+    public int filterAuthenticatedRequest() throws Exception {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/api/teams");
+        request.addHeader("Authorization", authorizationHeader);
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        try {
+            filter.doFilter(request, response, NO_OP_CHAIN);
+        } finally {
+            SecurityContextHolder.clearContext();
+        }
+        return response.getStatus();
+    }
+}
@@ -0,0 +1,59 @@
+package organizationmanagement.benchmark;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import organizationmanagement.security.JwtPrincipal;
+import organizationmanagement.security.JwtTokenCache;
+import organizationmanagement.security.JwtTokenUtil;
+
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Claim extraction cost. The token cache is disabled so every call pays for verification.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class JwtTokenUtilBenchmark {
+
+    @Param({"1", "10", "50"})
+    public int authorityCount;
+
+    private JwtTokenUtil jwtTokenUtil;
+    private String token;
+
+    @Setup
+    public void setUp() {
+        jwtTokenUtil = new JwtTokenUtil(BenchmarkTokens.SECRET, new JwtTokenCache(false, 0));
+        token = BenchmarkTokens.token(authorityCount, UUID.randomUUID());
+    }
+
+    @Benchmark
+    public JwtPrincipal parsePrincipal() {
+        return jwtTokenUtil.parsePrincipal(token);
+    }
+
+    @Benchmark
+    public List<String> extractAuthorities() {
+        return jwtTokenUtil.extractAuthorities(token);
+    }
+
+    @Benchmark
+    public UUID extractOrganizationId() {
+        return jwtTokenUtil.extractOrganizationId(token);
+    }
+}
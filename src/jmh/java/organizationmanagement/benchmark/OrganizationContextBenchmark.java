@@ -0,0 +1,88 @@
+package organizationmanagement.benchmark;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.authority.AuthorityUtils;
+import org.springframework.security.core.context.SecurityContextHolder;
+import organizationmanagement.security.AuthorityPermissionEvaluator;
+import organizationmanagement.security.JwtPrincipal;
+import organizationmanagement.security.JwtTokenCache;
+import organizationmanagement.security.JwtTokenUtil;
+import organizationmanagement.utils.OrganizationContextUtil;
+
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * The per-request checks controllers and {@code @PreAuthorize} run against the current principal.
+ * State is per thread because the security context is thread-local.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class OrganizationContextBenchmark {
+
+    @Param({"1", "10", "50"})
+    public int authorityCount;
+
+    private final OrganizationContextUtil organizationContextUtil = new OrganizationContextUtil();
+    private final AuthorityPermissionEvaluator permissionEvaluator = new AuthorityPermissionEvaluator();
+    private Authentication authentication;
+    private UUID organizationId;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        organizationId = UUID.randomUUID();
+        JwtTokenUtil jwtTokenUtil = new JwtTokenUtil(BenchmarkTokens.SECRET, new JwtTokenCache(false, 0));
+        JwtPrincipal principal = jwtTokenUtil.parsePrincipal(BenchmarkTokens.token(authorityCount, organizationId));
+        authentication = new UsernamePasswordAuthenticationToken(principal, null,
+                AuthorityUtils.createAuthorityList(principal.getAuthorities().toArray(String[]::new)));
+        SecurityContextHolder.getContext().setAuthentication(authentication);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        SecurityContextHolder.clearContext();
+    }
+
+    @Benchmark
+    public boolean isRootAdmin() {
+        return organizationContextUtil.isRootAdmin();
+    }
+
+    @Benchmark
+    public boolean hasAuthority() {
+        return organizationContextUtil.hasAuthority("PERMISSION_DELETE");
+    }
+
+    @Benchmark
+    public UUID getCurrentOrganizationId() {
+        return organizationContextUtil.getCurrentOrganizationId();
+    }
+
+    @Benchmark
+    public boolean hasOrganizationAccess() {
+        return organizationContextUtil.hasOrganizationAccess(organizationId);
+    }
+
+    @Benchmark
+    public boolean preAuthorizePermission() {
+        return permissionEvaluator.hasPermission(authentication, null, "PERMISSION_UPDATE,SYS_ADMIN_ROOT");
+    }
+}
@@ -0,0 +1,124 @@
+package organizationmanagement.benchmark;
+
+import io.zonky.test.db.postgres.embedded.EmbeddedPostgres;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import organizationmanagement.service.OrganizationIdIndex;
+
+import java.io.IOException;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Latency of one organization existence check, for an id that exists and one that doesn't: straight
+ * to the database (the path before {@link OrganizationIdIndex}), and through the index, which only
+ * asks the database when it can't tell. The database path here is a reused prepared statement on
+ * an in-process PostgreSQL over loopback, without Hibernate or a connection pool, so it is the best
+ * case for it; across a network each query costs a round trip more.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class OrganizationExistsBenchmark {
+
+    private static final int ORGANIZATIONS = 10_000;
+    // Power of two, so the next id is picked with a mask
+    private static final int PROBES = 4_096;
+
+    @Param({"database", "index"})
+    public String path;
+
+    @Param({"known", "unknown"})
+    public String id;
+
+    private EmbeddedPostgres postgres;
+    private Connection connection;
+    private PreparedStatement existsById;
+    private OrganizationIdIndex index;
+    private UUID[] probes;
+    private int next;
+
+    @Setup(Level.Trial)
+    public void setUp() throws IOException, SQLException {
+        postgres = EmbeddedPostgres.start();
+        connection = postgres.getPostgresDatabase().getConnection();
+        try (Statement ddl = connection.createStatement()) {
+            ddl.execute("CREATE TABLE organization (id UUID PRIMARY KEY, name TEXT NOT NULL, deleted_at TIMESTAMPTZ)");
+        }
+
+        List<UUID> ids = new ArrayList<>(ORGANIZATIONS);
+        try (PreparedStatement insert = connection.prepareStatement("INSERT INTO organization (id, name) VALUES (?, ?)")) {
+            for (int i = 0; i < ORGANIZATIONS; i++) {
+                UUID organizationId = UUID.randomUUID();
+                ids.add(organizationId);
+                insert.setObject(1, organizationId);
+                insert.setString(2, "Organization " + i);
+                insert.addBatch();
+            }
+            insert.executeBatch();
+        }
+        try (Statement analyze = connection.createStatement()) {
+            analyze.execute("ANALYZE organization");
+        }
+        existsById = connection.prepareStatement(
+                "SELECT EXISTS (SELECT 1 FROM organization WHERE id = ? AND deleted_at IS NULL)");
+
+        // Same settings as application.properties; the repository is only needed for rebuild/sync
+        index = new OrganizationIdIndex(null, 100_000, 0.01, Duration.ofMinutes(1));
+        index.load(ids);
+
+        probes = new UUID[PROBES];
+        for (int i = 0; i < PROBES; i++) {
+            probes[i] = "known".equals(id) ? ids.get(i * (ORGANIZATIONS / PROBES)) : UUID.randomUUID();
+        }
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws IOException, SQLException {
+        existsById.close();
+        connection.close();
+        postgres.close();
+    }
+
+    @Benchmark
+    public boolean exists() throws SQLException {
+        UUID organizationId = probes[next++ & (PROBES - 1)];
+        if ("index".equals(path)) {
+            OrganizationIdIndex.Answer known = index.lookup(organizationId);
+            if (known != OrganizationIdIndex.Answer.UNKNOWN) {
+                return known == OrganizationIdIndex.Answer.PRESENT;
+            }
+        }
+        return queryDatabase(organizationId);
+    }
+
+    private boolean queryDatabase(UUID organizationId) throws SQLException {
+        existsById.setObject(1, organizationId);
+        try (ResultSet result = existsById.executeQuery()) {
+            result.next();
+            return result.getBoolean(1);
+        }
+    }
+}
@@ -0,0 +1,51 @@
+package organizationmanagement.benchmark;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.mock.web.MockHttpServletRequest;
+import organizationmanagement.security.PublicEndpoints;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Cost of the public-endpoint check that runs before any token work, for the request shapes we see most.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class PublicEndpointsBenchmark {
+
+    @Param({
+            "GET /api/teams",
+            "GET /api/organizations/6f1c1f43-52a1-4d55-9d6d-4f3e0fbb1e53/children",
+            "GET /api/organizations/6f1c1f43-52a1-4d55-9d6d-4f3e0fbb1e53/exists",
+            "POST /api/organizations"
+    })
+    public String route;
+
+    private final PublicEndpoints publicEndpoints = new PublicEndpoints();
+    private MockHttpServletRequest request;
+
+    @Setup
+    public void setUp() {
+        String[] parts = route.split(" ", 2);
+        request = new MockHttpServletRequest(parts[0], parts[1]);
+    }
+
+    @Benchmark
+    public boolean isPublicEndpoint() {
+        return publicEndpoints.matches(request);
+    }
+}
@@ -3,9 +3,14 @@ package organizationmanagement;
 import org.springframework.boot.SpringApplication;
 import org.springframework.boot.autoconfigure.SpringBootApplication;
 import org.springframework.cloud.openfeign.EnableFeignClients;
+import org.springframework.scheduling.annotation.EnableScheduling;
+import organizationmanagement.client.SurveyServiceClient;
+import organizationmanagement.client.UserServiceClient;
 
 @SpringBootApplication
-@EnableFeignClients
+// Only the clients this service calls; OrganizationServiceClient is for the other services
+@EnableFeignClients(clients = {UserServiceClient.class, SurveyServiceClient.class})
+@EnableScheduling
 public class Application {
 
 	public static void main(String[] args) {
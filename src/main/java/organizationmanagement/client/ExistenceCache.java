@@ -0,0 +1,248 @@
+package organizationmanagement.client;
+
+import com.github.benmanes.caffeine.cache.AsyncLoadingCache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
+import com.github.benmanes.caffeine.cache.Ticker;
+import feign.FeignException;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import jakarta.annotation.PreDestroy;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.ResponseEntity;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Function;
+
+/**
+ * Bounded cache in front of the user-service and survey-service existence checks.
+ *
+ * <p>"Exists" answers are kept for {@code positive-ttl} and "doesn't exist" answers for the
+ * (usually much shorter) {@code negative-ttl}, so a user created right after a failed assignment
+ * is picked up quickly. Concurrent lookups of the same ID share one remote call. Failed calls
+ * are not cached: the exception reaches every waiting caller and the next lookup retries.</p>
+ *
+ * <p>Cache misses for different IDs are coalesced by a {@link MicroBatcher} into one batch call
+ * per {@code existence-batch.window} or {@code existence-batch.max-size} IDs, falling back to
+ * single calls when the remote service has no batch endpoint.</p>
+ *
+ * <p>Remote calls go through the service's circuit breaker, and request threads waiting on a
+ * remote answer are limited by its bulkhead (see {@link RemoteServiceGuards}).</p>
+ */
+@Component
+public class ExistenceCache implements MeterBinder {
+
+    private final AsyncLoadingCache<UUID, Boolean> users;
+    private final AsyncLoadingCache<UUID, Boolean> surveys;
+    private final RemoteServiceGuards guards;
+    private final Runnable onShutdown;
+
+    @Autowired
+    public ExistenceCache(UserServiceClient userServiceClient,
+                          SurveyServiceClient surveyServiceClient,
+                          RemoteServiceGuards guards,
+                          @Value("${existence-cache.maximum-size:100000}") long maximumSize,
+                          @Value("${existence-cache.positive-ttl:10m}") Duration positiveTtl,
+                          @Value("${existence-cache.negative-ttl:30s}") Duration negativeTtl,
+                          @Value("${existence-batch.max-size:100}") int batchSize,
+                          @Value("${existence-batch.window:5ms}") Duration batchWindow,
+                          @Value("${existence-batch.recheck-after:10m}") Duration recheckAfter,
+                          @Value("${existence-batch.concurrency:8}") int concurrency) {
+        this(new RemoteLookups(userServiceClient, surveyServiceClient, guards, batchSize, batchWindow,
+                        recheckAfter, concurrency),
+                guards, maximumSize, positiveTtl, negativeTtl);
+    }
+
+    private ExistenceCache(RemoteLookups remote, RemoteServiceGuards guards,
+                           long maximumSize, Duration positiveTtl, Duration negativeTtl) {
+        this(remote.users::submit, remote.surveys::submit, guards, maximumSize, positiveTtl, negativeTtl,
+                Ticker.systemTicker(), remote::shutdown);
+    }
+
+    ExistenceCache(Function<UUID, CompletableFuture<Boolean>> userLoader,
+                   Function<UUID, CompletableFuture<Boolean>> surveyLoader,
+                   RemoteServiceGuards guards,
+                   long maximumSize, Duration positiveTtl, Duration negativeTtl, Ticker ticker,
+                   Runnable onShutdown) {
+        this.users = build(userLoader, maximumSize, positiveTtl, negativeTtl, ticker);
+        this.surveys = build(surveyLoader, maximumSize, positiveTtl, negativeTtl, ticker);
+        this.guards = guards;
+        this.onShutdown = onShutdown;
+    }
+
+    @PreDestroy
+    void shutdown() {
+        onShutdown.run();
+    }
+
+    public boolean userExists(UUID userId) {
+        return await(RemoteServiceGuards.USER_SERVICE, users.get(userId));
+    }
+
+    public boolean surveyExists(UUID surveyId) {
+        return await(RemoteServiceGuards.SURVEY_SERVICE, surveys.get(surveyId));
+    }
+
+    /**
+     * Non-blocking variant for callers checking many IDs at once; misses are batched together
+     */
+    public CompletableFuture<Boolean> userExistsAsync(UUID userId) {
+        return users.get(userId);
+    }
+
+    public CompletableFuture<Boolean> surveyExistsAsync(UUID surveyId) {
+        return surveys.get(surveyId);
+    }
+
+    public void evictUser(UUID userId) {
+        users.synchronous().invalidate(userId);
+    }
+
+    public void evictSurvey(UUID surveyId) {
+        surveys.synchronous().invalidate(surveyId);
+    }
+
+    public void evictAll() {
+        users.synchronous().invalidateAll();
+        surveys.synchronous().invalidateAll();
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        // cache.gets{result=hit|miss}, cache.load.duration, cache.evictions, cache.size
+        CaffeineCacheMetrics.monitor(registry, users, "existence.users");
+        CaffeineCacheMetrics.monitor(registry, surveys, "existence.surveys");
+    }
+
+    private boolean await(String service, CompletableFuture<Boolean> lookup) {
+        if (lookup.isDone()) {
+            // Cache hits don't take a bulkhead permit
+            return join(lookup);
+        }
+        return guards.await(service, () -> join(lookup));
+    }
+
+    private static boolean join(CompletableFuture<Boolean> lookup) {
+        try {
+            return lookup.join();
+        } catch (CompletionException e) {
+            // Surface the remote failure itself, as a direct Feign call would
+            if (e.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            throw e;
+        }
+    }
+
+    private static AsyncLoadingCache<UUID, Boolean> build(Function<UUID, CompletableFuture<Boolean>> loader,
+                                                          long maximumSize, Duration positiveTtl,
+                                                          Duration negativeTtl, Ticker ticker) {
+        return Caffeine.newBuilder()
+                .maximumSize(maximumSize)
+                .expireAfter(new ByAnswer(positiveTtl.toNanos(), negativeTtl.toNanos()))
+                .ticker(ticker)
+                .recordStats()
+                .buildAsync((id, executor) -> loader.apply(id));
+    }
+
+    private static final class ByAnswer implements Expiry<UUID, Boolean> {
+
+        private final long positiveNanos;
+        private final long negativeNanos;
+
+        private ByAnswer(long positiveNanos, long negativeNanos) {
+            this.positiveNanos = positiveNanos;
+            this.negativeNanos = negativeNanos;
+        }
+
+        @Override
+        public long expireAfterCreate(UUID key, Boolean exists, long currentTime) {
+            return exists ? positiveNanos : negativeNanos;
+        }
+
+        @Override
+        public long expireAfterUpdate(UUID key, Boolean exists, long currentTime, long currentDuration) {
+            return expireAfterCreate(key, exists, currentTime);
+        }
+
+        @Override
+        public long expireAfterRead(UUID key, Boolean exists, long currentTime, long currentDuration) {
+            return currentDuration;
+        }
+    }
+
+    /**
+     * The batched Feign calls behind the cache, and the threads they run on
+     */
+    private static final class RemoteLookups {
+
+        private final ScheduledExecutorService scheduler;
+        private final ExecutorService callExecutor;
+        private final MicroBatcher<UUID, Boolean> users;
+        private final MicroBatcher<UUID, Boolean> surveys;
+
+        private RemoteLookups(UserServiceClient userServiceClient, SurveyServiceClient surveyServiceClient,
+                              RemoteServiceGuards guards,
+                              int batchSize, Duration window, Duration recheckAfter, int concurrency) {
+            this.scheduler = Executors.newSingleThreadScheduledExecutor(daemonThreads("existence-batch-timer"));
+            this.callExecutor = Executors.newFixedThreadPool(concurrency, daemonThreads("existence-lookup"));
+            String user = RemoteServiceGuards.USER_SERVICE;
+            this.users = new MicroBatcher<>(user,
+                    ids -> guards.call(user, () -> answers(ids, userServiceClient.usersExist(ids))),
+                    id -> guards.call(user, () -> Boolean.TRUE.equals(userServiceClient.userExists(id).getBody())),
+                    RemoteLookups::noBatchEndpoint,
+                    batchSize, window.toNanos(), recheckAfter.toNanos(), scheduler, callExecutor);
+            String survey = RemoteServiceGuards.SURVEY_SERVICE;
+            this.surveys = new MicroBatcher<>(survey,
+                    ids -> guards.call(survey, () -> answers(ids, surveyServiceClient.surveysExist(ids))),
+                    id -> guards.call(survey, () -> Boolean.TRUE.equals(surveyServiceClient.surveyExists(id).getBody())),
+                    RemoteLookups::noBatchEndpoint,
+                    batchSize, window.toNanos(), recheckAfter.toNanos(), scheduler, callExecutor);
+        }
+
+        private void shutdown() {
+            scheduler.shutdownNow();
+            callExecutor.shutdownNow();
+        }
+
+        private static Map<UUID, Boolean> answers(Collection<UUID> ids, ResponseEntity<Map<UUID, Boolean>> response) {
+            Map<UUID, Boolean> body = response.getBody();
+            Map<UUID, Boolean> answers = new HashMap<>();
+            for (UUID id : ids) {
+                answers.put(id, body != null && Boolean.TRUE.equals(body.get(id)));
+            }
+            return answers;
+        }
+
+        private static boolean noBatchEndpoint(RuntimeException e) {
+            if (!(e instanceof FeignException feign)) {
+                return false;
+            }
+            int status = feign.status();
+            return status == 404 || status == 405 || status == 501;
+        }
+
+        private static ThreadFactory daemonThreads(String prefix) {
+            AtomicInteger counter = new AtomicInteger();
+            return runnable -> {
+                Thread thread = new Thread(runnable, prefix + "-" + counter.incrementAndGet());
+                thread.setDaemon(true);
+                return thread;
+            };
+        }
+    }
+}
@@ -0,0 +1,47 @@
+package organizationmanagement.client;
+
+import io.micrometer.core.instrument.binder.MeterBinder;
+import io.micrometer.core.instrument.binder.httpcomponents.hc5.PoolingHttpClientConnectionManagerMetricsBinder;
+import org.apache.hc.client5.http.impl.io.PoolingHttpClientConnectionManager;
+import org.apache.hc.client5.http.io.HttpClientConnectionManager;
+import org.apache.hc.core5.util.TimeValue;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.cloud.openfeign.clientconfig.HttpClient5FeignConfiguration.HttpClientBuilderCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.time.Duration;
+
+/**
+ * Tuning for the pooled Apache HttpClient 5 that Spring Cloud OpenFeign puts underneath every
+ * Feign client once {@code feign-hc5} is on the classpath. Pool size and connection TTL come from
+ * {@code spring.cloud.openfeign.httpclient.*}; this adds idle eviction and pool metrics.
+ */
+@Configuration
+public class FeignHttpClientConfig {
+
+    /**
+     * Close pooled connections nobody has used for a while, before the remote side or a load
+     * balancer drops them and the next request pays for a failed write
+     */
+    @Bean
+    public HttpClientBuilderCustomizer feignIdleConnectionEviction(
+            @Value("${feign-pool.evict-idle-after:30s}") Duration evictIdleAfter) {
+        return builder -> builder.evictIdleConnections(TimeValue.ofMilliseconds(evictIdleAfter.toMillis()));
+    }
+
+    /**
+     * httpcomponents.httpclient.pool.total.connections{state=leased|available},
+     * httpcomponents.httpclient.pool.total.pending, .total.max and .route.max.default, tagged httpclient=feign
+     */
+    @Bean
+    public MeterBinder feignConnectionPoolMetrics(ObjectProvider<HttpClientConnectionManager> connectionManager) {
+        // Nothing to bind if the HC5 client is switched off (spring.cloud.openfeign.httpclient.hc5.enabled=false)
+        return registry -> connectionManager.ifAvailable(manager -> {
+            if (manager instanceof PoolingHttpClientConnectionManager pool) {
+                new PoolingHttpClientConnectionManagerMetricsBinder(pool, "feign").bindTo(registry);
+            }
+        });
+    }
+}
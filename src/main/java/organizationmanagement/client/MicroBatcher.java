@@ -0,0 +1,152 @@
+package organizationmanagement.client;
+
+import lombok.extern.slf4j.Slf4j;
+
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+import java.util.function.Predicate;
+
+/**
+ * Coalesces concurrent single-key lookups into batch calls.
+ *
+ * <p>Keys submitted within {@code window} of the first pending key, or until {@code maxBatchSize}
+ * keys are pending, go out as one {@code batchCall}; each caller's future is completed from the
+ * batch result. If the batch call fails in a way {@code batchUnsupported} recognises (the remote
+ * side has no batch endpoint), the pending keys are retried one by one with {@code singleCall}
+ * and batching stays off for {@code recheckAfter} before it is tried again.</p>
+ */
+@Slf4j
+final class MicroBatcher<K, V> {
+
+    private final String name;
+    private final Function<Collection<K>, Map<K, V>> batchCall;
+    private final Function<K, V> singleCall;
+    private final Predicate<RuntimeException> batchUnsupported;
+    private final int maxBatchSize;
+    private final long windowNanos;
+    private final long recheckNanos;
+    private final ScheduledExecutorService scheduler;
+    private final Executor callExecutor;
+
+    private final Object lock = new Object();
+    private Map<K, CompletableFuture<V>> pending = new LinkedHashMap<>();
+    private ScheduledFuture<?> scheduledFlush;
+    // System.nanoTime() until which batching is off; only meaningful while batchingOff is set
+    private volatile boolean batchingOff;
+    private volatile long batchingOffUntil;
+
+    MicroBatcher(String name,
+                 Function<Collection<K>, Map<K, V>> batchCall,
+                 Function<K, V> singleCall,
+                 Predicate<RuntimeException> batchUnsupported,
+                 int maxBatchSize, long windowNanos, long recheckNanos,
+                 ScheduledExecutorService scheduler, Executor callExecutor) {
+        this.name = name;
+        this.batchCall = batchCall;
+        this.singleCall = singleCall;
+        this.batchUnsupported = batchUnsupported;
+        this.maxBatchSize = maxBatchSize;
+        this.windowNanos = windowNanos;
+        this.recheckNanos = recheckNanos;
+        this.scheduler = scheduler;
+        this.callExecutor = callExecutor;
+    }
+
+    CompletableFuture<V> submit(K key) {
+        if (batchingDisabled()) {
+            return CompletableFuture.supplyAsync(() -> singleCall.apply(key), callExecutor);
+        }
+
+        CompletableFuture<V> future;
+        Map<K, CompletableFuture<V>> full = null;
+        synchronized (lock) {
+            future = pending.computeIfAbsent(key, k -> new CompletableFuture<>());
+            if (pending.size() >= maxBatchSize) {
+                full = takePending();
+            } else if (scheduledFlush == null) {
+                scheduledFlush = scheduler.schedule(this::flushPending, windowNanos, TimeUnit.NANOSECONDS);
+            }
+        }
+        if (full != null) {
+            dispatch(full);
+        }
+        return future;
+    }
+
+    private Map<K, CompletableFuture<V>> takePending() {
+        Map<K, CompletableFuture<V>> batch = pending;
+        pending = new LinkedHashMap<>();
+        if (scheduledFlush != null) {
+            scheduledFlush.cancel(false);
+            scheduledFlush = null;
+        }
+        return batch;
+    }
+
+    private void flushPending() {
+        Map<K, CompletableFuture<V>> batch;
+        synchronized (lock) {
+            if (pending.isEmpty()) {
+                scheduledFlush = null;
+                return;
+            }
+            batch = takePending();
+        }
+        dispatch(batch);
+    }
+
+    private void dispatch(Map<K, CompletableFuture<V>> batch) {
+        try {
+            callExecutor.execute(() -> callBatch(batch));
+        } catch (RuntimeException e) {
+            // Executor rejected the work (e.g. shutting down); don't leave callers hanging
+            batch.values().forEach(future -> future.completeExceptionally(e));
+        }
+    }
+
+    private void callBatch(Map<K, CompletableFuture<V>> batch) {
+        if (!batchingDisabled()) {
+            try {
+                Map<K, V> results = batchCall.apply(batch.keySet());
+                batch.forEach((key, future) -> future.complete(results.get(key)));
+                return;
+            } catch (RuntimeException e) {
+                if (!batchUnsupported.test(e)) {
+                    batch.values().forEach(future -> future.completeExceptionally(e));
+                    return;
+                }
+                log.info("{} has no batch endpoint ({}); using single calls for {} s",
+                        name, e.getMessage(), TimeUnit.NANOSECONDS.toSeconds(recheckNanos));
+                batchingOffUntil = System.nanoTime() + recheckNanos;
+                batchingOff = true;
+            }
+        }
+        batch.forEach((key, future) -> callExecutor.execute(() -> callSingle(key, future)));
+    }
+
+    private void callSingle(K key, CompletableFuture<V> future) {
+        try {
+            future.complete(singleCall.apply(key));
+        } catch (RuntimeException e) {
+            future.completeExceptionally(e);
+        }
+    }
+
+    private boolean batchingDisabled() {
+        if (!batchingOff) {
+            return false;
+        }
+        if (System.nanoTime() - batchingOffUntil >= 0) {
+            batchingOff = false;
+            return false;
+        }
+        return true;
+    }
+}
@@ -0,0 +1,30 @@
+package organizationmanagement.client;
+
+import org.springframework.cloud.openfeign.FeignClient;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+
+import java.util.Collection;
+import java.util.Map;
+import java.util.UUID;
+
+/**
+ * Client for this service's own public existence endpoints, for the services that validate
+ * organization ids. Not used here (see {@code Application}); consumers set {@code organization-service.url}.
+ */
+@FeignClient(name = "organization-service", url = "${organization-service.url}")
+public interface OrganizationServiceClient {
+
+    @GetMapping("/api/organizations/{organizationId}/exists")
+    ResponseEntity<Boolean> organizationExists(@PathVariable("organizationId") UUID organizationId);
+
+    /**
+     * Batch existence check: id to exists for every requested id. The organization service accepts at
+     * most {@code organization-exists.max-ids} ids per call (set on its side) and answers 400 above that.
+     */
+    @PostMapping("/api/organizations/exists")
+    ResponseEntity<Map<UUID, Boolean>> organizationsExist(@RequestBody Collection<UUID> organizationIds);
+}
@@ -0,0 +1,131 @@
+package organizationmanagement.client;
+
+import feign.FeignException;
+import io.github.resilience4j.bulkhead.Bulkhead;
+import io.github.resilience4j.bulkhead.BulkheadConfig;
+import io.github.resilience4j.bulkhead.BulkheadFullException;
+import io.github.resilience4j.bulkhead.BulkheadRegistry;
+import io.github.resilience4j.circuitbreaker.CallNotPermittedException;
+import io.github.resilience4j.circuitbreaker.CircuitBreaker;
+import io.github.resilience4j.circuitbreaker.CircuitBreakerConfig;
+import io.github.resilience4j.circuitbreaker.CircuitBreakerRegistry;
+import io.github.resilience4j.micrometer.tagged.TaggedBulkheadMetrics;
+import io.github.resilience4j.micrometer.tagged.TaggedCircuitBreakerMetrics;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import organizationmanagement.exception.ServiceUnavailableException;
+
+import java.time.Duration;
+import java.util.function.Supplier;
+
+/**
+ * Circuit breaker and bulkhead per downstream service, named after its Feign client.
+ *
+ * <p>Every remote call goes through {@link #call}: once enough recent calls have failed or been
+ * slow, the breaker opens and calls fail at once, without touching the network, until
+ * {@code wait-in-open-state} has passed. Request threads that block waiting for an answer go
+ * through {@link #await}, a semaphore bulkhead that turns callers away immediately once
+ * {@code max-waiting-callers} are already waiting on the same service. Both fail with a
+ * {@link ServiceUnavailableException}, which is answered with 503.</p>
+ *
+ * <p>Only timeouts, connection failures and 5xx responses count against the breaker; a 4xx
+ * answer means the service is up.</p>
+ */
+@Component
+public class RemoteServiceGuards implements MeterBinder {
+
+    public static final String USER_SERVICE = "user-service";
+    public static final String SURVEY_SERVICE = "survey-service";
+
+    private final CircuitBreakerRegistry circuitBreakers;
+    private final BulkheadRegistry bulkheads;
+    private final Duration waitInOpenState;
+
+    public RemoteServiceGuards(@Value("${remote-call.circuit-breaker.failure-rate-threshold:50}") float failureRateThreshold,
+                               @Value("${remote-call.circuit-breaker.slow-call-rate-threshold:80}") float slowCallRateThreshold,
+                               @Value("${remote-call.circuit-breaker.slow-call-duration:2s}") Duration slowCallDuration,
+                               @Value("${remote-call.circuit-breaker.sliding-window-size:20}") int slidingWindowSize,
+                               @Value("${remote-call.circuit-breaker.minimum-calls:10}") int minimumCalls,
+                               @Value("${remote-call.circuit-breaker.wait-in-open-state:10s}") Duration waitInOpenState,
+                               @Value("${remote-call.circuit-breaker.half-open-calls:3}") int halfOpenCalls,
+                               @Value("${remote-call.bulkhead.max-waiting-callers:50}") int maxWaitingCallers) {
+        this.waitInOpenState = waitInOpenState;
+        this.circuitBreakers = CircuitBreakerRegistry.of(CircuitBreakerConfig.custom()
+                .failureRateThreshold(failureRateThreshold)
+                .slowCallRateThreshold(slowCallRateThreshold)
+                .slowCallDurationThreshold(slowCallDuration)
+                .slidingWindowType(CircuitBreakerConfig.SlidingWindowType.COUNT_BASED)
+                .slidingWindowSize(slidingWindowSize)
+                .minimumNumberOfCalls(minimumCalls)
+                .waitDurationInOpenState(waitInOpenState)
+                .permittedNumberOfCallsInHalfOpenState(halfOpenCalls)
+                .automaticTransitionFromOpenToHalfOpenEnabled(true)
+                .recordException(RemoteServiceGuards::isServiceFailure)
+                .build());
+        this.bulkheads = BulkheadRegistry.of(BulkheadConfig.custom()
+                .maxConcurrentCalls(maxWaitingCallers)
+                .maxWaitDuration(Duration.ZERO)
+                .build());
+        // Created up front so their metrics are there before the first call
+        for (String service : new String[]{USER_SERVICE, SURVEY_SERVICE}) {
+            circuitBreakers.circuitBreaker(service);
+            bulkheads.bulkhead(service);
+        }
+    }
+
+    /**
+     * Make a remote call through the service's circuit breaker. Failures that count against the
+     * breaker, and calls refused while it is open, are rethrown as {@link ServiceUnavailableException};
+     * anything else (e.g. a 404) propagates unchanged.
+     */
+    public <T> T call(String service, Supplier<T> remoteCall) {
+        CircuitBreaker circuitBreaker = circuitBreakers.circuitBreaker(service);
+        try {
+            return circuitBreaker.executeSupplier(remoteCall);
+        } catch (CallNotPermittedException e) {
+            throw new ServiceUnavailableException(
+                    service + " is unavailable; failing fast while its circuit breaker is open", waitInOpenState, e);
+        } catch (RuntimeException e) {
+            if (!isServiceFailure(e)) {
+                throw e;
+            }
+            throw new ServiceUnavailableException(service + " call failed: " + e.getMessage(), null, e);
+        }
+    }
+
+    /**
+     * Block the current (request) thread on an answer from the service, unless too many
+     * threads are already waiting on it.
+     */
+    public <T> T await(String service, Supplier<T> answer) {
+        Bulkhead bulkhead = bulkheads.bulkhead(service);
+        try {
+            return bulkhead.executeSupplier(answer);
+        } catch (BulkheadFullException e) {
+            throw new ServiceUnavailableException(
+                    "Too many requests are waiting on " + service + "; try again shortly", Duration.ofSeconds(1), e);
+        }
+    }
+
+    public CircuitBreaker.State state(String service) {
+        return circuitBreakers.circuitBreaker(service).getState();
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        // resilience4j.circuitbreaker.state{name, state}, .calls{kind}, .not.permitted.calls, .failure.rate, ...
+        TaggedCircuitBreakerMetrics.ofCircuitBreakerRegistry(circuitBreakers).bindTo(registry);
+        // resilience4j.bulkhead.available.concurrent.calls{name}, .max.allowed.concurrent.calls{name}
+        TaggedBulkheadMetrics.ofBulkheadRegistry(bulkheads).bindTo(registry);
+    }
+
+    private static boolean isServiceFailure(Throwable e) {
+        if (e instanceof FeignException feign) {
+            // Timeouts and refused connections have no status
+            return feign.status() < 0 || feign.status() >= 500;
+        }
+        return true;
+    }
+}
@@ -4,7 +4,11 @@ import org.springframework.cloud.openfeign.FeignClient;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestBody;
 
+import java.util.Collection;
+import java.util.Map;
 import java.util.UUID;
 
 @FeignClient(name = "user-service", url = "${user-service.url}")
@@ -12,4 +16,10 @@ public interface UserServiceClient {
 
     @GetMapping("/api/users/{userId}/exists")
     ResponseEntity<Boolean> userExists(@PathVariable("userId") UUID userId);
-}
\ No newline at end of file
+
+    /**
+     * Batch existence check: id to exists for every requested id (missing ids count as not existing)
+     */
+    @PostMapping("/api/users/exists")
+    ResponseEntity<Map<UUID, Boolean>> usersExist(@RequestBody Collection<UUID> userIds);
+}
@@ -0,0 +1,42 @@
+package organizationmanagement.controller;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.web.bind.annotation.DeleteMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+import organizationmanagement.client.ExistenceCache;
+
+import java.util.UUID;
+
+/**
+ * Root-admin operations on the in-process caches, e.g. after a user or survey was deleted upstream.
+ */
+@RestController
+@RequestMapping("/api/admin/caches")
+@RequiredArgsConstructor
+@PreAuthorize("hasPermission(null, 'SYS_ADMIN_ROOT')")
+public class CacheAdminController {
+
+    private final ExistenceCache existenceCache;
+
+    @DeleteMapping("/existence")
+    public ResponseEntity<Void> evictAllExistence() {
+        existenceCache.evictAll();
+        return ResponseEntity.noContent().build();
+    }
+
+    @DeleteMapping("/existence/users/{userId}")
+    public ResponseEntity<Void> evictUser(@PathVariable UUID userId) {
+        existenceCache.evictUser(userId);
+        return ResponseEntity.noContent().build();
+    }
+
+    @DeleteMapping("/existence/surveys/{surveyId}")
+    public ResponseEntity<Void> evictSurvey(@PathVariable UUID surveyId) {
+        existenceCache.evictSurvey(surveyId);
+        return ResponseEntity.noContent().build();
+    }
+}
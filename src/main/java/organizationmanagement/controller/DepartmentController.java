@@ -2,22 +2,30 @@ package organizationmanagement.controller;
 
 import organizationmanagement.dto.DepartmentCreateDTO;
 import organizationmanagement.dto.DepartmentDTO;
+import organizationmanagement.dto.DepartmentNode;
 import organizationmanagement.dto.OrganizationDTO;
+import organizationmanagement.dto.OrganizationSnapshot;
 import organizationmanagement.exception.BadRequestException;
+import organizationmanagement.exception.ResourceNotFoundException;
 import organizationmanagement.model.Department;
 import organizationmanagement.model.Organization;
 import organizationmanagement.service.DepartmentService;
 import organizationmanagement.service.OrganizationService;
+import organizationmanagement.service.OrganizationSnapshotCache;
+import organizationmanagement.utils.KeysetPage;
 import organizationmanagement.utils.OrganizationContextUtil;
+import organizationmanagement.utils.OrganizationETagUtil;
+import organizationmanagement.utils.PageCursor;
+import organizationmanagement.utils.PaginationUtil;
 import lombok.RequiredArgsConstructor;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
 
 import java.util.List;
 import java.util.UUID;
-import java.util.stream.Collectors;
 
 @RestController
 @RequestMapping("/api/departments")
@@ -27,28 +35,35 @@ public class DepartmentController {
     private final DepartmentService service;
     private final OrganizationService organizationService;
     private final OrganizationContextUtil organizationContextUtil;
+    private final PaginationUtil paginationUtil;
+    private final OrganizationSnapshotCache snapshotCache;
+    private final OrganizationETagUtil eTagUtil;
 
     @GetMapping
-    @PreAuthorize("hasAnyAuthority('PERMISSION_READ','SYS_ADMIN_ROOT')")
-    public ResponseEntity<List<DepartmentDTO>> getAll() {
-        List<DepartmentDTO> departments;
+    @PreAuthorize("hasPermission(null, 'PERMISSION_READ,SYS_ADMIN_ROOT')")
+    public ResponseEntity<List<DepartmentDTO>> getAll(@RequestParam(required = false) String cursor,
+                                                      @RequestParam(required = false) Integer size,
+                                                      WebRequest request) {
+        PageCursor after = PageCursor.decode(cursor);
+        int pageSize = paginationUtil.resolvePageSize(size);
 
         if (organizationContextUtil.isRootAdmin()) {
-            departments = service.getAll().stream()
-                    .map(this::convertToDTO)
-                    .collect(Collectors.toList());
-        } else {
-            UUID organizationId = organizationContextUtil.getCurrentOrganizationId();
-            departments = service.getAllByOrganization(organizationId).stream()
-                    .map(this::convertToDTO)
-                    .collect(Collectors.toList());
+            KeysetPage<Department> page = service.getPage(after, pageSize);
+            return page.toResponse(this::convertToDTO);
         }
 
-        return ResponseEntity.ok(departments);
+        UUID organizationId = organizationContextUtil.getCurrentOrganizationId();
+        if (eTagUtil.checkNotModified(organizationId, request)) {
+            return null;
+        }
+        // Organization-scoped lists are served from the organization's cached snapshot
+        OrganizationSnapshot snapshot = snapshotCache.get(organizationId);
+        KeysetPage<DepartmentNode> page = snapshotCache.getDepartmentPage(snapshot, after, pageSize);
+        return page.toResponse(department -> convertToDTO(department, snapshot));
     }
 
     @PostMapping
-    @PreAuthorize("hasAnyAuthority('PERMISSION_CREATE','SYS_ADMIN_ROOT')")
+    @PreAuthorize("hasPermission(null, 'PERMISSION_CREATE,SYS_ADMIN_ROOT')")
     public ResponseEntity<DepartmentDTO> create(@RequestBody DepartmentCreateDTO deptDto) {
         DepartmentDTO createdDepartment;
 
@@ -71,8 +86,8 @@ public class DepartmentController {
     }
 
     @GetMapping("/{id}")
-    @PreAuthorize("hasAnyAuthority('PERMISSION_READ','SYS_ADMIN_ROOT')")
-    public ResponseEntity<DepartmentDTO> getById(@PathVariable UUID id) {
+    @PreAuthorize("hasPermission(null, 'PERMISSION_READ,SYS_ADMIN_ROOT')")
+    public ResponseEntity<DepartmentDTO> getById(@PathVariable UUID id, WebRequest request) {
         DepartmentDTO department;
 
         if (organizationContextUtil.isRootAdmin()) {
@@ -83,18 +98,21 @@ public class DepartmentController {
             department = convertToDTO(dept);
         } else {
             UUID organizationId = organizationContextUtil.getCurrentOrganizationId();
-            Department dept = service.getByIdAndOrganization(id, organizationId);
-            if (dept == null) {
-                throw new BadRequestException("Department not found with ID: " + id);
+            if (eTagUtil.checkNotModified(organizationId, request)) {
+                return null;
             }
-            department = convertToDTO(dept);
+            OrganizationSnapshot snapshot = snapshotCache.get(organizationId);
+            DepartmentNode dept = snapshot.getDepartment(id)
+                    .orElseThrow(() -> new ResourceNotFoundException(
+                            "Department not found with id " + id + " in organization " + organizationId));
+            department = convertToDTO(dept, snapshot);
         }
 
         return ResponseEntity.ok(department);
     }
 
     @PutMapping("/{id}")
-    @PreAuthorize("hasAnyAuthority('PERMISSION_UPDATE','SYS_ADMIN_ROOT')")
+    @PreAuthorize("hasPermission(null, 'PERMISSION_UPDATE,SYS_ADMIN_ROOT')")
     public ResponseEntity<DepartmentDTO> update(@PathVariable UUID id, @RequestBody DepartmentCreateDTO deptDto) {
         DepartmentDTO updatedDepartment;
 
@@ -134,7 +152,7 @@ public class DepartmentController {
     }
 
     @DeleteMapping("/{id}")
-    @PreAuthorize("hasAnyAuthority('PERMISSION_DELETE','SYS_ADMIN_ROOT')")
+    @PreAuthorize("hasPermission(null, 'PERMISSION_DELETE,SYS_ADMIN_ROOT')")
     public ResponseEntity<Void> delete(@PathVariable UUID id) {
         if (organizationContextUtil.isRootAdmin()) {
             service.delete(id);
@@ -163,6 +181,20 @@ public class DepartmentController {
         return dto;
     }
 
+    private DepartmentDTO convertToDTO(DepartmentNode dept, OrganizationSnapshot snapshot) {
+        DepartmentDTO dto = new DepartmentDTO();
+        dto.setId(dept.getId());
+        dto.setName(dept.getName());
+        dto.setUserCount(dept.getUserCount());
+        dto.setSurveyCount(dept.getSurveyCount());
+
+        OrganizationDTO orgDto = new OrganizationDTO();
+        orgDto.setId(snapshot.getId());
+        orgDto.setName(snapshot.getName());
+        dto.setOrganization(orgDto);
+        return dto;
+    }
+
     private Department convertToEntity(DepartmentCreateDTO dto) {
         Department dept = new Department();
         dept.setName(dto.getName());
@@ -2,21 +2,38 @@ package organizationmanagement.controller;
 
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
+import organizationmanagement.dto.BulkAssignmentRequestDTO;
+import organizationmanagement.dto.BulkAssignmentResultDTO;
 import organizationmanagement.dto.DepartmentDTO;
+import organizationmanagement.dto.DepartmentNode;
 import organizationmanagement.dto.OrganizationDTO;
+import organizationmanagement.dto.OrganizationSnapshot;
 import organizationmanagement.dto.TeamDTO;
+import organizationmanagement.dto.UserGroupSummary;
 import organizationmanagement.exception.ResourceNotFoundException;
 import organizationmanagement.model.Organization;
+import organizationmanagement.service.BulkAssignmentService;
 import organizationmanagement.service.DepartmentService;
+import organizationmanagement.service.OrganizationExportService;
 import organizationmanagement.service.OrganizationService;
+import organizationmanagement.service.OrganizationSnapshotCache;
 import organizationmanagement.service.TeamService;
+import organizationmanagement.service.UserMembershipService;
 import organizationmanagement.utils.OrganizationContextUtil;
+import organizationmanagement.utils.OrganizationETagUtil;
+import organizationmanagement.utils.PageCursor;
+import organizationmanagement.utils.PaginationUtil;
 import org.springframework.http.HttpStatus;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
+import java.util.ArrayList;
 import java.util.Collections;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.UUID;
@@ -31,14 +48,21 @@ public class OrganizationController {
     private final OrganizationService organizationService;
     private final DepartmentService departmentService;
     private final TeamService teamService;
+    private final OrganizationExportService organizationExportService;
+    private final BulkAssignmentService bulkAssignmentService;
+    private final UserMembershipService userMembershipService;
     private final OrganizationContextUtil organizationContextUtil;
+    private final PaginationUtil paginationUtil;
+    private final OrganizationSnapshotCache organizationSnapshotCache;
+    private final OrganizationETagUtil organizationETagUtil;
 
     // ===== ORGANIZATION ENDPOINTS =====
     @GetMapping
-    @PreAuthorize("hasAuthority('SYS_ADMIN_ROOT')")
-    public ResponseEntity<List<Organization>> getAll() {
-        List<Organization> organizations = organizationService.getAll();
-        return ResponseEntity.ok(organizations);
+    @PreAuthorize("hasPermission(null, 'SYS_ADMIN_ROOT')")
+    public ResponseEntity<List<Organization>> getAll(@RequestParam(required = false) String cursor,
+                                                     @RequestParam(required = false) Integer size) {
+        return organizationService.getPage(PageCursor.decode(cursor), paginationUtil.resolvePageSize(size))
+                .toResponse(organization -> organization);
     }
 
     @PostMapping
@@ -53,8 +77,17 @@ public class OrganizationController {
         return ResponseEntity.ok(exists);
     }
 
+    /**
+     * Batch form of {@code /{id}/exists} for services validating many ids at once: id to exists for
+     * every requested id
+     */
+    @PostMapping("/exists")
+    public ResponseEntity<Map<UUID, Boolean>> exist(@RequestBody List<UUID> ids) {
+        return ResponseEntity.ok(organizationService.exists(ids));
+    }
+
     @GetMapping("/{id}")
-    @PreAuthorize("hasAnyAuthority('PERMISSION_READ', 'SYS_ADMIN_ROOT')")
+    @PreAuthorize("hasPermission(null, 'PERMISSION_READ,SYS_ADMIN_ROOT')")
     public ResponseEntity<Organization> getById(@PathVariable UUID id) {
         Organization organization;
 
@@ -72,7 +105,7 @@ public class OrganizationController {
     }
 
     @PutMapping("/{id}")
-    @PreAuthorize("hasAnyAuthority('PERMISSION_UPDATE', 'SYS_ADMIN_ROOT')")
+    @PreAuthorize("hasPermission(null, 'PERMISSION_UPDATE,SYS_ADMIN_ROOT')")
     public ResponseEntity<Organization> update(@PathVariable UUID id, @RequestBody Organization organization) {
         Organization updatedOrganization;
 
@@ -90,7 +123,7 @@ public class OrganizationController {
     }
 
     @DeleteMapping("/{id}")
-    @PreAuthorize("hasAnyAuthority('PERMISSION_DELETE', 'SYS_ADMIN_ROOT')")
+    @PreAuthorize("hasPermission(null, 'PERMISSION_DELETE,SYS_ADMIN_ROOT')")
     public ResponseEntity<Void> delete(@PathVariable UUID id) {
         if (organizationContextUtil.isRootAdmin()) {
             organizationService.delete(id);
@@ -107,7 +140,7 @@ public class OrganizationController {
 
     // ===== USER ASSIGNMENT ENDPOINTS =====
     @PostMapping("/{organizationId}/departments/{departmentId}/assign-user/{userId}")
-    @PreAuthorize("hasAnyAuthority('PERMISSION_UPDATE', 'SYS_ADMIN_ROOT')")
+    @PreAuthorize("hasPermission(null, 'PERMISSION_UPDATE,SYS_ADMIN_ROOT')")
     public ResponseEntity<Void> assignUserToDepartment(
             @PathVariable UUID organizationId,
             @PathVariable UUID departmentId,
@@ -119,7 +152,7 @@ public class OrganizationController {
     }
 
     @PostMapping("/{organizationId}/teams/{teamId}/assign-user/{userId}")
-    @PreAuthorize("hasAnyAuthority('PERMISSION_UPDATE', 'SYS_ADMIN_ROOT')")
+    @PreAuthorize("hasPermission(null, 'PERMISSION_UPDATE,SYS_ADMIN_ROOT')")
     public ResponseEntity<Void> assignUserToTeam(
             @PathVariable UUID organizationId,
             @PathVariable UUID teamId,
@@ -131,7 +164,7 @@ public class OrganizationController {
     }
 
     @DeleteMapping("/{organizationId}/departments/{departmentId}/remove-user/{userId}")
-    @PreAuthorize("hasAnyAuthority('PERMISSION_DELETE', 'SYS_ADMIN_ROOT')")
+    @PreAuthorize("hasPermission(null, 'PERMISSION_DELETE,SYS_ADMIN_ROOT')")
     public ResponseEntity<Void> removeUserFromDepartment(
             @PathVariable UUID organizationId,
             @PathVariable UUID departmentId,
@@ -143,7 +176,7 @@ public class OrganizationController {
     }
 
     @DeleteMapping("/{organizationId}/teams/{teamId}/remove-user/{userId}")
-    @PreAuthorize("hasAnyAuthority('PERMISSION_DELETE', 'SYS_ADMIN_ROOT')")
+    @PreAuthorize("hasPermission(null, 'PERMISSION_DELETE,SYS_ADMIN_ROOT')")
     public ResponseEntity<Void> removeUserFromTeam(
             @PathVariable UUID organizationId,
             @PathVariable UUID teamId,
@@ -156,7 +189,7 @@ public class OrganizationController {
 
     // ===== SURVEY ASSIGNMENT ENDPOINTS =====
     @PostMapping("/{organizationId}/departments/{departmentId}/assign-survey/{surveyId}")
-    @PreAuthorize("hasAnyAuthority('PERMISSION_UPDATE', 'SYS_ADMIN_ROOT')")
+    @PreAuthorize("hasPermission(null, 'PERMISSION_UPDATE,SYS_ADMIN_ROOT')")
     public ResponseEntity<Void> assignSurveyToDepartment(
             @PathVariable UUID organizationId,
             @PathVariable UUID departmentId,
@@ -168,7 +201,7 @@ public class OrganizationController {
     }
 
     @PostMapping("/{organizationId}/teams/{teamId}/assign-survey/{surveyId}")
-    @PreAuthorize("hasAnyAuthority('PERMISSION_UPDATE', 'SYS_ADMIN_ROOT')")
+    @PreAuthorize("hasPermission(null, 'PERMISSION_UPDATE,SYS_ADMIN_ROOT')")
     public ResponseEntity<Void> assignSurveyToTeam(
             @PathVariable UUID organizationId,
             @PathVariable UUID teamId,
@@ -180,7 +213,7 @@ public class OrganizationController {
     }
 
     @DeleteMapping("/{organizationId}/departments/{departmentId}/remove-survey/{surveyId}")
-    @PreAuthorize("hasAnyAuthority('PERMISSION_DELETE', 'SYS_ADMIN_ROOT')")
+    @PreAuthorize("hasPermission(null, 'PERMISSION_DELETE,SYS_ADMIN_ROOT')")
     public ResponseEntity<Void> removeSurveyFromDepartment(
             @PathVariable UUID organizationId,
             @PathVariable UUID departmentId,
@@ -192,7 +225,7 @@ public class OrganizationController {
     }
 
     @DeleteMapping("/{organizationId}/teams/{teamId}/remove-survey/{surveyId}")
-    @PreAuthorize("hasAnyAuthority('PERMISSION_DELETE', 'SYS_ADMIN_ROOT')")
+    @PreAuthorize("hasPermission(null, 'PERMISSION_DELETE,SYS_ADMIN_ROOT')")
     public ResponseEntity<Void> removeSurveyFromTeam(
             @PathVariable UUID organizationId,
             @PathVariable UUID teamId,
@@ -203,44 +236,127 @@ public class OrganizationController {
         return ResponseEntity.noContent().build();
     }
 
+    // ===== BULK ASSIGNMENT ENDPOINTS =====
+    @PostMapping("/{organizationId}/teams/{teamId}/assign-users")
+    @PreAuthorize("hasPermission(null, 'PERMISSION_UPDATE,SYS_ADMIN_ROOT')")
+    public ResponseEntity<BulkAssignmentResultDTO> assignUsersToTeam(
+            @PathVariable UUID organizationId,
+            @PathVariable UUID teamId,
+            @RequestBody BulkAssignmentRequestDTO request) {
+
+        verifyOrganizationAccess(organizationId);
+        return ResponseEntity.ok(bulkAssignmentService.assignUsersToTeam(teamId, request.getIds(), organizationId));
+    }
+
+    @PostMapping("/{organizationId}/teams/{teamId}/assign-surveys")
+    @PreAuthorize("hasPermission(null, 'PERMISSION_UPDATE,SYS_ADMIN_ROOT')")
+    public ResponseEntity<BulkAssignmentResultDTO> assignSurveysToTeam(
+            @PathVariable UUID organizationId,
+            @PathVariable UUID teamId,
+            @RequestBody BulkAssignmentRequestDTO request) {
+
+        verifyOrganizationAccess(organizationId);
+        return ResponseEntity.ok(bulkAssignmentService.assignSurveysToTeam(teamId, request.getIds(), organizationId));
+    }
+
+    @PostMapping("/{organizationId}/departments/{departmentId}/assign-users")
+    @PreAuthorize("hasPermission(null, 'PERMISSION_UPDATE,SYS_ADMIN_ROOT')")
+    public ResponseEntity<BulkAssignmentResultDTO> assignUsersToDepartment(
+            @PathVariable UUID organizationId,
+            @PathVariable UUID departmentId,
+            @RequestBody BulkAssignmentRequestDTO request) {
+
+        verifyOrganizationAccess(organizationId);
+        return ResponseEntity.ok(bulkAssignmentService.assignUsersToDepartment(departmentId, request.getIds(), organizationId));
+    }
+
+    @PostMapping("/{organizationId}/departments/{departmentId}/assign-surveys")
+    @PreAuthorize("hasPermission(null, 'PERMISSION_UPDATE,SYS_ADMIN_ROOT')")
+    public ResponseEntity<BulkAssignmentResultDTO> assignSurveysToDepartment(
+            @PathVariable UUID organizationId,
+            @PathVariable UUID departmentId,
+            @RequestBody BulkAssignmentRequestDTO request) {
+
+        verifyOrganizationAccess(organizationId);
+        return ResponseEntity.ok(bulkAssignmentService.assignSurveysToDepartment(departmentId, request.getIds(), organizationId));
+    }
+
+    // ===== MEMBERSHIP LOOKUP ENDPOINTS =====
+    @GetMapping("/{organizationId}/users/{userId}/memberships")
+    @PreAuthorize("hasPermission(null, 'PERMISSION_READ,SYS_ADMIN_ROOT')")
+    public ResponseEntity<List<UserGroupSummary>> getUserMemberships(
+            @PathVariable UUID organizationId,
+            @PathVariable UUID userId) {
+
+        verifyOrganizationAccess(organizationId);
+        return ResponseEntity.ok(userMembershipService.getGroupsOfUserInOrganization(userId, organizationId));
+    }
+
+    @GetMapping("/users/{userId}/memberships")
+    @PreAuthorize("hasPermission(null, 'SYS_ADMIN_ROOT')")
+    public ResponseEntity<List<UserGroupSummary>> getUserMembershipsAcrossOrganizations(@PathVariable UUID userId) {
+        return ResponseEntity.ok(userMembershipService.getGroupsOfUser(userId));
+    }
+
     // ===== HIERARCHY ENDPOINTS =====
     @GetMapping("/{id}/children")
-    @PreAuthorize("hasAnyAuthority('SYS_ADMIN_ROOT')")
-    public ResponseEntity<ChildrenResponse> getChildren(@PathVariable UUID id) {
+    @PreAuthorize("hasPermission(null, 'SYS_ADMIN_ROOT')")
+    public ResponseEntity<ChildrenResponse> getChildren(@PathVariable UUID id, WebRequest request) {
         if (!organizationContextUtil.isRootAdmin()) {
             UUID currentOrgId = organizationContextUtil.getCurrentOrganizationId();
             if (!id.equals(currentOrgId)) {
                 throw new IllegalArgumentException("Access denied: You can only access children of your own organization");
             }
         }
+        if (organizationETagUtil.checkNotModified(id, request)) {
+            return null;
+        }
 
-        Organization org = organizationService.getById(id);
-        OrganizationDTO orgDTO = toOrganizationDTO(org);
-
-        List<DepartmentDTO> departments = departmentService.getByOrganizationId(id).stream()
-                .map(dept -> {
-                    DepartmentDTO dto = new DepartmentDTO();
-                    dto.setId(dept.getId());
-                    dto.setName(dept.getName());
-                    dto.setOrganization(orgDTO);
-                    return dto;
+        // The whole hierarchy comes from the organization's cached snapshot
+        OrganizationSnapshot snapshot = organizationSnapshotCache.get(id);
+        OrganizationDTO orgDTO = new OrganizationDTO();
+        orgDTO.setId(snapshot.getId());
+        orgDTO.setName(snapshot.getName());
+
+        Map<UUID, DepartmentDTO> departmentsById = new LinkedHashMap<>();
+        for (DepartmentNode dept : snapshot.getDepartments()) {
+            DepartmentDTO dto = new DepartmentDTO();
+            dto.setId(dept.getId());
+            dto.setName(dept.getName());
+            dto.setOrganization(orgDTO);
+            dto.setUserCount(dept.getUserCount());
+            dto.setSurveyCount(dept.getSurveyCount());
+            departmentsById.put(dept.getId(), dto);
+        }
+        List<DepartmentDTO> departments = new ArrayList<>(departmentsById.values());
+
+        List<TeamDTO> teams = snapshot.getTeams().stream()
+                .map(team -> {
+                    TeamDTO teamDTO = new TeamDTO();
+                    teamDTO.setId(team.getId());
+                    teamDTO.setName(team.getName());
+                    teamDTO.setDepartment(departmentsById.get(team.getDepartmentId()));
+                    teamDTO.setUserCount(team.getUserCount());
+                    teamDTO.setSurveyCount(team.getSurveyCount());
+                    return teamDTO;
                 })
                 .collect(Collectors.toList());
 
-        List<TeamDTO> teams = departments.stream()
-                .flatMap(deptDTO -> teamService.getByDepartmentId(deptDTO.getId()).stream()
-                        .map(team -> {
-                            TeamDTO teamDTO = new TeamDTO();
-                            teamDTO.setId(team.getId());
-                            teamDTO.setName(team.getName());
-                            teamDTO.setDepartment(deptDTO);
-                            return teamDTO;
-                        }))
-                .collect(Collectors.toList());
-
         return ResponseEntity.ok(new ChildrenResponse(departments, teams));
     }
 
+    @GetMapping(value = "/{id}/export", produces = MediaType.APPLICATION_NDJSON_VALUE)
+    @PreAuthorize("hasPermission(null, 'PERMISSION_READ,SYS_ADMIN_ROOT')")
+    public ResponseEntity<StreamingResponseBody> export(@PathVariable UUID id) {
+        // Access and existence are checked up front; once streaming starts the status can't change
+        verifyOrganizationAccess(id);
+
+        StreamingResponseBody body = out -> organizationExportService.writeNdjson(id, out);
+        return ResponseEntity.ok()
+                .contentType(MediaType.APPLICATION_NDJSON)
+                .body(body);
+    }
+
     // ===== HELPER METHODS =====
     private void verifyOrganizationAccess(UUID organizationId) {
         if (!organizationService.exists(organizationId)) {
@@ -255,13 +371,6 @@ public class OrganizationController {
         }
     }
 
-    private OrganizationDTO toOrganizationDTO(Organization org) {
-        OrganizationDTO dto = new OrganizationDTO();
-        dto.setId(org.getId());
-        dto.setName(org.getName());
-        return dto;
-    }
-
     // ===== RESPONSE CLASSES =====
     public static class ChildrenResponse {
         private List<DepartmentDTO> departments;
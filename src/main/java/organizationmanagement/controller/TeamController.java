@@ -4,15 +4,24 @@ import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
 import organizationmanagement.dto.DepartmentDTO;
+import organizationmanagement.dto.OrganizationSnapshot;
 import organizationmanagement.dto.TeamCreateDTO;
 import organizationmanagement.dto.TeamDTO;
+import organizationmanagement.dto.TeamNode;
+import organizationmanagement.exception.ResourceNotFoundException;
 import organizationmanagement.model.Department;
 import organizationmanagement.model.Team;
 import organizationmanagement.service.DepartmentService;
+import organizationmanagement.service.OrganizationSnapshotCache;
 import organizationmanagement.service.TeamService;
+import organizationmanagement.utils.KeysetPage;
 import organizationmanagement.utils.OrganizationContextUtil;
+import organizationmanagement.utils.OrganizationETagUtil;
+import organizationmanagement.utils.PageCursor;
+import organizationmanagement.utils.PaginationUtil;
 import lombok.RequiredArgsConstructor;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
 
 import java.util.List;
 import java.util.UUID;
@@ -25,28 +34,35 @@ public class TeamController {
     private final TeamService teamService;
     private final DepartmentService departmentService;
     private final OrganizationContextUtil organizationContextUtil;
+    private final PaginationUtil paginationUtil;
+    private final OrganizationSnapshotCache snapshotCache;
+    private final OrganizationETagUtil eTagUtil;
 
     @GetMapping
-    @PreAuthorize("hasAnyAuthority('PERMISSION_READ','SYS_ADMIN_ROOT')")
-    public ResponseEntity<List<TeamDTO>> getAll() {
-        List<TeamDTO> teams;
+    @PreAuthorize("hasPermission(null, 'PERMISSION_READ,SYS_ADMIN_ROOT')")
+    public ResponseEntity<List<TeamDTO>> getAll(@RequestParam(required = false) String cursor,
+                                                @RequestParam(required = false) Integer size,
+                                                WebRequest request) {
+        PageCursor after = PageCursor.decode(cursor);
+        int pageSize = paginationUtil.resolvePageSize(size);
 
         if (organizationContextUtil.isRootAdmin()) {
-            teams = teamService.getAll().stream()
-                    .map(this::convertToDTO)
-                    .toList();
-        } else {
-            UUID organizationId = organizationContextUtil.getCurrentOrganizationId();
-            teams = teamService.getAllByOrganization(organizationId).stream()
-                    .map(this::convertToDTO)
-                    .toList();
+            KeysetPage<Team> page = teamService.getPage(after, pageSize);
+            return page.toResponse(this::convertToDTO);
         }
 
-        return ResponseEntity.ok(teams);
+        UUID organizationId = organizationContextUtil.getCurrentOrganizationId();
+        if (eTagUtil.checkNotModified(organizationId, request)) {
+            return null;
+        }
+        // Organization-scoped lists are served from the organization's cached snapshot
+        OrganizationSnapshot snapshot = snapshotCache.get(organizationId);
+        KeysetPage<TeamNode> page = snapshotCache.getTeamPage(snapshot, after, pageSize);
+        return page.toResponse(team -> convertToDTO(team, snapshot));
     }
 
     @PostMapping
-    @PreAuthorize("hasAnyAuthority('PERMISSION_CREATE','SYS_ADMIN_ROOT')")
+    @PreAuthorize("hasPermission(null, 'PERMISSION_CREATE,SYS_ADMIN_ROOT')")
     public ResponseEntity<TeamDTO> create(@RequestBody TeamCreateDTO teamDto) {
         if (teamDto.getDepartmentId() == null) {
             throw new IllegalArgumentException("Department ID must be provided to create a team.");
@@ -72,8 +88,8 @@ public class TeamController {
     }
 
     @GetMapping("/{id}")
-    @PreAuthorize("hasAnyAuthority('PERMISSION_READ','SYS_ADMIN_ROOT')")
-    public ResponseEntity<TeamDTO> getById(@PathVariable UUID id) {
+    @PreAuthorize("hasPermission(null, 'PERMISSION_READ,SYS_ADMIN_ROOT')")
+    public ResponseEntity<TeamDTO> getById(@PathVariable UUID id, WebRequest request) {
         TeamDTO team;
 
         if (organizationContextUtil.isRootAdmin()) {
@@ -81,15 +97,21 @@ public class TeamController {
             team = convertToDTO(teamEntity);
         } else {
             UUID organizationId = organizationContextUtil.getCurrentOrganizationId();
-            Team teamEntity = teamService.getByIdAndOrganization(id, organizationId);
-            team = convertToDTO(teamEntity);
+            if (eTagUtil.checkNotModified(organizationId, request)) {
+                return null;
+            }
+            OrganizationSnapshot snapshot = snapshotCache.get(organizationId);
+            TeamNode teamNode = snapshot.getTeam(id)
+                    .orElseThrow(() -> new ResourceNotFoundException(
+                            "Team not found with id: " + id + " in organization: " + organizationId));
+            team = convertToDTO(teamNode, snapshot);
         }
 
         return ResponseEntity.ok(team);
     }
 
     @DeleteMapping("/{id}")
-    @PreAuthorize("hasAnyAuthority('PERMISSION_DELETE','SYS_ADMIN_ROOT')")
+    @PreAuthorize("hasPermission(null, 'PERMISSION_DELETE,SYS_ADMIN_ROOT')")
     public ResponseEntity<Void> delete(@PathVariable UUID id) {
         if (organizationContextUtil.isRootAdmin()) {
             teamService.delete(id);
@@ -102,7 +124,7 @@ public class TeamController {
     }
 
     @PutMapping("/{id}")
-    @PreAuthorize("hasAnyAuthority('PERMISSION_UPDATE','SYS_ADMIN_ROOT')")
+    @PreAuthorize("hasPermission(null, 'PERMISSION_UPDATE,SYS_ADMIN_ROOT')")
     public ResponseEntity<TeamDTO> update(@PathVariable UUID id, @RequestBody TeamCreateDTO teamDto) {
         if (teamDto.getDepartmentId() == null) {
             throw new IllegalArgumentException("Department ID must be provided to update a team.");
@@ -126,8 +148,8 @@ public class TeamController {
 
     // Additional endpoint to get teams by department within organization scope
     @GetMapping("/department/{departmentId}")
-    @PreAuthorize("hasAnyAuthority('PERMISSION_READ','SYS_ADMIN_ROOT')")
-    public ResponseEntity<List<TeamDTO>> getTeamsByDepartment(@PathVariable UUID departmentId) {
+    @PreAuthorize("hasPermission(null, 'PERMISSION_READ,SYS_ADMIN_ROOT')")
+    public ResponseEntity<List<TeamDTO>> getTeamsByDepartment(@PathVariable UUID departmentId, WebRequest request) {
         List<TeamDTO> teams;
 
         if (organizationContextUtil.isRootAdmin()) {
@@ -136,8 +158,16 @@ public class TeamController {
                     .toList();
         } else {
             UUID organizationId = organizationContextUtil.getCurrentOrganizationId();
-            teams = teamService.getByDepartmentIdAndOrganization(departmentId, organizationId).stream()
-                    .map(this::convertToDTO)
+            if (eTagUtil.checkNotModified(organizationId, request)) {
+                return null;
+            }
+            OrganizationSnapshot snapshot = snapshotCache.get(organizationId);
+            if (snapshot.getDepartment(departmentId).isEmpty()) {
+                throw new ResourceNotFoundException(
+                        "Department not found with id: " + departmentId + " in organization: " + organizationId);
+            }
+            teams = snapshot.getTeamsOf(departmentId).stream()
+                    .map(team -> convertToDTO(team, snapshot))
                     .toList();
         }
 
@@ -161,6 +191,22 @@ public class TeamController {
         return dto;
     }
 
+    private TeamDTO convertToDTO(TeamNode team, OrganizationSnapshot snapshot) {
+        TeamDTO dto = new TeamDTO();
+        dto.setId(team.getId());
+        dto.setName(team.getName());
+        dto.setUserCount(team.getUserCount());
+        dto.setSurveyCount(team.getSurveyCount());
+
+        snapshot.getDepartment(team.getDepartmentId()).ifPresent(dept -> {
+            DepartmentDTO deptDto = new DepartmentDTO();
+            deptDto.setId(dept.getId());
+            deptDto.setName(dept.getName());
+            dto.setDepartment(deptDto);
+        });
+        return dto;
+    }
+
     private Team convertToEntity(TeamCreateDTO dto) {
         Team team = new Team();
         team.setName(dto.getName());
@@ -0,0 +1,15 @@
+package organizationmanagement.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+import java.util.UUID;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class BulkAssignmentRequestDTO {
+    private List<UUID> ids;
+}
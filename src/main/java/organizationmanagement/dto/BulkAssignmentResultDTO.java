@@ -0,0 +1,38 @@
+package organizationmanagement.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Per-ID outcome of a bulk assignment, in request order, plus totals
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class BulkAssignmentResultDTO {
+
+    public enum Status {
+        ASSIGNED,
+        ALREADY_ASSIGNED,
+        NOT_FOUND,
+        // The user/survey service could not be reached for this ID; nothing was written for it
+        VERIFICATION_FAILED,
+        DUPLICATE_IN_REQUEST
+    }
+
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class Item {
+        private UUID id;
+        private Status status;
+    }
+
+    private int requested;
+    private int assigned;
+    private List<Item> results;
+}
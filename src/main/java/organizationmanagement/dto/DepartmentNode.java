@@ -0,0 +1,29 @@
+package organizationmanagement.dto;
+
+import java.util.UUID;
+
+/**
+ * A department in an {@link OrganizationSnapshot}, with the size of its membership collections.
+ * Selected directly by a repository query, without loading the entity.
+ */
+public final class DepartmentNode {
+    private final UUID id;
+    private final String name;
+    private final int userCount;
+    private final int surveyCount;
+
+    public DepartmentNode(UUID id, String name, int userCount, int surveyCount) {
+        this.id = id;
+        this.name = name;
+        this.userCount = userCount;
+        this.surveyCount = surveyCount;
+    }
+
+    public UUID getId() { return id; }
+
+    public String getName() { return name; }
+
+    public int getUserCount() { return userCount; }
+
+    public int getSurveyCount() { return surveyCount; }
+}
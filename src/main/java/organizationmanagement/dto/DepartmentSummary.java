@@ -0,0 +1,20 @@
+package organizationmanagement.dto;
+
+import java.util.UUID;
+
+/**
+ * Read-only projection of a department, selected directly by repository queries without loading the entity.
+ */
+public class DepartmentSummary {
+    private final UUID id;
+    private final String name;
+
+    public DepartmentSummary(UUID id, String name) {
+        this.id = id;
+        this.name = name;
+    }
+
+    public UUID getId() { return id; }
+
+    public String getName() { return name; }
+}
@@ -0,0 +1,20 @@
+package organizationmanagement.dto;
+
+import java.util.UUID;
+
+/**
+ * One row of a team or department membership collection: the owning group and the member (user or survey) id.
+ */
+public class MembershipSummary {
+    private final UUID groupId;
+    private final UUID memberId;
+
+    public MembershipSummary(UUID groupId, UUID memberId) {
+        this.groupId = groupId;
+        this.memberId = memberId;
+    }
+
+    public UUID getGroupId() { return groupId; }
+
+    public UUID getMemberId() { return memberId; }
+}
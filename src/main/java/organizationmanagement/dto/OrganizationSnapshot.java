@@ -0,0 +1,101 @@
+package organizationmanagement.dto;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.UUID;
+
+/**
+ * Immutable view of one organization's departments and teams, as of {@link #getVersion() version}.
+ * Never modified once built: a change to the organization produces a new snapshot, so any number of
+ * threads can read one without locking. Departments and teams are kept in the database's
+ * (name, id) order, the order the list endpoints page through.
+ */
+public final class OrganizationSnapshot {
+
+    private final long version;
+    private final UUID id;
+    private final String name;
+    private final List<DepartmentNode> departments;
+    private final List<TeamNode> teams;
+    private final Map<UUID, Integer> departmentPositions;
+    private final Map<UUID, Integer> teamPositions;
+    private final Map<UUID, List<TeamNode>> teamsByDepartment;
+
+    public OrganizationSnapshot(long version, UUID id, String name,
+                                List<DepartmentNode> departments, List<TeamNode> teams) {
+        this.version = version;
+        this.id = id;
+        this.name = name;
+        this.departments = List.copyOf(departments);
+        this.teams = List.copyOf(teams);
+        this.departmentPositions = positions(this.departments.stream().map(DepartmentNode::getId).toList());
+        this.teamPositions = positions(this.teams.stream().map(TeamNode::getId).toList());
+
+        Map<UUID, List<TeamNode>> byDepartment = new HashMap<>();
+        for (TeamNode team : this.teams) {
+            byDepartment.computeIfAbsent(team.getDepartmentId(), department -> new ArrayList<>()).add(team);
+        }
+        byDepartment.replaceAll((department, list) -> List.copyOf(list));
+        this.teamsByDepartment = Collections.unmodifiableMap(byDepartment);
+    }
+
+    public long getVersion() { return version; }
+
+    public UUID getId() { return id; }
+
+    public String getName() { return name; }
+
+    public List<DepartmentNode> getDepartments() { return departments; }
+
+    public List<TeamNode> getTeams() { return teams; }
+
+    public Optional<DepartmentNode> getDepartment(UUID departmentId) {
+        Integer position = departmentPositions.get(departmentId);
+        return position == null ? Optional.empty() : Optional.of(departments.get(position));
+    }
+
+    public Optional<TeamNode> getTeam(UUID teamId) {
+        Integer position = teamPositions.get(teamId);
+        return position == null ? Optional.empty() : Optional.of(teams.get(position));
+    }
+
+    /**
+     * Teams of one department, in (name, id) order
+     */
+    public List<TeamNode> getTeamsOf(UUID departmentId) {
+        return teamsByDepartment.getOrDefault(departmentId, List.of());
+    }
+
+    /**
+     * Index of the department in {@link #getDepartments()}, or -1 if it isn't in this snapshot
+     */
+    public int positionOfDepartment(UUID departmentId) {
+        return departmentPositions.getOrDefault(departmentId, -1);
+    }
+
+    /**
+     * Index of the team in {@link #getTeams()}, or -1 if it isn't in this snapshot
+     */
+    public int positionOfTeam(UUID teamId) {
+        return teamPositions.getOrDefault(teamId, -1);
+    }
+
+    /**
+     * Departments plus teams; the snapshot's weight in the bounded snapshot cache
+     */
+    public int size() {
+        return departments.size() + teams.size();
+    }
+
+    private static Map<UUID, Integer> positions(List<UUID> ids) {
+        Map<UUID, Integer> positions = new HashMap<>(ids.size() * 2);
+        for (int i = 0; i < ids.size(); i++) {
+            positions.put(ids.get(i), i);
+        }
+        return Collections.unmodifiableMap(positions);
+    }
+}
@@ -1,11 +1,18 @@
 package organizationmanagement.dto;
 
+import com.fasterxml.jackson.annotation.JsonInclude;
+
 import java.util.UUID;
 
 public class TeamDTO {
     private UUID id;
     private String name;
     private DepartmentDTO department;
+    // Membership counts, filled in where they are at hand (the organization snapshot) and left out otherwise
+    @JsonInclude(JsonInclude.Include.NON_NULL)
+    private Integer userCount;
+    @JsonInclude(JsonInclude.Include.NON_NULL)
+    private Integer surveyCount;
 
     // Getters and Setters
     public UUID getId() { return id; }
@@ -16,4 +23,10 @@ public class TeamDTO {
 
     public DepartmentDTO getDepartment() { return department; }
     public void setDepartment(DepartmentDTO department) { this.department = department; }
+
+    public Integer getUserCount() { return userCount; }
+    public void setUserCount(Integer userCount) { this.userCount = userCount; }
+
+    public Integer getSurveyCount() { return surveyCount; }
+    public void setSurveyCount(Integer surveyCount) { this.surveyCount = surveyCount; }
 }
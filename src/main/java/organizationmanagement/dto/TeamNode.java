@@ -0,0 +1,33 @@
+package organizationmanagement.dto;
+
+import java.util.UUID;
+
+/**
+ * A team in an {@link OrganizationSnapshot}, with its department id and the size of its membership
+ * collections. Selected directly by a repository query, without loading the entity.
+ */
+public final class TeamNode {
+    private final UUID id;
+    private final String name;
+    private final UUID departmentId;
+    private final int userCount;
+    private final int surveyCount;
+
+    public TeamNode(UUID id, String name, UUID departmentId, int userCount, int surveyCount) {
+        this.id = id;
+        this.name = name;
+        this.departmentId = departmentId;
+        this.userCount = userCount;
+        this.surveyCount = surveyCount;
+    }
+
+    public UUID getId() { return id; }
+
+    public String getName() { return name; }
+
+    public UUID getDepartmentId() { return departmentId; }
+
+    public int getUserCount() { return userCount; }
+
+    public int getSurveyCount() { return surveyCount; }
+}
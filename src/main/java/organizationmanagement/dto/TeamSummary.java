@@ -0,0 +1,25 @@
+package organizationmanagement.dto;
+
+import java.util.UUID;
+
+/**
+ * Read-only projection of a team, selected directly by repository queries without loading the entity
+ * or its membership collections.
+ */
+public class TeamSummary {
+    private final UUID id;
+    private final String name;
+    private final UUID departmentId;
+
+    public TeamSummary(UUID id, String name, UUID departmentId) {
+        this.id = id;
+        this.name = name;
+        this.departmentId = departmentId;
+    }
+
+    public UUID getId() { return id; }
+
+    public String getName() { return name; }
+
+    public UUID getDepartmentId() { return departmentId; }
+}
@@ -0,0 +1,31 @@
+package organizationmanagement.dto;
+
+import java.util.UUID;
+
+/**
+ * A team or department a user belongs to, as returned by the reverse membership lookup.
+ */
+public class UserGroupSummary {
+
+    public enum Type { TEAM, DEPARTMENT }
+
+    private final Type type;
+    private final UUID id;
+    private final String name;
+    private final UUID organizationId;
+
+    public UserGroupSummary(Type type, UUID id, String name, UUID organizationId) {
+        this.type = type;
+        this.id = id;
+        this.name = name;
+        this.organizationId = organizationId;
+    }
+
+    public Type getType() { return type; }
+
+    public UUID getId() { return id; }
+
+    public String getName() { return name; }
+
+    public UUID getOrganizationId() { return organizationId; }
+}
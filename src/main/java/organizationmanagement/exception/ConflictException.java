@@ -0,0 +1,12 @@
+package organizationmanagement.exception;
+
+/**
+ * The request conflicts with concurrent changes to the same resource and could not be applied;
+ * the caller may retry it.
+ */
+public class ConflictException extends RuntimeException {
+
+    public ConflictException(String message, Throwable cause) {
+        super(message, cause);
+    }
+}
@@ -0,0 +1,24 @@
+package organizationmanagement.exception;
+
+import java.time.Duration;
+
+/**
+ * A downstream service (user-service, survey-service) can't be used right now: its circuit
+ * breaker is open, too many requests are already waiting on it, or the call failed or timed out.
+ */
+public class ServiceUnavailableException extends RuntimeException {
+
+    private final Duration retryAfter;
+
+    public ServiceUnavailableException(String message, Duration retryAfter, Throwable cause) {
+        super(message, cause);
+        this.retryAfter = retryAfter;
+    }
+
+    /**
+     * How long the caller should wait before retrying, or null if unknown
+     */
+    public Duration getRetryAfter() {
+        return retryAfter;
+    }
+}
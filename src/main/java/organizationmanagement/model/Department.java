@@ -2,6 +2,9 @@ package organizationmanagement.model;
 
 import jakarta.persistence.*;
 import lombok.*;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
+import org.hibernate.annotations.SQLRestriction;
 
 import java.util.List;
 import java.util.UUID;
@@ -9,6 +12,10 @@ import java.util.HashSet;
 import java.util.Set;
 
 @Entity
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = "department")
+// Hidden together with its organization (see Organization)
+@SQLRestriction("deleted_at IS NULL")
 @Data
 @NoArgsConstructor
 @AllArgsConstructor
@@ -21,6 +28,10 @@ public class Department {
 
     private String name;
 
+    // Optimistic lock (see OptimisticLockRetry)
+    @Version
+    private Long version;
+
     @ManyToOne
     @JoinColumn(name = "organization_id")
     private Organization organization;
@@ -3,6 +3,9 @@ package organizationmanagement.model;
 import com.fasterxml.jackson.annotation.JsonIgnore;
 import jakarta.persistence.*;
 import lombok.*;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
+import org.hibernate.annotations.SQLRestriction;
 import org.hibernate.annotations.GenericGenerator;
 
 import java.util.ArrayList;
@@ -10,15 +13,20 @@ import java.util.List;
 import java.util.UUID;
 
 @Entity
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = "organization")
+// Marked by OrganizationService.delete and removed later by OrganizationPurger; until then no query sees it
+@SQLRestriction("deleted_at IS NULL")
 @Data
 @NoArgsConstructor
 @AllArgsConstructor
 @Builder
 public class Organization {
 
+    // Time-ordered, so OrganizationIdIndex can tell whether its last sync can have seen an id
     @Id
     @GeneratedValue(generator = "UUID")
-    @GenericGenerator(name = "UUID", strategy = "org.hibernate.id.UUIDGenerator")
+    @GenericGenerator(name = "UUID", type = TimeOrderedUuidGenerator.class)
     @Column(updatable = false, nullable = false)
     private UUID id;
 
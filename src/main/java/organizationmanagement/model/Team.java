@@ -2,11 +2,18 @@ package organizationmanagement.model;
 
 import jakarta.persistence.*;
 import lombok.*;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
+import org.hibernate.annotations.SQLRestriction;
 import java.util.HashSet;
 import java.util.Set;
 import java.util.UUID;
 
 @Entity
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = "team")
+// Hidden together with its department's organization (see Organization)
+@SQLRestriction("deleted_at IS NULL")
 @Data
 @NoArgsConstructor
 @AllArgsConstructor
@@ -20,6 +27,10 @@ public class Team {
 
     private String name;
 
+    // Optimistic lock (see OptimisticLockRetry)
+    @Version
+    private Long version;
+
     @ManyToOne
     @JoinColumn(name = "department_id")
     private Department department;
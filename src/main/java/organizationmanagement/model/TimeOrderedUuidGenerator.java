@@ -0,0 +1,16 @@
+package organizationmanagement.model;
+
+import org.hibernate.engine.spi.SharedSessionContractImplementor;
+import org.hibernate.id.IdentifierGenerator;
+import organizationmanagement.utils.TimeOrderedUuid;
+
+/**
+ * Assigns {@link TimeOrderedUuid} ids on insert
+ */
+public class TimeOrderedUuidGenerator implements IdentifierGenerator {
+
+    @Override
+    public Object generate(SharedSessionContractImplementor session, Object object) {
+        return TimeOrderedUuid.generate();
+    }
+}
@@ -1,19 +1,135 @@
 package organizationmanagement.repository;
 
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
+import org.springframework.transaction.annotation.Transactional;
+import organizationmanagement.dto.DepartmentNode;
+import organizationmanagement.dto.DepartmentSummary;
+import organizationmanagement.dto.MembershipSummary;
 import organizationmanagement.model.Department;
 import org.springframework.data.jpa.repository.JpaRepository;
 
 import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
+import java.util.stream.Stream;
 
 public interface DepartmentRepository extends JpaRepository<Department, UUID> {
+
+    /**
+     * JDBC fetch size for the cursor-backed export streams; keeps memory flat whatever the organization's size
+     */
+    String EXPORT_FETCH_SIZE = "500";
+
     List<Department> findByOrganizationId(UUID organizationId);
     boolean existsByNameAndOrganizationId(String name, UUID organizationId);
 
     // New method: Find department by ID within a specific organization
+    // Both organization-scoped lookups are served from the query cache until a department row changes
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"))
     Optional<Department> findByIdAndOrganizationId(UUID id, UUID organizationId);
 
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"))
+    boolean existsByIdAndOrganizationId(UUID id, UUID organizationId);
+
     // New method: Check if department name exists in organization excluding a specific ID (for updates)
     boolean existsByNameAndOrganizationIdAndIdNot(String name, UUID organizationId, UUID excludeId);
+
+    /**
+     * All departments of an organization with their membership counts, in (name, id) order and one query
+     */
+    @Query("SELECT new organizationmanagement.dto.DepartmentNode(d.id, d.name, size(d.userIds), size(d.surveyIds)) " +
+            "FROM Department d WHERE d.organization.id = :organizationId ORDER BY d.name NULLS LAST, d.id")
+    List<DepartmentNode> findNodesByOrganizationId(@Param("organizationId") UUID organizationId);
+
+    // Keyset pages ordered by (name, id), null names last; the "after" variants seek past the previous
+    // page's last row, among named rows or, for the "nameless" ones, null-named rows (see PageCursor#rowsAfter)
+
+    @Query("SELECT d FROM Department d JOIN FETCH d.organization ORDER BY d.name NULLS LAST, d.id")
+    List<Department> findFirstPage(Limit limit);
+
+    @Query("SELECT d FROM Department d JOIN FETCH d.organization " +
+            "WHERE (d.name, d.id) > (:name, :id) ORDER BY d.name, d.id")
+    List<Department> findPageAfter(@Param("name") String name, @Param("id") UUID id, Limit limit);
+
+    @Query("SELECT d FROM Department d JOIN FETCH d.organization WHERE d.name IS NULL AND d.id > :id ORDER BY d.id")
+    List<Department> findNamelessPageAfter(@Param("id") UUID id, Limit limit);
+
+    @Query("SELECT d FROM Department d JOIN FETCH d.organization o " +
+            "WHERE o.id = :organizationId ORDER BY d.name NULLS LAST, d.id")
+    List<Department> findFirstPageByOrganizationId(@Param("organizationId") UUID organizationId, Limit limit);
+
+    @Query("SELECT d FROM Department d JOIN FETCH d.organization o " +
+            "WHERE o.id = :organizationId AND (d.name, d.id) > (:name, :id) ORDER BY d.name, d.id")
+    List<Department> findPageByOrganizationIdAfter(@Param("organizationId") UUID organizationId,
+                                                   @Param("name") String name, @Param("id") UUID id, Limit limit);
+
+    @Query("SELECT d FROM Department d JOIN FETCH d.organization o " +
+            "WHERE o.id = :organizationId AND d.name IS NULL AND d.id > :id ORDER BY d.id")
+    List<Department> findNamelessPageByOrganizationIdAfter(@Param("organizationId") UUID organizationId,
+                                                           @Param("id") UUID id, Limit limit);
+
+    // Single-row membership writes; the returned row count tells whether anything changed
+    // (0 = already assigned / not assigned), without loading the membership collection.
+    // The native-spaces hint names the table written (schema-qualified, see QuerySpaces), so Hibernate
+    // only invalidates cached queries on it instead of clearing the whole second-level cache
+
+    @Transactional
+    @Modifying
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_NATIVE_SPACES, value = QuerySpaces.DEPARTMENT_USERS))
+    @Query(value = "INSERT INTO {h-schema}department_users (department_id, user_id) VALUES (:departmentId, :userId) " +
+            "ON CONFLICT DO NOTHING", nativeQuery = true)
+    int insertUser(@Param("departmentId") UUID departmentId, @Param("userId") UUID userId);
+
+    @Transactional
+    @Modifying
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_NATIVE_SPACES, value = QuerySpaces.DEPARTMENT_USERS))
+    @Query(value = "DELETE FROM {h-schema}department_users WHERE department_id = :departmentId AND user_id = :userId",
+            nativeQuery = true)
+    int deleteUser(@Param("departmentId") UUID departmentId, @Param("userId") UUID userId);
+
+    @Transactional
+    @Modifying
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_NATIVE_SPACES, value = QuerySpaces.DEPARTMENT_SURVEYS))
+    @Query(value = "INSERT INTO {h-schema}department_surveys (department_id, survey_id) VALUES (:departmentId, :surveyId) " +
+            "ON CONFLICT DO NOTHING", nativeQuery = true)
+    int insertSurvey(@Param("departmentId") UUID departmentId, @Param("surveyId") UUID surveyId);
+
+    @Transactional
+    @Modifying
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_NATIVE_SPACES, value = QuerySpaces.DEPARTMENT_SURVEYS))
+    @Query(value = "DELETE FROM {h-schema}department_surveys WHERE department_id = :departmentId AND survey_id = :surveyId",
+            nativeQuery = true)
+    int deleteSurvey(@Param("departmentId") UUID departmentId, @Param("surveyId") UUID surveyId);
+
+    /**
+     * Mark every department of the organization deleted, as part of deleting the organization, and return
+     * their ids. Run as a query rather than a {@code @Modifying} update: Hibernate drops the whole region of any
+     * entity a native update touches, while OrganizationService evicts just the departments returned.
+     */
+    @Query(value = "UPDATE {h-schema}department SET deleted_at = now() " +
+            "WHERE organization_id = :organizationId AND deleted_at IS NULL RETURNING id", nativeQuery = true)
+    List<UUID> markDeletedByOrganizationId(@Param("organizationId") UUID organizationId);
+
+    // Export streams: must be consumed inside a transaction and closed by the caller
+
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = EXPORT_FETCH_SIZE))
+    @Query("SELECT new organizationmanagement.dto.DepartmentSummary(d.id, d.name) FROM Department d " +
+            "WHERE d.organization.id = :organizationId ORDER BY d.id")
+    Stream<DepartmentSummary> streamSummariesByOrganizationId(@Param("organizationId") UUID organizationId);
+
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = EXPORT_FETCH_SIZE))
+    @Query("SELECT new organizationmanagement.dto.MembershipSummary(d.id, u) FROM Department d JOIN d.userIds u " +
+            "WHERE d.organization.id = :organizationId")
+    Stream<MembershipSummary> streamUserMembershipsByOrganizationId(@Param("organizationId") UUID organizationId);
+
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = EXPORT_FETCH_SIZE))
+    @Query("SELECT new organizationmanagement.dto.MembershipSummary(d.id, s) FROM Department d JOIN d.surveyIds s " +
+            "WHERE d.organization.id = :organizationId")
+    Stream<MembershipSummary> streamSurveyMembershipsByOrganizationId(@Param("organizationId") UUID organizationId);
 }
\ No newline at end of file
@@ -0,0 +1,119 @@
+package organizationmanagement.repository;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+import organizationmanagement.dto.UserGroupSummary;
+
+import java.sql.Array;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+
+/**
+ * Set-at-a-time membership reads and writes on plain JDBC: bulk assignment, where thousands of
+ * rows go out as a handful of batched statements instead of entity updates, and the reverse
+ * (user to groups) lookup.
+ */
+@Repository
+public class MembershipJdbcRepository {
+
+    /**
+     * Rows per JDBC batch and per {@code = ANY(?)} array
+     */
+    static final int CHUNK_SIZE = 1000;
+
+    private final JdbcTemplate jdbcTemplate;
+    private final String schema;
+
+    public MembershipJdbcRepository(JdbcTemplate jdbcTemplate,
+                                    @Value("${spring.jpa.properties.hibernate.default_schema}") String schema) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.schema = schema;
+    }
+
+    /**
+     * The subset of {@code memberIds} already assigned to the group
+     */
+    public Set<UUID> findAssigned(MembershipTable membership, UUID groupId, List<UUID> memberIds) {
+        String sql = "SELECT " + membership.getMemberColumn() + " FROM " + qualified(membership) +
+                " WHERE " + membership.getGroupColumn() + " = ? AND " + membership.getMemberColumn() + " = ANY(?)";
+        Set<UUID> assigned = new HashSet<>();
+        for (List<UUID> chunk : chunks(memberIds)) {
+            jdbcTemplate.query(sql, ps -> {
+                Array ids = ps.getConnection().createArrayOf("uuid", chunk.toArray());
+                ps.setObject(1, groupId);
+                ps.setArray(2, ids);
+            }, rs -> {
+                assigned.add(rs.getObject(1, UUID.class));
+            });
+        }
+        return assigned;
+    }
+
+    /**
+     * Insert the memberships in JDBC batches, skipping rows that already exist.
+     *
+     * @return the members that were actually inserted (a concurrent writer may have added some first)
+     */
+    public Set<UUID> insert(MembershipTable membership, UUID groupId, List<UUID> memberIds) {
+        String sql = "INSERT INTO " + qualified(membership) + " (" + membership.getGroupColumn() + ", " +
+                membership.getMemberColumn() + ") VALUES (?, ?) ON CONFLICT DO NOTHING";
+        Set<UUID> inserted = new HashSet<>();
+        for (List<UUID> chunk : chunks(memberIds)) {
+            int[] counts = jdbcTemplate.batchUpdate(sql, chunk, chunk.size(), (ps, memberId) -> {
+                ps.setObject(1, groupId);
+                ps.setObject(2, memberId);
+            })[0];
+            for (int i = 0; i < counts.length; i++) {
+                // SUCCESS_NO_INFO only shows up if the driver rewrites batches; assume the row went in
+                if (counts[i] > 0 || counts[i] == Statement.SUCCESS_NO_INFO) {
+                    inserted.add(chunk.get(i));
+                }
+            }
+        }
+        return inserted;
+    }
+
+    /**
+     * Every team and department the user belongs to, in one round trip, leaving out those of
+     * deleted organizations. Served by the ix_team_users_user and ix_department_users_user indexes.
+     *
+     * @param organizationId restrict to one organization, or null for all of them
+     */
+    public List<UserGroupSummary> findGroupsOfUser(UUID userId, UUID organizationId) {
+        String organizationFilter = organizationId != null ? " AND d.organization_id = ?" : "";
+        String sql = "SELECT 'TEAM' AS type, t.id, t.name, d.organization_id FROM " + schema + ".team_users tu" +
+                " JOIN " + schema + ".team t ON t.id = tu.team_id" +
+                " JOIN " + schema + ".department d ON d.id = t.department_id" +
+                " WHERE tu.user_id = ? AND t.deleted_at IS NULL" + organizationFilter +
+                " UNION ALL" +
+                " SELECT 'DEPARTMENT' AS type, d.id, d.name, d.organization_id FROM " + schema + ".department_users du" +
+                " JOIN " + schema + ".department d ON d.id = du.department_id" +
+                " WHERE du.user_id = ? AND d.deleted_at IS NULL" + organizationFilter +
+                " ORDER BY type, name, id";
+        Object[] args = organizationId != null
+                ? new Object[]{userId, organizationId, userId, organizationId}
+                : new Object[]{userId, userId};
+        return jdbcTemplate.query(sql, (rs, row) -> new UserGroupSummary(
+                UserGroupSummary.Type.valueOf(rs.getString("type")),
+                rs.getObject("id", UUID.class),
+                rs.getString("name"),
+                rs.getObject("organization_id", UUID.class)), args);
+    }
+
+    private String qualified(MembershipTable membership) {
+        return schema + "." + membership.getTable();
+    }
+
+    private static List<List<UUID>> chunks(List<UUID> ids) {
+        List<List<UUID>> chunks = new ArrayList<>();
+        for (int from = 0; from < ids.size(); from += CHUNK_SIZE) {
+            chunks.add(ids.subList(from, Math.min(ids.size(), from + CHUNK_SIZE)));
+        }
+        return chunks;
+    }
+}
@@ -0,0 +1,27 @@
+package organizationmanagement.repository;
+
+/**
+ * The four membership collection tables, with their owner and member columns.
+ */
+public enum MembershipTable {
+    TEAM_USERS("team_users", "team_id", "user_id"),
+    TEAM_SURVEYS("team_surveys", "team_id", "survey_id"),
+    DEPARTMENT_USERS("department_users", "department_id", "user_id"),
+    DEPARTMENT_SURVEYS("department_surveys", "department_id", "survey_id");
+
+    private final String table;
+    private final String groupColumn;
+    private final String memberColumn;
+
+    MembershipTable(String table, String groupColumn, String memberColumn) {
+        this.table = table;
+        this.groupColumn = groupColumn;
+        this.memberColumn = memberColumn;
+    }
+
+    public String getTable() { return table; }
+
+    public String getGroupColumn() { return groupColumn; }
+
+    public String getMemberColumn() { return memberColumn; }
+}
@@ -0,0 +1,71 @@
+package organizationmanagement.repository;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * The organization_purge queue on plain JDBC: deleted organizations waiting to have their rows
+ * removed, and the {@link PurgeStage} each one has reached.
+ */
+@Repository
+public class OrganizationPurgeRepository {
+
+    private final JdbcTemplate jdbcTemplate;
+    private final String schema;
+
+    public OrganizationPurgeRepository(JdbcTemplate jdbcTemplate,
+                                       @Value("${spring.jpa.properties.hibernate.default_schema}") String schema) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.schema = schema;
+    }
+
+    /**
+     * Queue a (just marked deleted) organization for purging, starting at the first stage
+     */
+    public void schedule(UUID organizationId) {
+        jdbcTemplate.update("INSERT INTO " + schema + ".organization_purge (organization_id, stage) VALUES (?, ?) " +
+                "ON CONFLICT DO NOTHING", organizationId, PurgeStage.values()[0].name());
+    }
+
+    /**
+     * Organizations still to be purged, oldest deletion first
+     */
+    public List<UUID> findPending() {
+        return jdbcTemplate.queryForList("SELECT organization_id FROM " + schema + ".organization_purge " +
+                "ORDER BY requested_at, organization_id", UUID.class);
+    }
+
+    /**
+     * Delete one chunk of the organization's rows at its current stage and record the progress.
+     * Must run in a transaction: the organization's queue row stays locked until it commits, so
+     * instances purging concurrently skip the organization instead of racing on it.
+     *
+     * @return false once there is nothing left to do: the organization is gone, or another
+     * instance is working on it right now
+     */
+    public boolean purgeChunk(UUID organizationId, int chunkSize) {
+        List<String> locked = jdbcTemplate.queryForList("SELECT stage FROM " + schema + ".organization_purge " +
+                "WHERE organization_id = ? FOR UPDATE SKIP LOCKED", String.class, organizationId);
+        if (locked.isEmpty()) {
+            return false;
+        }
+
+        PurgeStage stage = PurgeStage.valueOf(locked.get(0));
+        int deleted = jdbcTemplate.update(stage.deleteChunkSql(schema), organizationId, chunkSize);
+        PurgeStage next = deleted < chunkSize ? stage.next() : stage;
+        if (next == null) {
+            // Everything under it is gone; its organization_purge row goes with it (ON DELETE CASCADE)
+            jdbcTemplate.update("DELETE FROM " + schema + ".organization WHERE id = ? AND deleted_at IS NOT NULL",
+                    organizationId);
+            return false;
+        }
+        jdbcTemplate.update("UPDATE " + schema + ".organization_purge " +
+                "SET stage = ?, rows_purged = rows_purged + ?, updated_at = now() WHERE organization_id = ?",
+                next.name(), deleted, organizationId);
+        return true;
+    }
+}
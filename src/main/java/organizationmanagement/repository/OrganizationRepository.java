@@ -1,10 +1,66 @@
 package organizationmanagement.repository;
 
+import org.springframework.data.domain.Limit;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import organizationmanagement.model.Organization;
 import org.springframework.data.jpa.repository.JpaRepository;
 
+import java.time.Instant;
 import java.util.List;
 import java.util.UUID;
 
 public interface OrganizationRepository extends JpaRepository<Organization, UUID> {
-}
\ No newline at end of file
+
+    /**
+     * Case- and whitespace-insensitive name check among organizations that aren't deleted, served by
+     * the (partial) ux_organization_name_normalized index
+     */
+    @Query(value = "SELECT EXISTS (SELECT 1 FROM {h-schema}organization o WHERE lower(trim(o.name)) = lower(trim(:name)) " +
+            "AND o.deleted_at IS NULL)", nativeQuery = true)
+    boolean existsByNormalizedName(@Param("name") String name);
+
+    @Query(value = "SELECT EXISTS (SELECT 1 FROM {h-schema}organization o WHERE lower(trim(o.name)) = lower(trim(:name)) " +
+            "AND o.deleted_at IS NULL AND o.id <> :excludeId)", nativeQuery = true)
+    boolean existsByNormalizedNameAndIdNot(@Param("name") String name, @Param("excludeId") UUID excludeId);
+
+    /**
+     * Mark the organization deleted; false if it doesn't exist or already is. A query rather than a
+     * modifying update, like DepartmentRepository's; OrganizationService evicts what it hides.
+     */
+    @Query(value = "WITH marked AS (UPDATE {h-schema}organization SET deleted_at = now() " +
+            "WHERE id = :id AND deleted_at IS NULL RETURNING id) SELECT EXISTS (SELECT 1 FROM marked)",
+            nativeQuery = true)
+    boolean markDeleted(@Param("id") UUID id);
+
+    /**
+     * The subset of {@code ids} that belong to organizations, in one query however many there are
+     */
+    @Query(value = "SELECT o.id FROM {h-schema}organization o WHERE o.id = ANY(:ids) AND o.deleted_at IS NULL",
+            nativeQuery = true)
+    List<UUID> findExistingIds(@Param("ids") UUID[] ids);
+
+    // Ids for OrganizationIdIndex: all of them, and those created or deleted since its last sync
+
+    @Query("SELECT o.id FROM Organization o")
+    List<UUID> findAllIds();
+
+    @Query(value = "SELECT o.id FROM {h-schema}organization o WHERE o.created_at >= :since AND o.deleted_at IS NULL",
+            nativeQuery = true)
+    List<UUID> findIdsCreatedSince(@Param("since") Instant since);
+
+    @Query(value = "SELECT o.id FROM {h-schema}organization o WHERE o.deleted_at >= :since", nativeQuery = true)
+    List<UUID> findIdsDeletedSince(@Param("since") Instant since);
+
+    // Keyset pages ordered by (name, id), null names last; findPageAfter seeks past the previous page's
+    // last row among named rows, findNamelessPageAfter among the null-named ones (see PageCursor#rowsAfter)
+
+    @Query("SELECT o FROM Organization o ORDER BY o.name NULLS LAST, o.id")
+    List<Organization> findFirstPage(Limit limit);
+
+    @Query("SELECT o FROM Organization o WHERE (o.name, o.id) > (:name, :id) ORDER BY o.name, o.id")
+    List<Organization> findPageAfter(@Param("name") String name, @Param("id") UUID id, Limit limit);
+
+    @Query("SELECT o FROM Organization o WHERE o.name IS NULL AND o.id > :id ORDER BY o.id")
+    List<Organization> findNamelessPageAfter(@Param("id") UUID id, Limit limit);
+}
@@ -0,0 +1,53 @@
+package organizationmanagement.repository;
+
+/**
+ * The steps of purging a deleted organization, in the order they run: membership rows first, then
+ * the teams and departments they reference. Each step deletes at most a chunk of rows per statement
+ * and is repeated until a chunk comes back short; the organization row itself goes after the last.
+ *
+ * <p>The statements take the schema ({@code %1$s}) and bind the organization id and chunk size.</p>
+ */
+public enum PurgeStage {
+    TEAM_USERS("DELETE FROM %1$s.team_users WHERE (team_id, user_id) IN (" +
+            "SELECT tu.team_id, tu.user_id FROM %1$s.team_users tu" +
+            " JOIN %1$s.team t ON t.id = tu.team_id" +
+            " JOIN %1$s.department d ON d.id = t.department_id" +
+            " WHERE d.organization_id = ? LIMIT ?)"),
+    TEAM_SURVEYS("DELETE FROM %1$s.team_surveys WHERE (team_id, survey_id) IN (" +
+            "SELECT ts.team_id, ts.survey_id FROM %1$s.team_surveys ts" +
+            " JOIN %1$s.team t ON t.id = ts.team_id" +
+            " JOIN %1$s.department d ON d.id = t.department_id" +
+            " WHERE d.organization_id = ? LIMIT ?)"),
+    TEAMS("DELETE FROM %1$s.team WHERE id IN (" +
+            "SELECT t.id FROM %1$s.team t" +
+            " JOIN %1$s.department d ON d.id = t.department_id" +
+            " WHERE d.organization_id = ? LIMIT ?)"),
+    DEPARTMENT_USERS("DELETE FROM %1$s.department_users WHERE (department_id, user_id) IN (" +
+            "SELECT du.department_id, du.user_id FROM %1$s.department_users du" +
+            " JOIN %1$s.department d ON d.id = du.department_id" +
+            " WHERE d.organization_id = ? LIMIT ?)"),
+    DEPARTMENT_SURVEYS("DELETE FROM %1$s.department_surveys WHERE (department_id, survey_id) IN (" +
+            "SELECT ds.department_id, ds.survey_id FROM %1$s.department_surveys ds" +
+            " JOIN %1$s.department d ON d.id = ds.department_id" +
+            " WHERE d.organization_id = ? LIMIT ?)"),
+    DEPARTMENTS("DELETE FROM %1$s.department WHERE id IN (" +
+            "SELECT d.id FROM %1$s.department d WHERE d.organization_id = ? LIMIT ?)");
+
+    private final String deleteChunk;
+
+    PurgeStage(String deleteChunk) {
+        this.deleteChunk = deleteChunk;
+    }
+
+    public String deleteChunkSql(String schema) {
+        return String.format(deleteChunk, schema);
+    }
+
+    /**
+     * The stage after this one, or null after the last
+     */
+    public PurgeStage next() {
+        PurgeStage[] stages = values();
+        return ordinal() + 1 < stages.length ? stages[ordinal() + 1] : null;
+    }
+}
@@ -0,0 +1,23 @@
+package organizationmanagement.repository;
+
+/**
+ * Hibernate query spaces of the tables written with native SQL, for {@code HINT_NATIVE_SPACES} and query
+ * cache invalidation. Hibernate qualifies its spaces with {@code hibernate.default_schema}, so these are
+ * qualified the same way; an unqualified name matches nothing and invalidates nothing. {@link #SCHEMA}
+ * is checked against the configured schema at startup by {@link QuerySpacesCheck}.
+ */
+public final class QuerySpaces {
+
+    public static final String SCHEMA = "organization_service";
+
+    public static final String ORGANIZATION = SCHEMA + ".organization";
+    public static final String DEPARTMENT = SCHEMA + ".department";
+    public static final String TEAM = SCHEMA + ".team";
+    public static final String DEPARTMENT_USERS = SCHEMA + ".department_users";
+    public static final String DEPARTMENT_SURVEYS = SCHEMA + ".department_surveys";
+    public static final String TEAM_USERS = SCHEMA + ".team_users";
+    public static final String TEAM_SURVEYS = SCHEMA + ".team_surveys";
+
+    private QuerySpaces() {
+    }
+}
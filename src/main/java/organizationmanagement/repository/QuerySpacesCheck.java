@@ -0,0 +1,21 @@
+package organizationmanagement.repository;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+/**
+ * Stops startup when {@link QuerySpaces#SCHEMA}, which has to be a compile-time constant for the
+ * query hints, isn't the configured {@code hibernate.default_schema}. The native writes' query
+ * spaces would then match no table, and the query and second-level caches would silently stop
+ * being invalidated by them.
+ */
+@Component
+public class QuerySpacesCheck {
+
+    public QuerySpacesCheck(@Value("${spring.jpa.properties.hibernate.default_schema}") String schema) {
+        if (!QuerySpaces.SCHEMA.equals(schema)) {
+            throw new IllegalStateException("QuerySpaces.SCHEMA is '" + QuerySpaces.SCHEMA
+                    + "' but hibernate.default_schema is '" + schema + "'; change them together");
+        }
+    }
+}
@@ -0,0 +1,60 @@
+package organizationmanagement.repository;
+
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.CacheRegionStatistics;
+import org.hibernate.stat.Statistics;
+import org.springframework.stereotype.Component;
+
+import java.util.function.ToDoubleFunction;
+
+/**
+ * Hibernate's second-level and query cache statistics as meters. Needs
+ * {@code hibernate.generate_statistics=true}; without it every counter stays at 0.
+ *
+ * <ul>
+ *     <li>{@code hibernate.second.level.cache.requests{region, result=hit|miss}} and
+ *     {@code hibernate.second.level.cache.puts{region}}, per entity region</li>
+ *     <li>{@code hibernate.query.cache.requests{result=hit|miss}} and {@code hibernate.query.cache.puts}</li>
+ *     <li>{@code hibernate.entities.loaded}: entity loads that went to the database</li>
+ * </ul>
+ */
+@Component
+public class SecondLevelCacheMetrics implements MeterBinder {
+
+    private final Statistics statistics;
+
+    public SecondLevelCacheMetrics(EntityManagerFactory entityManagerFactory) {
+        this.statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        for (String region : statistics.getSecondLevelCacheRegionNames()) {
+            CacheRegionStatistics regionStatistics = statistics.getDomainDataRegionStatistics(region);
+            if (regionStatistics == null) {
+                continue;
+            }
+            counter(registry, "hibernate.second.level.cache.requests", regionStatistics,
+                    CacheRegionStatistics::getHitCount, "region", region, "result", "hit");
+            counter(registry, "hibernate.second.level.cache.requests", regionStatistics,
+                    CacheRegionStatistics::getMissCount, "region", region, "result", "miss");
+            counter(registry, "hibernate.second.level.cache.puts", regionStatistics,
+                    CacheRegionStatistics::getPutCount, "region", region);
+        }
+        counter(registry, "hibernate.query.cache.requests", statistics,
+                Statistics::getQueryCacheHitCount, "result", "hit");
+        counter(registry, "hibernate.query.cache.requests", statistics,
+                Statistics::getQueryCacheMissCount, "result", "miss");
+        counter(registry, "hibernate.query.cache.puts", statistics, Statistics::getQueryCachePutCount);
+        counter(registry, "hibernate.entities.loaded", statistics, Statistics::getEntityLoadCount);
+    }
+
+    private static <T> void counter(MeterRegistry registry, String name, T source, ToDoubleFunction<T> count,
+                                    String... tags) {
+        FunctionCounter.builder(name, source, count).tags(tags).register(registry);
+    }
+}
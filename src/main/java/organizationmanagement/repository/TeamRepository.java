@@ -1,13 +1,25 @@
 package organizationmanagement.repository;
 
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.query.Param;
+import org.springframework.transaction.annotation.Transactional;
+import organizationmanagement.dto.MembershipSummary;
+import organizationmanagement.dto.TeamNode;
+import organizationmanagement.dto.TeamSummary;
 import organizationmanagement.model.Team;
 import org.springframework.data.jpa.repository.JpaRepository;
 
 import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
+import java.util.stream.Stream;
+
+import static organizationmanagement.repository.DepartmentRepository.EXPORT_FETCH_SIZE;
 
 public interface TeamRepository extends JpaRepository<Team, UUID> {
     List<Team> findByDepartmentId(UUID departmentId);
@@ -21,16 +33,111 @@ public interface TeamRepository extends JpaRepository<Team, UUID> {
     List<Team> findByDepartmentOrganizationId(@Param("organizationId") UUID organizationId);
 
     /**
-     * Find a team by ID that belongs to a specific organization
+     * Find a team by ID that belongs to a specific organization; served from the query cache until a team,
+     * department or organization row changes
      */
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"))
     @Query("SELECT t FROM Team t WHERE t.id = :teamId AND t.department.organization.id = :organizationId")
     Optional<Team> findByIdAndDepartmentOrganizationId(@Param("teamId") UUID teamId,
                                                        @Param("organizationId") UUID organizationId);
 
     /**
-     * Check if a team exists by ID within a specific organization
+     * Check if a team exists by ID within a specific organization (query-cached, like the lookup above)
      */
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"))
     @Query("SELECT COUNT(t) > 0 FROM Team t WHERE t.id = :teamId AND t.department.organization.id = :organizationId")
     boolean existsByIdAndDepartmentOrganizationId(@Param("teamId") UUID teamId,
                                                   @Param("organizationId") UUID organizationId);
+
+    /**
+     * All teams of an organization with their department id and membership counts, in (name, id) order and one query
+     */
+    @Query("SELECT new organizationmanagement.dto.TeamNode(t.id, t.name, t.department.id, size(t.userIds), size(t.surveyIds)) " +
+            "FROM Team t WHERE t.department.organization.id = :organizationId ORDER BY t.name NULLS LAST, t.id")
+    List<TeamNode> findNodesByOrganizationId(@Param("organizationId") UUID organizationId);
+
+    // Keyset pages ordered by (name, id), null names last; the "after" variants seek past the previous
+    // page's last row, among named rows or, for the "nameless" ones, null-named rows (see PageCursor#rowsAfter)
+
+    @Query("SELECT t FROM Team t JOIN FETCH t.department ORDER BY t.name NULLS LAST, t.id")
+    List<Team> findFirstPage(Limit limit);
+
+    @Query("SELECT t FROM Team t JOIN FETCH t.department " +
+            "WHERE (t.name, t.id) > (:name, :id) ORDER BY t.name, t.id")
+    List<Team> findPageAfter(@Param("name") String name, @Param("id") UUID id, Limit limit);
+
+    @Query("SELECT t FROM Team t JOIN FETCH t.department WHERE t.name IS NULL AND t.id > :id ORDER BY t.id")
+    List<Team> findNamelessPageAfter(@Param("id") UUID id, Limit limit);
+
+    @Query("SELECT t FROM Team t JOIN FETCH t.department d " +
+            "WHERE d.organization.id = :organizationId ORDER BY t.name NULLS LAST, t.id")
+    List<Team> findFirstPageByOrganizationId(@Param("organizationId") UUID organizationId, Limit limit);
+
+    @Query("SELECT t FROM Team t JOIN FETCH t.department d " +
+            "WHERE d.organization.id = :organizationId AND (t.name, t.id) > (:name, :id) ORDER BY t.name, t.id")
+    List<Team> findPageByOrganizationIdAfter(@Param("organizationId") UUID organizationId,
+                                             @Param("name") String name, @Param("id") UUID id, Limit limit);
+
+    @Query("SELECT t FROM Team t JOIN FETCH t.department d " +
+            "WHERE d.organization.id = :organizationId AND t.name IS NULL AND t.id > :id ORDER BY t.id")
+    List<Team> findNamelessPageByOrganizationIdAfter(@Param("organizationId") UUID organizationId,
+                                                     @Param("id") UUID id, Limit limit);
+
+    // Single-row membership writes; the returned row count tells whether anything changed
+    // (0 = already assigned / not assigned), without loading the membership collection.
+    // The native-spaces hint keeps them from clearing the whole second-level cache (see DepartmentRepository)
+
+    @Transactional
+    @Modifying
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_NATIVE_SPACES, value = QuerySpaces.TEAM_USERS))
+    @Query(value = "INSERT INTO {h-schema}team_users (team_id, user_id) VALUES (:teamId, :userId) " +
+            "ON CONFLICT DO NOTHING", nativeQuery = true)
+    int insertUser(@Param("teamId") UUID teamId, @Param("userId") UUID userId);
+
+    @Transactional
+    @Modifying
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_NATIVE_SPACES, value = QuerySpaces.TEAM_USERS))
+    @Query(value = "DELETE FROM {h-schema}team_users WHERE team_id = :teamId AND user_id = :userId",
+            nativeQuery = true)
+    int deleteUser(@Param("teamId") UUID teamId, @Param("userId") UUID userId);
+
+    @Transactional
+    @Modifying
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_NATIVE_SPACES, value = QuerySpaces.TEAM_SURVEYS))
+    @Query(value = "INSERT INTO {h-schema}team_surveys (team_id, survey_id) VALUES (:teamId, :surveyId) " +
+            "ON CONFLICT DO NOTHING", nativeQuery = true)
+    int insertSurvey(@Param("teamId") UUID teamId, @Param("surveyId") UUID surveyId);
+
+    @Transactional
+    @Modifying
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_NATIVE_SPACES, value = QuerySpaces.TEAM_SURVEYS))
+    @Query(value = "DELETE FROM {h-schema}team_surveys WHERE team_id = :teamId AND survey_id = :surveyId",
+            nativeQuery = true)
+    int deleteSurvey(@Param("teamId") UUID teamId, @Param("surveyId") UUID surveyId);
+
+    /**
+     * Mark every team of the organization deleted, as part of deleting the organization, and return their
+     * ids (a query, like DepartmentRepository's, so OrganizationService can evict just these teams)
+     */
+    @Query(value = "UPDATE {h-schema}team SET deleted_at = now() WHERE deleted_at IS NULL AND department_id IN " +
+            "(SELECT d.id FROM {h-schema}department d WHERE d.organization_id = :organizationId) RETURNING id",
+            nativeQuery = true)
+    List<UUID> markDeletedByOrganizationId(@Param("organizationId") UUID organizationId);
+
+    // Export streams: must be consumed inside a transaction and closed by the caller
+
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = EXPORT_FETCH_SIZE))
+    @Query("SELECT new organizationmanagement.dto.TeamSummary(t.id, t.name, t.department.id) FROM Team t " +
+            "WHERE t.department.organization.id = :organizationId ORDER BY t.id")
+    Stream<TeamSummary> streamSummariesByOrganizationId(@Param("organizationId") UUID organizationId);
+
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = EXPORT_FETCH_SIZE))
+    @Query("SELECT new organizationmanagement.dto.MembershipSummary(t.id, u) FROM Team t JOIN t.userIds u " +
+            "WHERE t.department.organization.id = :organizationId")
+    Stream<MembershipSummary> streamUserMembershipsByOrganizationId(@Param("organizationId") UUID organizationId);
+
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = EXPORT_FETCH_SIZE))
+    @Query("SELECT new organizationmanagement.dto.MembershipSummary(t.id, s) FROM Team t JOIN t.surveyIds s " +
+            "WHERE t.department.organization.id = :organizationId")
+    Stream<MembershipSummary> streamSurveyMembershipsByOrganizationId(@Param("organizationId") UUID organizationId);
 }
@@ -0,0 +1,52 @@
+package organizationmanagement.security;
+
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Authorities this service makes decisions on. Each one owns a bit in a {@code long} mask,
+ * so a principal's authorities can be checked with a single bit test instead of string comparisons.
+ */
+public enum Authority {
+    SYS_ADMIN_ROOT,
+    PERMISSION_READ,
+    PERMISSION_CREATE,
+    PERMISSION_UPDATE,
+    PERMISSION_DELETE;
+
+    private static final Map<String, Authority> BY_NAME = new HashMap<>();
+
+    static {
+        for (Authority authority : values()) {
+            BY_NAME.put(authority.name(), authority);
+        }
+    }
+
+    private final long mask = 1L << ordinal();
+
+    public long mask() {
+        return mask;
+    }
+
+    /**
+     * Look up an authority by name, or return null if this service doesn't know it
+     */
+    public static Authority fromName(String name) {
+        return name != null ? BY_NAME.get(name) : null;
+    }
+
+    /**
+     * Combine the known authorities among {@code names} into a mask; unknown names are ignored
+     */
+    public static long maskOf(Collection<String> names) {
+        long mask = 0L;
+        for (String name : names) {
+            Authority authority = fromName(name);
+            if (authority != null) {
+                mask |= authority.mask;
+            }
+        }
+        return mask;
+    }
+}
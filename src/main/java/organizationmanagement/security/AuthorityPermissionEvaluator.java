@@ -0,0 +1,69 @@
+package organizationmanagement.security;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.security.access.PermissionEvaluator;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.stereotype.Component;
+
+import java.io.Serializable;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Backs {@code @PreAuthorize("hasPermission(null, 'PERMISSION_READ,SYS_ADMIN_ROOT')")}: the permission is a
+ * comma-separated list of authorities, any one of which grants access. Each distinct list is resolved
+ * to a mask once, so evaluating it against a {@link JwtPrincipal} is a single bit test.
+ *
+ * <p>A list naming an unknown authority (a typo in an expression) denies everyone and is logged as an
+ * error once, rather than failing the request with a 500.</p>
+ */
+@Slf4j
+@Component
+public class AuthorityPermissionEvaluator implements PermissionEvaluator {
+
+    private final Map<String, Long> requiredMasks = new ConcurrentHashMap<>();
+
+    @Override
+    public boolean hasPermission(Authentication authentication, Object targetDomainObject, Object permission) {
+        return hasAnyAuthority(authentication, permission);
+    }
+
+    @Override
+    public boolean hasPermission(Authentication authentication, Serializable targetId, String targetType, Object permission) {
+        return hasAnyAuthority(authentication, permission);
+    }
+
+    private boolean hasAnyAuthority(Authentication authentication, Object permission) {
+        if (authentication == null || !(permission instanceof String required)) {
+            return false;
+        }
+
+        long requiredMask = requiredMasks.computeIfAbsent(required, AuthorityPermissionEvaluator::parseMask);
+        if (authentication.getPrincipal() instanceof JwtPrincipal principal) {
+            return principal.hasAnyAuthority(requiredMask);
+        }
+
+        // Non-JWT authentications (e.g. test users) only carry granted authorities
+        List<String> names = new ArrayList<>();
+        for (GrantedAuthority granted : authentication.getAuthorities()) {
+            names.add(granted.getAuthority());
+        }
+        return (Authority.maskOf(names) & requiredMask) != 0;
+    }
+
+    private static long parseMask(String permission) {
+        long mask = 0L;
+        for (String name : permission.split(",")) {
+            Authority authority = Authority.fromName(name.trim());
+            if (authority == null) {
+                log.error("Unknown authority '{}' in permission '{}'; access is denied", name.trim(), permission);
+                return 0L;
+            }
+            mask |= authority.mask();
+        }
+        return mask;
+    }
+}
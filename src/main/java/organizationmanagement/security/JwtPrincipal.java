@@ -0,0 +1,80 @@
+package organizationmanagement.security;
+
+import org.springframework.security.core.AuthenticatedPrincipal;
+
+import java.util.Date;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Immutable view of a verified JWT. Built once per token by {@link JwtTokenUtil}
+ * and stored as the principal of the request's {@code Authentication}, so the
+ * rest of the security code never has to parse the token again. Known authorities
+ * are folded into a bit mask (see {@link Authority}) when the principal is built.
+ */
+public final class JwtPrincipal implements AuthenticatedPrincipal {
+
+    private final String username;
+    private final UUID organizationId;
+    private final List<String> authorities;
+    private final Date expiration;
+    private final long authorityMask;
+
+    public JwtPrincipal(String username, UUID organizationId, List<String> authorities, Date expiration) {
+        this.username = username;
+        this.organizationId = organizationId;
+        this.authorities = List.copyOf(authorities);
+        this.expiration = expiration;
+        this.authorityMask = Authority.maskOf(this.authorities);
+    }
+
+    @Override
+    public String getName() {
+        return username;
+    }
+
+    public String getUsername() {
+        return username;
+    }
+
+    public UUID getOrganizationId() {
+        return organizationId;
+    }
+
+    public List<String> getAuthorities() {
+        return authorities;
+    }
+
+    public Date getExpiration() {
+        return expiration;
+    }
+
+    public long getAuthorityMask() {
+        return authorityMask;
+    }
+
+    public boolean hasAuthority(Authority authority) {
+        return (authorityMask & authority.mask()) != 0;
+    }
+
+    /**
+     * True if the principal holds at least one of the authorities in {@code mask}
+     */
+    public boolean hasAnyAuthority(long mask) {
+        return (authorityMask & mask) != 0;
+    }
+
+    public boolean hasAuthority(String authority) {
+        Authority known = Authority.fromName(authority);
+        if (known != null) {
+            return hasAuthority(known);
+        }
+        // Authorities this service doesn't model are rare; fall back to the raw list
+        return authorities.contains(authority);
+    }
+
+    @Override
+    public String toString() {
+        return username;
+    }
+}
@@ -1,5 +1,6 @@
 package organizationmanagement.security;
 
+import io.jsonwebtoken.JwtException;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
 import org.springframework.security.core.GrantedAuthority;
 import org.springframework.security.core.authority.SimpleGrantedAuthority;
@@ -7,7 +8,6 @@ import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.security.web.authentication.WebAuthenticationDetailsSource;
 import org.springframework.stereotype.Component;
 import org.springframework.web.filter.OncePerRequestFilter;
-import org.springframework.util.AntPathMatcher;
 import jakarta.servlet.FilterChain;
 import jakarta.servlet.ServletException;
 import jakarta.servlet.http.HttpServletRequest;
@@ -20,20 +20,11 @@ import java.util.stream.Collectors;
 @Component
 public class JwtRequestFilter extends OncePerRequestFilter {
     private final JwtTokenUtil jwtTokenUtil;
-    private final AntPathMatcher pathMatcher = new AntPathMatcher();
-
-    // Public endpoints that don't require authentication
-    private static final String[] PUBLIC_ENDPOINTS = {
-            "/actuator/health",
-            "/v3/api-docs/**",
-            "/swagger-ui/**",
-            "/swagger-ui.html",
-            "/api/organizations", // for POST requests
-            "/api/organizations/*/exists" // for GET requests
-    };
-
-    public JwtRequestFilter(JwtTokenUtil jwtTokenUtil) {
+    private final PublicEndpoints publicEndpoints;
+
+    public JwtRequestFilter(JwtTokenUtil jwtTokenUtil, PublicEndpoints publicEndpoints) {
         this.jwtTokenUtil = jwtTokenUtil;
+        this.publicEndpoints = publicEndpoints;
     }
 
     @Override
@@ -58,23 +49,26 @@ public class JwtRequestFilter extends OncePerRequestFilter {
         try {
             final String token = authorizationHeader.substring(7);
 
-            if (!jwtTokenUtil.isTokenValid(token)) {
+            // Signature and expiry are verified here, once; everything downstream reads the principal
+            final JwtPrincipal principal;
+            try {
+                principal = jwtTokenUtil.parsePrincipal(token);
+            } catch (JwtException | IllegalArgumentException e) {
                 response.sendError(HttpServletResponse.SC_UNAUTHORIZED, "Invalid or expired JWT token");
                 return;
             }
 
-            final String username = jwtTokenUtil.extractUsername(token);
-            final UUID organizationId = jwtTokenUtil.extractOrganizationId(token);
+            final String username = principal.getUsername();
+            final UUID organizationId = principal.getOrganizationId();
 
             if (username != null && SecurityContextHolder.getContext().getAuthentication() == null) {
-                List<String> authorities = jwtTokenUtil.extractAuthorities(token);
-                List<GrantedAuthority> grantedAuthorities = authorities.stream()
+                List<GrantedAuthority> grantedAuthorities = principal.getAuthorities().stream()
                         .map(SimpleGrantedAuthority::new)
                         .collect(Collectors.toList());
 
                 UsernamePasswordAuthenticationToken authentication =
                         new UsernamePasswordAuthenticationToken(
-                                username,
+                                principal,
                                 null,
                                 grantedAuthorities);
 
@@ -98,24 +92,6 @@ public class JwtRequestFilter extends OncePerRequestFilter {
     }
 
     private boolean isPublicEndpoint(HttpServletRequest request) {
-        String requestPath = request.getRequestURI();
-        String method = request.getMethod();
-
-
-        for (String pattern : PUBLIC_ENDPOINTS) {
-            if (pathMatcher.match(pattern, requestPath)) {
-                // For /api/organizations, only allow POST requests
-                if (pattern.equals("/api/organizations") && !"POST".equals(method)) {
-                    continue;
-                }
-                // For /api/organizations/*/exists, only allow GET requests
-                if (pattern.equals("/api/organizations/*/exists") && !"GET".equals(method)) {
-                    continue;
-                }
-                return true;
-            }
-        }
-
-        return false;
+        return publicEndpoints.matches(request);
     }
 }
\ No newline at end of file
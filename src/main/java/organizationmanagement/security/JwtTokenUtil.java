@@ -3,6 +3,7 @@ package organizationmanagement.security;
 
 
 import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.JwtParser;
 import io.jsonwebtoken.Jwts;
 import io.jsonwebtoken.io.Decoders;
 import io.jsonwebtoken.security.Keys;
@@ -15,9 +16,33 @@ import java.util.function.Function;
 @Component
 public class JwtTokenUtil {
     private final Key signingKey;
+    private final JwtParser jwtParser;
+    private final JwtTokenCache tokenCache;
 
-    public JwtTokenUtil(@Value("${jwt.secret}") String secret) {
+    public JwtTokenUtil(@Value("${jwt.secret}") String secret, JwtTokenCache tokenCache) {
+        this.tokenCache = tokenCache;
         this.signingKey = Keys.hmacShaKeyFor(Decoders.BASE64.decode(secret));
+        this.jwtParser = Jwts.parserBuilder()
+                .setSigningKey(signingKey)
+                .build();
+    }
+
+    /**
+     * Verify the token once and return everything the request needs from it.
+     * Throws a {@link io.jsonwebtoken.JwtException} if the signature is invalid or the token has expired.
+     * Tokens seen before are served from {@link JwtTokenCache} until their own expiry.
+     */
+    public JwtPrincipal parsePrincipal(String token) {
+        return tokenCache.get(token, this::verifyPrincipal);
+    }
+
+    private JwtPrincipal verifyPrincipal(String token) {
+        Claims claims = getAllClaimsFromToken(token);
+        return new JwtPrincipal(
+                claims.getSubject(),
+                organizationIdFrom(claims),
+                authoritiesFrom(claims),
+                claims.getExpiration());
     }
 
     public String extractUsername(String token) {
@@ -26,20 +51,15 @@ public class JwtTokenUtil {
 
     public UUID extractOrganizationId(String token) {
         try {
-            Claims claims = getAllClaimsFromToken(token);
-            String orgId = (String) claims.get("organizationId");
-            return orgId != null ? UUID.fromString(orgId) : null;
+            return organizationIdFrom(getAllClaimsFromToken(token));
         } catch (Exception e) {
             return null;
         }
     }
 
-    @SuppressWarnings("unchecked")
     public List<String> extractAuthorities(String token) {
         try {
-            Claims claims = getAllClaimsFromToken(token);
-            List<String> authorities = (List<String>) claims.get("authorities");
-            return authorities != null ? authorities : new ArrayList<>();
+            return authoritiesFrom(getAllClaimsFromToken(token));
         } catch (Exception e) {
             return new ArrayList<>();
         }
@@ -55,11 +75,7 @@ public class JwtTokenUtil {
     }
 
     public Claims getAllClaimsFromToken(String token) {
-        return Jwts.parserBuilder()
-                .setSigningKey(signingKey)
-                .build()
-                .parseClaimsJws(token)
-                .getBody();
+        return jwtParser.parseClaimsJws(token).getBody();
     }
 
     public Boolean isTokenValid(String token) {
@@ -78,4 +94,19 @@ public class JwtTokenUtil {
         UUID orgId = extractOrganizationId(token);
         return orgId != null;
     }
-}
\ No newline at end of file
+
+    private UUID organizationIdFrom(Claims claims) {
+        String orgId = (String) claims.get("organizationId");
+        try {
+            return orgId != null ? UUID.fromString(orgId) : null;
+        } catch (IllegalArgumentException e) {
+            return null;
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    private List<String> authoritiesFrom(Claims claims) {
+        List<String> authorities = (List<String>) claims.get("authorities");
+        return authorities != null ? authorities : new ArrayList<>();
+    }
+}
@@ -0,0 +1,136 @@
+package organizationmanagement.security;
+
+import jakarta.servlet.http.HttpServletRequest;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.server.PathContainer;
+import org.springframework.security.web.util.matcher.RequestMatcher;
+import org.springframework.stereotype.Component;
+import org.springframework.web.util.pattern.PathPattern;
+import org.springframework.web.util.pattern.PathPatternParser;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * The single list of routes that don't require authentication, used by both
+ * {@link JwtRequestFilter} and {@link SecurityConfig}.
+ *
+ * <p>Routes are compiled once: literal paths go into a hash lookup, and wildcard
+ * routes keep their literal prefix and suffix so that most requests are rejected
+ * with a couple of string comparisons, before any path parsing.</p>
+ */
+@Component
+public class PublicEndpoints implements RequestMatcher {
+
+    // A null method means any method
+    private static final List<Route> ROUTES = List.of(
+            route(null, "/actuator/health"),
+            route(null, "/v3/api-docs/**"),
+            route(null, "/swagger-ui/**"),
+            route(null, "/swagger-ui.html"),
+            route(HttpMethod.POST, "/api/organizations"),
+            route(HttpMethod.GET, "/api/organizations/*/exists"),
+            route(HttpMethod.POST, "/api/organizations/exists")
+    );
+
+    private final Map<String, List<Route>> literalRoutes = new HashMap<>();
+    private final Route[] patternRoutes;
+
+    public PublicEndpoints() {
+        PathPatternParser parser = new PathPatternParser();
+        List<Route> patterns = new ArrayList<>();
+        for (Route route : ROUTES) {
+            PathPattern compiled = parser.parse(route.pattern);
+            if (compiled.hasPatternSyntax()) {
+                patterns.add(route.compile(compiled));
+            } else {
+                literalRoutes.computeIfAbsent(route.pattern, path -> new ArrayList<>()).add(route);
+            }
+        }
+        this.patternRoutes = patterns.toArray(new Route[0]);
+    }
+
+    @Override
+    public boolean matches(HttpServletRequest request) {
+        return matches(request.getMethod(), pathWithinApplication(request));
+    }
+
+    public boolean matches(String method, String path) {
+        List<Route> literal = literalRoutes.get(path);
+        if (literal != null) {
+            for (Route route : literal) {
+                if (route.allows(method)) {
+                    return true;
+                }
+            }
+        }
+
+        PathContainer container = null;
+        for (Route route : patternRoutes) {
+            if (!route.allows(method) || !path.startsWith(route.prefix) || !path.endsWith(route.suffix)) {
+                continue;
+            }
+            if (container == null) {
+                container = PathContainer.parsePath(path);
+            }
+            if (route.compiled.matches(container)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static String pathWithinApplication(HttpServletRequest request) {
+        String uri = request.getRequestURI();
+        String contextPath = request.getContextPath();
+        return contextPath.isEmpty() ? uri : uri.substring(contextPath.length());
+    }
+
+    private static Route route(HttpMethod method, String pattern) {
+        return new Route(method != null ? method.name() : null, pattern, null, null, null);
+    }
+
+    private static final class Route {
+        private final String method;
+        private final String pattern;
+        private final PathPattern compiled;
+        private final String prefix;
+        private final String suffix;
+
+        private Route(String method, String pattern, PathPattern compiled, String prefix, String suffix) {
+            this.method = method;
+            this.pattern = pattern;
+            this.compiled = compiled;
+            this.prefix = prefix;
+            this.suffix = suffix;
+        }
+
+        private Route compile(PathPattern compiled) {
+            int firstWildcard = indexOfWildcard(pattern);
+            String literalPrefix = pattern.substring(0, firstWildcard);
+            // "/docs/**" also matches "/docs", so the trailing slash can't be required
+            if (pattern.startsWith("/**", firstWildcard - 1)) {
+                literalPrefix = literalPrefix.substring(0, literalPrefix.length() - 1);
+            }
+            int lastWildcard = Math.max(Math.max(pattern.lastIndexOf('*'), pattern.lastIndexOf('}')), pattern.lastIndexOf('?'));
+            String literalSuffix = pattern.substring(lastWildcard + 1);
+            return new Route(method, pattern, compiled, literalPrefix, literalSuffix);
+        }
+
+        private boolean allows(String requestMethod) {
+            return method == null || method.equals(requestMethod);
+        }
+
+        private static int indexOfWildcard(String pattern) {
+            for (int i = 0; i < pattern.length(); i++) {
+                char c = pattern.charAt(i);
+                if (c == '*' || c == '{' || c == '?') {
+                    return i;
+                }
+            }
+            return pattern.length();
+        }
+    }
+}
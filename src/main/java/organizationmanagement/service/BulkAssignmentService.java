@@ -0,0 +1,185 @@
+package organizationmanagement.service;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import organizationmanagement.client.ExistenceCache;
+import organizationmanagement.dto.BulkAssignmentResultDTO;
+import organizationmanagement.dto.BulkAssignmentResultDTO.Item;
+import organizationmanagement.dto.BulkAssignmentResultDTO.Status;
+import organizationmanagement.exception.BadRequestException;
+import organizationmanagement.exception.ResourceNotFoundException;
+import organizationmanagement.repository.DepartmentRepository;
+import organizationmanagement.repository.MembershipJdbcRepository;
+import organizationmanagement.repository.MembershipTable;
+import organizationmanagement.repository.TeamRepository;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.function.Function;
+
+/**
+ * Assigns many users or surveys to one team or department in a single call.
+ *
+ * <p>IDs that are already members are filtered out with one set query before anything remote
+ * happens. The rest are verified against the user/survey service through {@link ExistenceCache},
+ * whose misses go out as batch calls, outside any transaction; the verified IDs are then written
+ * with JDBC batch inserts in one short transaction.</p>
+ */
+@Slf4j
+@Service
+public class BulkAssignmentService {
+
+    private final TeamRepository teamRepository;
+    private final DepartmentRepository departmentRepository;
+    private final MembershipJdbcRepository membershipJdbcRepository;
+    private final ExistenceCache existenceCache;
+    private final OrganizationVersions organizationVersions;
+    private final TransactionTemplate transactionTemplate;
+    private final int maxIds;
+
+    public BulkAssignmentService(TeamRepository teamRepository,
+                                 DepartmentRepository departmentRepository,
+                                 MembershipJdbcRepository membershipJdbcRepository,
+                                 ExistenceCache existenceCache,
+                                 OrganizationVersions organizationVersions,
+                                 PlatformTransactionManager transactionManager,
+                                 @Value("${bulk-assignment.max-ids:10000}") int maxIds) {
+        this.teamRepository = teamRepository;
+        this.departmentRepository = departmentRepository;
+        this.membershipJdbcRepository = membershipJdbcRepository;
+        this.existenceCache = existenceCache;
+        this.organizationVersions = organizationVersions;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.maxIds = maxIds;
+    }
+
+    public BulkAssignmentResultDTO assignUsersToTeam(UUID teamId, List<UUID> userIds, UUID organizationId) {
+        requireTeamInOrganization(teamId, organizationId);
+        return assign(organizationId, MembershipTable.TEAM_USERS, teamId, userIds, existenceCache::userExistsAsync);
+    }
+
+    public BulkAssignmentResultDTO assignSurveysToTeam(UUID teamId, List<UUID> surveyIds, UUID organizationId) {
+        requireTeamInOrganization(teamId, organizationId);
+        return assign(organizationId, MembershipTable.TEAM_SURVEYS, teamId, surveyIds, existenceCache::surveyExistsAsync);
+    }
+
+    public BulkAssignmentResultDTO assignUsersToDepartment(UUID departmentId, List<UUID> userIds, UUID organizationId) {
+        requireDepartmentInOrganization(departmentId, organizationId);
+        return assign(organizationId, MembershipTable.DEPARTMENT_USERS, departmentId, userIds, existenceCache::userExistsAsync);
+    }
+
+    public BulkAssignmentResultDTO assignSurveysToDepartment(UUID departmentId, List<UUID> surveyIds, UUID organizationId) {
+        requireDepartmentInOrganization(departmentId, organizationId);
+        return assign(organizationId, MembershipTable.DEPARTMENT_SURVEYS, departmentId, surveyIds, existenceCache::surveyExistsAsync);
+    }
+
+    private BulkAssignmentResultDTO assign(UUID organizationId, MembershipTable membership, UUID groupId, List<UUID> ids,
+                                           Function<UUID, CompletableFuture<Boolean>> exists) {
+        if (ids == null || ids.isEmpty()) {
+            throw new BadRequestException("At least one ID is required");
+        }
+        if (ids.size() > maxIds) {
+            throw new BadRequestException("At most " + maxIds + " IDs can be assigned per request");
+        }
+        if (ids.stream().anyMatch(Objects::isNull)) {
+            throw new BadRequestException("IDs must not be null");
+        }
+
+        Map<UUID, Status> statuses = new HashMap<>();
+        List<UUID> distinct = new ArrayList<>(new LinkedHashSet<>(ids));
+
+        // Members already in the group need no remote check
+        Set<UUID> alreadyAssigned = membershipJdbcRepository.findAssigned(membership, groupId, distinct);
+        alreadyAssigned.forEach(id -> statuses.put(id, Status.ALREADY_ASSIGNED));
+        List<UUID> candidates = distinct.stream().filter(id -> !alreadyAssigned.contains(id)).toList();
+
+        Map<UUID, Status> verification = verify(candidates, exists);
+        statuses.putAll(verification);
+        List<UUID> verified = candidates.stream().filter(id -> verification.get(id) == null).toList();
+
+        if (!verified.isEmpty()) {
+            Set<UUID> inserted = transactionTemplate.execute(status -> {
+                Set<UUID> rows = membershipJdbcRepository.insert(membership, groupId, verified);
+                if (!rows.isEmpty()) {
+                    organizationVersions.bump(organizationId);
+                }
+                return rows;
+            });
+            for (UUID id : verified) {
+                // Not inserted means a concurrent request assigned it in the meantime
+                statuses.put(id, inserted.contains(id) ? Status.ASSIGNED : Status.ALREADY_ASSIGNED);
+            }
+        }
+
+        return report(ids, statuses);
+    }
+
+    /**
+     * Check the IDs against the remote service. All lookups are started at once so that cache
+     * misses are coalesced into batch calls, then collected one by one.
+     *
+     * @return the failure status of every ID that must not be written; verified IDs are absent
+     */
+    private static Map<UUID, Status> verify(List<UUID> ids, Function<UUID, CompletableFuture<Boolean>> exists) {
+        Map<UUID, CompletableFuture<Boolean>> lookups = new LinkedHashMap<>();
+        ids.forEach(id -> lookups.put(id, exists.apply(id)));
+
+        Map<UUID, Status> failures = new HashMap<>();
+        lookups.forEach((id, lookup) -> {
+            try {
+                if (!lookup.join()) {
+                    failures.put(id, Status.NOT_FOUND);
+                }
+            } catch (CompletionException e) {
+                log.warn("Existence check failed for {}: {}", id, e.getCause().getMessage());
+                failures.put(id, Status.VERIFICATION_FAILED);
+            }
+        });
+        return failures;
+    }
+
+    private static BulkAssignmentResultDTO report(List<UUID> ids, Map<UUID, Status> statuses) {
+        List<Item> items = new ArrayList<>(ids.size());
+        Set<UUID> seen = new HashSet<>();
+        int assigned = 0;
+        for (UUID id : ids) {
+            if (!seen.add(id)) {
+                items.add(new Item(id, Status.DUPLICATE_IN_REQUEST));
+                continue;
+            }
+            Status status = statuses.get(id);
+            if (status == Status.ASSIGNED) {
+                assigned++;
+            }
+            items.add(new Item(id, status));
+        }
+        return new BulkAssignmentResultDTO(ids.size(), assigned, items);
+    }
+
+    private void requireTeamInOrganization(UUID teamId, UUID organizationId) {
+        if (!teamRepository.existsByIdAndDepartmentOrganizationId(teamId, organizationId)) {
+            throw new ResourceNotFoundException(
+                    "Team not found with id " + teamId + " in organization " + organizationId);
+        }
+    }
+
+    private void requireDepartmentInOrganization(UUID departmentId, UUID organizationId) {
+        if (!departmentRepository.existsByIdAndOrganizationId(departmentId, organizationId)) {
+            throw new ResourceNotFoundException(
+                    "Department not found with id " + departmentId + " in organization " + organizationId);
+        }
+    }
+}
@@ -1,16 +1,18 @@
 package organizationmanagement.service;
 
-import organizationmanagement.client.SurveyServiceClient;
-import organizationmanagement.client.UserServiceClient;
+import organizationmanagement.client.ExistenceCache;
 import organizationmanagement.exception.BadRequestException;
 import organizationmanagement.exception.ResourceNotFoundException;
 import organizationmanagement.model.Department;
 import organizationmanagement.model.Organization;
 import organizationmanagement.repository.DepartmentRepository;
 import organizationmanagement.repository.OrganizationRepository;
+import organizationmanagement.utils.KeysetPage;
+import organizationmanagement.utils.PageCursor;
 import lombok.RequiredArgsConstructor;
-import org.springframework.http.ResponseEntity;
+import org.springframework.data.domain.Limit;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
 import java.util.List;
 import java.util.UUID;
@@ -21,23 +23,51 @@ public class DepartmentService {
 
     private final DepartmentRepository departmentRepository;
     private final OrganizationRepository organizationRepository;
-    private final UserServiceClient userServiceClient;
-    private final SurveyServiceClient surveyServiceClient;
+    private final ExistenceCache existenceCache;
+    private final OrganizationVersions organizationVersions;
+    private final OptimisticLockRetry optimisticLockRetry;
 
     public List<Department> getAll() {
         return departmentRepository.findAll();
     }
 
+    /**
+     * One page of departments ordered by (name, id), starting after {@code after} (null for the first page)
+     */
+    public KeysetPage<Department> getPage(PageCursor after, int size) {
+        List<Department> rows = after == null
+                ? departmentRepository.findFirstPage(Limit.of(size + 1))
+                : after.rowsAfter(size + 1,
+                        (cursor, limit) -> departmentRepository.findPageAfter(cursor.getName(), cursor.getId(), limit),
+                        departmentRepository::findNamelessPageAfter);
+        return KeysetPage.of(rows, size, DepartmentService::cursorOf);
+    }
+
+    public KeysetPage<Department> getPageByOrganization(UUID organizationId, PageCursor after, int size) {
+        List<Department> rows = after == null
+                ? departmentRepository.findFirstPageByOrganizationId(organizationId, Limit.of(size + 1))
+                : after.rowsAfter(size + 1,
+                        (cursor, limit) -> departmentRepository.findPageByOrganizationIdAfter(
+                                organizationId, cursor.getName(), cursor.getId(), limit),
+                        (id, limit) -> departmentRepository.findNamelessPageByOrganizationIdAfter(organizationId, id, limit));
+        return KeysetPage.of(rows, size, DepartmentService::cursorOf);
+    }
+
+    private static PageCursor cursorOf(Department department) {
+        return new PageCursor(department.getName(), department.getId());
+    }
+
     public Department getById(UUID id) {
         return departmentRepository.findById(id)
                 .orElseThrow(() -> new ResourceNotFoundException("Department not found with id " + id));
     }
 
+    @Transactional
     public void delete(UUID id) {
-        if (!departmentRepository.existsById(id)) {
-            throw new ResourceNotFoundException("Department not found with id " + id);
-        }
-        departmentRepository.deleteById(id);
+        Department department = departmentRepository.findById(id)
+                .orElseThrow(() -> new ResourceNotFoundException("Department not found with id " + id));
+        departmentRepository.delete(department);
+        bumpOrganizationVersion(department);
     }
 
     public List<Department> getByOrganizationId(UUID organizationId) {
@@ -56,13 +86,16 @@ public class DepartmentService {
     }
 
     // New method for organization-scoped deletion
+    @Transactional
     public void deleteByIdAndOrganization(UUID id, UUID organizationId) {
         Department department = departmentRepository.findByIdAndOrganizationId(id, organizationId)
                 .orElseThrow(() -> new ResourceNotFoundException("Department not found with id " + id + " in organization " + organizationId));
 
         departmentRepository.delete(department);
+        organizationVersions.bump(organizationId);
     }
 
+    @Transactional
     public Department createUnderOrganization(UUID orgId, Department dept) {
         validateDepartmentName(dept.getName());
 
@@ -75,17 +108,42 @@ public class DepartmentService {
         }
 
         dept.setOrganization(org);
-        return departmentRepository.save(dept);
+        Department saved = departmentRepository.save(dept);
+        organizationVersions.bump(orgId);
+        return saved;
     }
 
+    /**
+     * Apply the name and organization of {@code dept} to the current department row. The rest of
+     * {@code dept} (memberships, teams) is ignored, so a stale copy can't overwrite them.
+     */
     public Department update(Department dept) {
         validateDepartmentName(dept.getName());
 
-        if (dept.getId() == null || !departmentRepository.existsById(dept.getId())) {
-            throw new ResourceNotFoundException("Cannot update department. Department not found with id " + dept.getId());
-        }
+        return optimisticLockRetry.run("update department " + dept.getId(), () -> {
+            Department current = dept.getId() == null ? null : departmentRepository.findById(dept.getId()).orElse(null);
+            if (current == null) {
+                throw new ResourceNotFoundException("Cannot update department. Department not found with id " + dept.getId());
+            }
+
+            Organization previousOrganization = current.getOrganization();
+            current.setName(dept.getName());
+            current.setOrganization(dept.getOrganization());
+
+            Department saved = departmentRepository.save(current);
+            // The department may have moved to another organization; both have changed
+            if (previousOrganization != null) {
+                organizationVersions.bump(previousOrganization.getId());
+            }
+            bumpOrganizationVersion(saved);
+            return saved;
+        });
+    }
 
-        return departmentRepository.save(dept);
+    private void bumpOrganizationVersion(Department department) {
+        if (department.getOrganization() != null) {
+            organizationVersions.bump(department.getOrganization().getId());
+        }
     }
 
     private void validateDepartmentName(String name) {
@@ -98,48 +156,37 @@ public class DepartmentService {
         }
     }
 
-    // Organization-scoped versions of assignment methods
+    // Organization-scoped versions of assignment methods.
+    // Each one is a single-row INSERT/DELETE; the membership collection is never loaded.
+    // None of them is transactional: remote checks run first, and each write is one short
+    // transaction with its organization version bump, so no connection is held across a remote call.
 
     public void assignUserToDepartmentInOrganization(UUID departmentId, UUID userId, UUID organizationId) {
-        Department department = departmentRepository.findByIdAndOrganizationId(departmentId, organizationId)
-                .orElseThrow(() -> new ResourceNotFoundException(
-                        "Department not found with id " + departmentId + " in organization " + organizationId));
+        requireDepartmentInOrganization(departmentId, organizationId);
 
-        // Verify user exists using Feign client
-        ResponseEntity<Boolean> userExistsResponse = userServiceClient.userExists(userId);
-        if (userExistsResponse.getBody() == null || !userExistsResponse.getBody()) {
+        // Verify user exists (cached Feign call)
+        if (!existenceCache.userExists(userId)) {
             throw new ResourceNotFoundException("User not found with id: " + userId);
         }
 
-        // Check if user is already assigned
-        if (department.getUserIds().contains(userId)) {
+        if (organizationVersions.bumpIfChanged(organizationId, () -> departmentRepository.insertUser(departmentId, userId)) == 0) {
             throw new BadRequestException("User is already assigned to this department");
         }
-
-        department.getUserIds().add(userId);
-        departmentRepository.save(department);
     }
 
     public void removeUserFromDepartmentInOrganization(UUID departmentId, UUID userId, UUID organizationId) {
-        Department department = departmentRepository.findByIdAndOrganizationId(departmentId, organizationId)
-                .orElseThrow(() -> new ResourceNotFoundException(
-                        "Department not found with id " + departmentId + " in organization " + organizationId));
+        requireDepartmentInOrganization(departmentId, organizationId);
 
-        if (!department.getUserIds().contains(userId)) {
+        if (organizationVersions.bumpIfChanged(organizationId, () -> departmentRepository.deleteUser(departmentId, userId)) == 0) {
             throw new BadRequestException("User is not assigned to this department");
         }
-
-        department.getUserIds().remove(userId);
-        departmentRepository.save(department);
     }
+
     public void assignSurveyToDepartmentInOrganization(UUID departmentId, UUID surveyId, UUID organizationId) {
-        Department department = departmentRepository.findByIdAndOrganizationId(departmentId, organizationId)
-                .orElseThrow(() -> new ResourceNotFoundException(
-                        "Department not found with id " + departmentId + " in organization " + organizationId));
+        requireDepartmentInOrganization(departmentId, organizationId);
 
-        // Verify survey exists using Feign client
-        ResponseEntity<Boolean> surveyExistsResponse = surveyServiceClient.surveyExists(surveyId);
-        if (surveyExistsResponse.getBody() == null || !surveyExistsResponse.getBody()) {
+        // Verify survey exists (cached Feign call)
+        if (!existenceCache.surveyExists(surveyId)) {
             throw new ResourceNotFoundException("Survey not found with id: " + surveyId);
         }
 
@@ -151,25 +198,23 @@ public class DepartmentService {
     }
     */
 
-        // Check if survey is already assigned
-        if (department.getSurveyIds().contains(surveyId)) {
+        if (organizationVersions.bumpIfChanged(organizationId, () -> departmentRepository.insertSurvey(departmentId, surveyId)) == 0) {
             throw new BadRequestException("Survey is already assigned to this department");
         }
-
-        department.getSurveyIds().add(surveyId);
-        departmentRepository.save(department);
     }
 
     public void removeSurveyFromDepartmentInOrganization(UUID departmentId, UUID surveyId, UUID organizationId) {
-        Department department = departmentRepository.findByIdAndOrganizationId(departmentId, organizationId)
-                .orElseThrow(() -> new ResourceNotFoundException(
-                        "Department not found with id " + departmentId + " in organization " + organizationId));
+        requireDepartmentInOrganization(departmentId, organizationId);
 
-        if (!department.getSurveyIds().contains(surveyId)) {
+        if (organizationVersions.bumpIfChanged(organizationId, () -> departmentRepository.deleteSurvey(departmentId, surveyId)) == 0) {
             throw new BadRequestException("Survey is not assigned to this department");
         }
+    }
 
-        department.getSurveyIds().remove(surveyId);
-        departmentRepository.save(department);
+    private void requireDepartmentInOrganization(UUID departmentId, UUID organizationId) {
+        if (!departmentRepository.existsByIdAndOrganizationId(departmentId, organizationId)) {
+            throw new ResourceNotFoundException(
+                    "Department not found with id " + departmentId + " in organization " + organizationId);
+        }
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,75 @@
+package organizationmanagement.service;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import organizationmanagement.exception.ConflictException;
+
+import java.time.Duration;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.function.Supplier;
+
+/**
+ * Bounded retry for read-modify-write updates of versioned entities (Department, Team).
+ *
+ * <p>Their {@code @Version} is checked and incremented by every update of the entity itself.
+ * Membership rows (users and surveys) are written directly, without loading the entity, so
+ * assignments neither bump the version nor conflict with a concurrent rename.</p>
+ *
+ * <p>The update passed to {@link #run} must read the entity itself, so that every attempt starts
+ * from the current row. Each attempt is one transaction, so the save and the organization
+ * {@link OrganizationVersions version} bump made with it commit together. When the save finds the
+ * version changed underneath it, the update is run again after a short random pause, up to
+ * {@code max-attempts} times in all; after that the conflict is reported as a
+ * {@link ConflictException} (409).</p>
+ */
+@Slf4j
+@Component
+public class OptimisticLockRetry {
+
+    private final int maxAttempts;
+    private final Duration backoff;
+    private final TransactionTemplate transactionTemplate;
+
+    public OptimisticLockRetry(@Value("${optimistic-lock.max-attempts:5}") int maxAttempts,
+                               @Value("${optimistic-lock.backoff:20ms}") Duration backoff,
+                               PlatformTransactionManager transactionManager) {
+        this.maxAttempts = Math.max(1, maxAttempts);
+        this.backoff = backoff;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+    }
+
+    public <T> T run(String description, Supplier<T> update) {
+        for (int attempt = 1; ; attempt++) {
+            try {
+                return transactionTemplate.execute(status -> update.get());
+            } catch (OptimisticLockingFailureException e) {
+                if (attempt >= maxAttempts) {
+                    throw new ConflictException("Could not " + description + " after " + attempt
+                            + " attempts: it was changed concurrently each time. Please retry.", e);
+                }
+                log.debug("Optimistic lock conflict on attempt {} to {}, retrying", attempt, description);
+                pause(attempt);
+            }
+        }
+    }
+
+    /**
+     * Random pause growing with the attempt, so that writers that collided don't collide again
+     */
+    private void pause(int attempt) {
+        long bound = backoff.toMillis() * attempt;
+        if (bound <= 0) {
+            return;
+        }
+        try {
+            Thread.sleep(ThreadLocalRandom.current().nextLong(bound + 1));
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new ConflictException("Interrupted while retrying a concurrent update", e);
+        }
+    }
+}
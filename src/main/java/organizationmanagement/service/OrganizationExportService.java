@@ -0,0 +1,135 @@
+package organizationmanagement.service;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import organizationmanagement.dto.DepartmentSummary;
+import organizationmanagement.dto.MembershipSummary;
+import organizationmanagement.dto.TeamSummary;
+import organizationmanagement.exception.ResourceNotFoundException;
+import organizationmanagement.model.Organization;
+import organizationmanagement.repository.DepartmentRepository;
+import organizationmanagement.repository.OrganizationRepository;
+import organizationmanagement.repository.TeamRepository;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.util.UUID;
+import java.util.stream.Stream;
+
+/**
+ * Writes a whole organization tree as NDJSON: one self-describing JSON object per line
+ * (organization, then departments, teams and their memberships).
+ *
+ * <p>Rows are read through cursor-backed repository streams and written as they arrive, so
+ * memory stays flat regardless of the organization's size and the first line goes out
+ * before the last row has been read.</p>
+ */
+@Service
+@RequiredArgsConstructor
+public class OrganizationExportService {
+
+    // Flush the generator every this many lines so the client sees progress on large exports
+    private static final int FLUSH_EVERY = 1000;
+
+    private final OrganizationRepository organizationRepository;
+    private final DepartmentRepository departmentRepository;
+    private final TeamRepository teamRepository;
+    private final ObjectMapper objectMapper;
+
+    @Transactional(readOnly = true)
+    public void writeNdjson(UUID organizationId, OutputStream out) throws IOException {
+        Organization organization = organizationRepository.findById(organizationId)
+                .orElseThrow(() -> new ResourceNotFoundException("Organization not found with id " + organizationId));
+
+        try (JsonGenerator json = objectMapper.getFactory().createGenerator(out)) {
+            // The servlet owns the response stream
+            json.disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+            // Lines are terminated explicitly instead of Jackson's default space between root values
+            json.setRootValueSeparator(null);
+            LineWriter lines = new LineWriter(json);
+
+            lines.start("organization");
+            json.writeStringField("id", organization.getId().toString());
+            json.writeStringField("name", organization.getName());
+            lines.end();
+            json.flush();
+
+            try (Stream<DepartmentSummary> departments = departmentRepository.streamSummariesByOrganizationId(organizationId)) {
+                departments.forEach(department -> lines.write(() -> {
+                    lines.start("department");
+                    json.writeStringField("id", department.getId().toString());
+                    json.writeStringField("name", department.getName());
+                }));
+            }
+            try (Stream<TeamSummary> teams = teamRepository.streamSummariesByOrganizationId(organizationId)) {
+                teams.forEach(team -> lines.write(() -> {
+                    lines.start("team");
+                    json.writeStringField("id", team.getId().toString());
+                    json.writeStringField("name", team.getName());
+                    json.writeStringField("departmentId", team.getDepartmentId().toString());
+                }));
+            }
+
+            try (Stream<MembershipSummary> rows = departmentRepository.streamUserMembershipsByOrganizationId(organizationId)) {
+                rows.forEach(row -> lines.membership("department_user", "departmentId", "userId", row));
+            }
+            try (Stream<MembershipSummary> rows = departmentRepository.streamSurveyMembershipsByOrganizationId(organizationId)) {
+                rows.forEach(row -> lines.membership("department_survey", "departmentId", "surveyId", row));
+            }
+            try (Stream<MembershipSummary> rows = teamRepository.streamUserMembershipsByOrganizationId(organizationId)) {
+                rows.forEach(row -> lines.membership("team_user", "teamId", "userId", row));
+            }
+            try (Stream<MembershipSummary> rows = teamRepository.streamSurveyMembershipsByOrganizationId(organizationId)) {
+                rows.forEach(row -> lines.membership("team_survey", "teamId", "surveyId", row));
+            }
+        }
+    }
+
+    private interface LineBody {
+        void write() throws IOException;
+    }
+
+    private static final class LineWriter {
+        private final JsonGenerator json;
+        private int written;
+
+        private LineWriter(JsonGenerator json) {
+            this.json = json;
+        }
+
+        private void start(String type) throws IOException {
+            json.writeStartObject();
+            json.writeStringField("type", type);
+        }
+
+        private void end() throws IOException {
+            json.writeEndObject();
+            json.writeRaw('\n');
+            if (++written % FLUSH_EVERY == 0) {
+                json.flush();
+            }
+        }
+
+        private void write(LineBody body) {
+            try {
+                body.write();
+                end();
+            } catch (IOException e) {
+                // Usually the client went away; abort the export and release the cursor
+                throw new UncheckedIOException(e);
+            }
+        }
+
+        private void membership(String type, String groupField, String memberField, MembershipSummary row) {
+            write(() -> {
+                start(type);
+                json.writeStringField(groupField, row.getGroupId().toString());
+                json.writeStringField(memberField, row.getMemberId().toString());
+            });
+        }
+    }
+}
@@ -0,0 +1,203 @@
+package organizationmanagement.service;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import organizationmanagement.repository.OrganizationRepository;
+import organizationmanagement.utils.TimeOrderedUuid;
+import organizationmanagement.utils.UuidBloomFilter;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Collection;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * The ids of all organizations, in memory, so that {@link OrganizationService#exists} can answer
+ * most calls without the database.
+ *
+ * <p>A Bloom filter holds every id: an id it has never seen is answered "no" straight away, provided
+ * the last sync can have seen it. A set of up to {@code max-exact} ids holds the ones known to
+ * exist: those are answered "yes". Anything else (a false positive of the filter, an id that didn't
+ * fit in the set, a deleted organization the filter still has, a recent id the filter may not have
+ * yet) is {@link Answer#UNKNOWN} and goes to the database.</p>
+ *
+ * <p>The index is loaded when the application is ready and rebuilt from scratch every
+ * {@code rebuild-interval}, which also drops deleted ids from the filter. Creates and deletes
+ * through this instance apply as soon as they commit. Those made through other instances are
+ * picked up every {@code sync-interval}. Organization ids are {@link TimeOrderedUuid time-ordered},
+ * so a miss for an id generated after the last sync's watermark is not trusted: a new organization
+ * is found in the database until the index has it. Ids that aren't time-ordered (organizations from
+ * before they were, or random ids) are taken to be older than any sync. A deleted organization may
+ * still be answered "yes" until the next sync.</p>
+ */
+@Slf4j
+@Component
+public class OrganizationIdIndex {
+
+    public enum Answer { PRESENT, ABSENT, UNKNOWN }
+
+    // Room to grow between rebuilds before the false positive rate goes up
+    private static final int MIN_CAPACITY = 10_000;
+    private static final int GROWTH_FACTOR = 2;
+
+    private final OrganizationRepository organizationRepository;
+    private final int maxExact;
+    private final double falsePositiveRate;
+    private final Duration syncOverlap;
+
+    // Null until loaded; replaced as a whole by every rebuild
+    private volatile Ids ids;
+    // Organizations created before this are in the index; null until the first sync
+    private volatile Instant syncedFrom;
+
+    public OrganizationIdIndex(OrganizationRepository organizationRepository,
+                               @Value("${organization-ids.max-exact:100000}") int maxExact,
+                               @Value("${organization-ids.false-positive-rate:0.01}") double falsePositiveRate,
+                               @Value("${organization-ids.sync-overlap:1m}") Duration syncOverlap) {
+        this.organizationRepository = organizationRepository;
+        this.maxExact = maxExact;
+        this.falsePositiveRate = falsePositiveRate;
+        this.syncOverlap = syncOverlap;
+    }
+
+    public Answer lookup(UUID id) {
+        Ids current = ids;
+        if (current == null) {
+            return Answer.UNKNOWN;
+        }
+        if (!current.filter.mightContain(id)) {
+            return syncedPast(id) ? Answer.ABSENT : Answer.UNKNOWN;
+        }
+        return current.exact.contains(id) ? Answer.PRESENT : Answer.UNKNOWN;
+    }
+
+    /**
+     * An organization was created; applied once the surrounding transaction, if any, commits
+     */
+    public void added(UUID id) {
+        afterCommit(() -> {
+            Ids current = ids;
+            if (current != null) {
+                current.add(id, maxExact);
+            }
+        });
+    }
+
+    /**
+     * An organization was deleted; applied once the surrounding transaction, if any, commits
+     */
+    public void removed(UUID id) {
+        afterCommit(() -> {
+            Ids current = ids;
+            if (current != null) {
+                current.exact.remove(id);
+            }
+        });
+    }
+
+    /**
+     * The database says the organization exists; remember it so the next lookup doesn't ask again
+     */
+    public void confirmed(UUID id) {
+        Ids current = ids;
+        if (current != null) {
+            current.add(id, maxExact);
+        }
+    }
+
+    /**
+     * Replace the index with exactly these ids
+     */
+    public void load(Collection<UUID> allIds) {
+        Ids loaded = new Ids(UuidBloomFilter.create(
+                Math.max(MIN_CAPACITY, (long) allIds.size() * GROWTH_FACTOR), falsePositiveRate));
+        allIds.forEach(id -> loaded.add(id, maxExact));
+        ids = loaded;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void warmUp() {
+        try {
+            rebuild();
+        } catch (RuntimeException e) {
+            // Until a later rebuild succeeds every lookup goes to the database
+            log.warn("Could not load the organization id index", e);
+        }
+    }
+
+    @Scheduled(initialDelayString = "${organization-ids.rebuild-interval:PT1H}",
+            fixedDelayString = "${organization-ids.rebuild-interval:PT1H}")
+    public synchronized void rebuild() {
+        Instant started = Instant.now();
+        Collection<UUID> allIds = organizationRepository.findAllIds();
+        load(allIds);
+        // Creates and deletes that raced with the load are caught by syncing from before it began
+        syncedFrom = started.minus(syncOverlap);
+        sync();
+        log.info("Loaded {} organization ids into the id index", allIds.size());
+    }
+
+    /**
+     * Apply organizations created or deleted since the last sync, including through other instances.
+     * Each sync reaches back {@code sync-overlap} further than strictly needed, for transactions that
+     * committed late and for clock differences with the database.
+     */
+    @Scheduled(fixedDelayString = "${organization-ids.sync-interval:PT5S}")
+    public synchronized void sync() {
+        Ids current = ids;
+        if (current == null) {
+            return;
+        }
+        Instant started = Instant.now();
+        organizationRepository.findIdsCreatedSince(syncedFrom).forEach(id -> current.add(id, maxExact));
+        organizationRepository.findIdsDeletedSince(syncedFrom).forEach(current.exact::remove);
+        syncedFrom = started.minus(syncOverlap);
+    }
+
+    /**
+     * Whether an organization with this id, if there is one, was created before the last sync's watermark
+     */
+    private boolean syncedPast(UUID id) {
+        Instant watermark = syncedFrom;
+        return TimeOrderedUuid.timestampOf(id)
+                .map(created -> watermark != null && created.isBefore(watermark))
+                .orElse(true);
+    }
+
+    private static void afterCommit(Runnable action) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            action.run();
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                action.run();
+            }
+        });
+    }
+
+    private static final class Ids {
+        private final UuidBloomFilter filter;
+        private final Set<UUID> exact = ConcurrentHashMap.newKeySet();
+
+        private Ids(UuidBloomFilter filter) {
+            this.filter = filter;
+        }
+
+        private void add(UUID id, int maxExact) {
+            filter.put(id);
+            if (exact.size() < maxExact) {
+                exact.add(id);
+            }
+        }
+    }
+}
@@ -0,0 +1,61 @@
+package organizationmanagement.service;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import organizationmanagement.repository.OrganizationPurgeRepository;
+
+import java.util.UUID;
+
+/**
+ * Removes the rows of deleted organizations in the background.
+ *
+ * <p>{@link OrganizationService#delete} only marks an organization deleted and queues it. This job
+ * then deletes its memberships, teams, departments and finally the organization row with
+ * set-based statements of at most {@code chunk-size} rows, each chunk in its own short
+ * transaction, so no lock is held for long and nothing is loaded into memory. The stage reached is
+ * recorded with every chunk; after a restart the purge picks up where it stopped.</p>
+ */
+@Slf4j
+@Component
+public class OrganizationPurger {
+
+    private final OrganizationPurgeRepository purgeRepository;
+    private final TransactionTemplate transaction;
+    private final int chunkSize;
+
+    public OrganizationPurger(OrganizationPurgeRepository purgeRepository,
+                              PlatformTransactionManager transactionManager,
+                              @Value("${organization-purge.chunk-size:5000}") int chunkSize) {
+        this.purgeRepository = purgeRepository;
+        this.transaction = new TransactionTemplate(transactionManager);
+        this.chunkSize = chunkSize;
+    }
+
+    @Scheduled(initialDelayString = "${organization-purge.initial-delay:PT30S}",
+            fixedDelayString = "${organization-purge.interval:PT30S}")
+    public void purgePending() {
+        for (UUID organizationId : purgeRepository.findPending()) {
+            try {
+                purge(organizationId);
+            } catch (RuntimeException e) {
+                // Progress so far is committed; the next run carries on from there
+                log.warn("Purge of deleted organization {} failed, will retry", organizationId, e);
+            }
+        }
+    }
+
+    /**
+     * Purge one deleted organization chunk by chunk, until it is gone or another instance holds it
+     */
+    public void purge(UUID organizationId) {
+        int chunks = 0;
+        while (Boolean.TRUE.equals(transaction.execute(status -> purgeRepository.purgeChunk(organizationId, chunkSize)))) {
+            chunks++;
+        }
+        log.info("Purged {} chunks of deleted organization {}", chunks, organizationId);
+    }
+}
@@ -1,49 +1,159 @@
 package organizationmanagement.service;
 
+import jakarta.persistence.Cache;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.engine.spi.SharedSessionContractImplementor;
 import organizationmanagement.exception.BadRequestException;
 import organizationmanagement.exception.ResourceNotFoundException;
+import organizationmanagement.model.Department;
 import organizationmanagement.model.Organization;
+import organizationmanagement.model.Team;
+import organizationmanagement.repository.DepartmentRepository;
+import organizationmanagement.repository.OrganizationPurgeRepository;
 import organizationmanagement.repository.OrganizationRepository;
-import lombok.RequiredArgsConstructor;
+import organizationmanagement.repository.QuerySpaces;
+import organizationmanagement.repository.TeamRepository;
+import organizationmanagement.utils.KeysetPage;
+import organizationmanagement.utils.PageCursor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.data.domain.Limit;
+import org.springframework.orm.jpa.EntityManagerFactoryUtils;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
 
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
 import java.util.UUID;
 import java.util.regex.Pattern;
 
 @Service
-@RequiredArgsConstructor
 public class OrganizationService {
 
     private final OrganizationRepository organizationRepository;
+    private final DepartmentRepository departmentRepository;
+    private final TeamRepository teamRepository;
+    private final OrganizationPurgeRepository organizationPurgeRepository;
+    private final OrganizationVersions organizationVersions;
+    private final OrganizationIdIndex organizationIdIndex;
+    private final EntityManagerFactory entityManagerFactory;
+    private final int existsMaxIds;
 
     private static final int NAME_MIN_LENGTH = 2;
     private static final int NAME_MAX_LENGTH = 100;
+    private static final String[] MARKED_SPACES =
+            {QuerySpaces.ORGANIZATION, QuerySpaces.DEPARTMENT, QuerySpaces.TEAM};
     private static final Pattern NAME_PATTERN = Pattern.compile("^[a-zA-Z0-9\\s\\-']+$");
 
+    public OrganizationService(OrganizationRepository organizationRepository,
+                               DepartmentRepository departmentRepository,
+                               TeamRepository teamRepository,
+                               OrganizationPurgeRepository organizationPurgeRepository,
+                               OrganizationVersions organizationVersions,
+                               OrganizationIdIndex organizationIdIndex,
+                               EntityManagerFactory entityManagerFactory,
+                               @Value("${organization-exists.max-ids:5000}") int existsMaxIds) {
+        this.organizationRepository = organizationRepository;
+        this.departmentRepository = departmentRepository;
+        this.teamRepository = teamRepository;
+        this.organizationPurgeRepository = organizationPurgeRepository;
+        this.organizationVersions = organizationVersions;
+        this.organizationIdIndex = organizationIdIndex;
+        this.entityManagerFactory = entityManagerFactory;
+        this.existsMaxIds = existsMaxIds;
+    }
+
     public List<Organization> getAll() {
         return organizationRepository.findAll();
     }
 
+    /**
+     * One page of organizations ordered by (name, id), starting after {@code after} (null for the first page)
+     */
+    public KeysetPage<Organization> getPage(PageCursor after, int size) {
+        // One extra row tells us whether there is a next page
+        List<Organization> rows = after == null
+                ? organizationRepository.findFirstPage(Limit.of(size + 1))
+                : after.rowsAfter(size + 1,
+                        (cursor, limit) -> organizationRepository.findPageAfter(cursor.getName(), cursor.getId(), limit),
+                        organizationRepository::findNamelessPageAfter);
+        return KeysetPage.of(rows, size, org -> new PageCursor(org.getName(), org.getId()));
+    }
+
 
     public Organization create(Organization org) {
         validateOrganization(org);
 
         String normalizedName = org.getName().trim();
 
-        boolean exists = organizationRepository.findAll().stream()
-                .anyMatch(existingOrg -> existingOrg.getName() != null &&
-                        existingOrg.getName().trim().equalsIgnoreCase(normalizedName));
-
-        if (exists) {
-            throw new BadRequestException("An organization with the name '" + org.getName().trim() + "' already exists.");
+        if (organizationRepository.existsByNormalizedName(normalizedName)) {
+            throw duplicateName(normalizedName);
         }
 
-        return organizationRepository.save(org);
+        Organization saved;
+        try {
+            saved = organizationRepository.saveAndFlush(org);
+        } catch (DataIntegrityViolationException e) {
+            // A concurrent create with the same name won the race to the unique index
+            throw duplicateName(normalizedName);
+        }
+        organizationIdIndex.added(saved.getId());
+        return saved;
     }
 
+    /**
+     * Answered from the {@link OrganizationIdIndex} where it can. Otherwise looked up by id rather than
+     * with a count query, so the answer comes from the second-level cache.
+     */
     public boolean exists(UUID id) {
-        return organizationRepository.existsById(id);
+        OrganizationIdIndex.Answer known = organizationIdIndex.lookup(id);
+        if (known != OrganizationIdIndex.Answer.UNKNOWN) {
+            return known == OrganizationIdIndex.Answer.PRESENT;
+        }
+        boolean exists = organizationRepository.findById(id).isPresent();
+        if (exists) {
+            organizationIdIndex.confirmed(id);
+        }
+        return exists;
+    }
+
+    /**
+     * Batch form of {@link #exists}: id to exists for every requested id. Ids the index can't answer
+     * are looked up together in a single query.
+     */
+    public Map<UUID, Boolean> exists(Collection<UUID> ids) {
+        if (ids.size() > existsMaxIds) {
+            throw new BadRequestException("At most " + existsMaxIds + " IDs can be checked per request");
+        }
+        if (ids.stream().anyMatch(Objects::isNull)) {
+            throw new BadRequestException("IDs must not be null");
+        }
+
+        Map<UUID, Boolean> answers = new HashMap<>();
+        List<UUID> unknown = new ArrayList<>();
+        for (UUID id : ids) {
+            OrganizationIdIndex.Answer known = organizationIdIndex.lookup(id);
+            if (known == OrganizationIdIndex.Answer.UNKNOWN) {
+                if (answers.put(id, false) == null) {
+                    unknown.add(id);
+                }
+            } else {
+                answers.put(id, known == OrganizationIdIndex.Answer.PRESENT);
+            }
+        }
+        if (!unknown.isEmpty()) {
+            for (UUID id : organizationRepository.findExistingIds(unknown.toArray(UUID[]::new))) {
+                answers.put(id, true);
+                organizationIdIndex.confirmed(id);
+            }
+        }
+        return answers;
     }
 
     public Organization getById(UUID id) {
@@ -51,20 +161,67 @@ public class OrganizationService {
                 .orElseThrow(() -> new ResourceNotFoundException("Organization not found with id: " + id));
     }
 
+    @Transactional
     public Organization update(UUID id, Organization updatedOrg) {
         validateOrganization(updatedOrg);
 
+        String normalizedName = updatedOrg.getName().trim();
+        if (organizationRepository.existsByNormalizedNameAndIdNot(normalizedName, id)) {
+            throw duplicateName(normalizedName);
+        }
+
         Organization existing = getById(id);
-        existing.setName(updatedOrg.getName().trim());
+        existing.setName(normalizedName);
 
-        return organizationRepository.save(existing);
+        Organization saved;
+        try {
+            saved = organizationRepository.saveAndFlush(existing);
+        } catch (DataIntegrityViolationException e) {
+            throw duplicateName(normalizedName);
+        }
+        organizationVersions.bump(id);
+        return saved;
     }
 
+    /**
+     * Mark the organization and its departments and teams deleted, which hides them from every query
+     * at once, and queue the rows for {@link OrganizationPurger} to remove in the background
+     */
+    @Transactional
     public void delete(UUID id) {
-        if (!organizationRepository.existsById(id)) {
+        if (!organizationRepository.markDeleted(id)) {
             throw new ResourceNotFoundException("Cannot delete. Organization not found with id: " + id);
         }
-        organizationRepository.deleteById(id);
+        List<UUID> departmentIds = departmentRepository.markDeletedByOrganizationId(id);
+        List<UUID> teamIds = teamRepository.markDeletedByOrganizationId(id);
+        organizationPurgeRepository.schedule(id);
+        organizationVersions.bump(id);
+        organizationIdIndex.removed(id);
+        evictAfterCommit(id, departmentIds, teamIds);
+    }
+
+    /**
+     * The marks are native queries, which leave the second-level and query caches alone: drop the marked
+     * rows from their regions and invalidate the cached queries over their tables, such as the
+     * organization-scoped department and team lookups
+     */
+    private void evictAfterCommit(UUID id, List<UUID> departmentIds, List<UUID> teamIds) {
+        SharedSessionContractImplementor session = EntityManagerFactoryUtils
+                .getTransactionalEntityManager(entityManagerFactory).unwrap(SharedSessionContractImplementor.class);
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                Cache cache = entityManagerFactory.getCache();
+                cache.evict(Organization.class, id);
+                departmentIds.forEach(departmentId -> cache.evict(Department.class, departmentId));
+                teamIds.forEach(teamId -> cache.evict(Team.class, teamId));
+                session.getFactory().getCache().getTimestampsCache().invalidate(MARKED_SPACES, session);
+            }
+        });
+    }
+
+    private BadRequestException duplicateName(String name) {
+        return new BadRequestException("An organization with the name '" + name + "' already exists.");
     }
 
     private void validateOrganization(Organization org) {
@@ -0,0 +1,166 @@
+package organizationmanagement.service;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionTemplate;
+import organizationmanagement.dto.DepartmentNode;
+import organizationmanagement.dto.OrganizationSnapshot;
+import organizationmanagement.dto.TeamNode;
+import organizationmanagement.exception.ResourceNotFoundException;
+import organizationmanagement.model.Organization;
+import organizationmanagement.repository.DepartmentRepository;
+import organizationmanagement.repository.OrganizationRepository;
+import organizationmanagement.repository.TeamRepository;
+import organizationmanagement.utils.KeysetPage;
+import organizationmanagement.utils.PageCursor;
+
+import java.util.List;
+import java.util.UUID;
+import java.util.function.Function;
+
+/**
+ * Bounded cache of {@link OrganizationSnapshot}s, one per organization, for the organization-scoped
+ * read endpoints (children, department and team lists and lookups).
+ *
+ * <p>A snapshot is built on first use with three queries in one read-only transaction and then
+ * shared by every reader without locking. Every read checks the organization's stored
+ * {@link OrganizationVersions version}; the snapshot stays current until a change, made through any
+ * instance, moves it past the version the snapshot was built at. The next reader then builds a new
+ * one and swaps it in. Concurrent readers of a stale snapshot may each rebuild it, which costs no
+ * more queries than they made before there was a cache.</p>
+ *
+ * <p>The cache is bounded by weight, one unit per department or team, so a few very large
+ * organizations can't crowd out memory.</p>
+ */
+@Component
+public class OrganizationSnapshotCache implements MeterBinder {
+
+    private final OrganizationRepository organizationRepository;
+    private final DepartmentRepository departmentRepository;
+    private final TeamRepository teamRepository;
+    private final OrganizationVersions versions;
+    private final TransactionTemplate readOnlyTransaction;
+    private final Cache<UUID, OrganizationSnapshot> snapshots;
+
+    public OrganizationSnapshotCache(OrganizationRepository organizationRepository,
+                                     DepartmentRepository departmentRepository,
+                                     TeamRepository teamRepository,
+                                     OrganizationVersions versions,
+                                     PlatformTransactionManager transactionManager,
+                                     @Value("${organization-snapshot.maximum-weight:1000000}") long maximumWeight) {
+        this.organizationRepository = organizationRepository;
+        this.departmentRepository = departmentRepository;
+        this.teamRepository = teamRepository;
+        this.versions = versions;
+        this.readOnlyTransaction = new TransactionTemplate(transactionManager);
+        this.readOnlyTransaction.setReadOnly(true);
+        // The three queries see the same state of the database
+        this.readOnlyTransaction.setIsolationLevel(TransactionDefinition.ISOLATION_REPEATABLE_READ);
+        this.snapshots = Caffeine.newBuilder()
+                .maximumWeight(maximumWeight)
+                .weigher((UUID id, OrganizationSnapshot snapshot) -> 1 + snapshot.size())
+                .recordStats()
+                .build();
+    }
+
+    /**
+     * The organization's current snapshot
+     *
+     * @throws ResourceNotFoundException if the organization doesn't exist
+     */
+    public OrganizationSnapshot get(UUID organizationId) {
+        OrganizationSnapshot snapshot = snapshots.getIfPresent(organizationId);
+        if (snapshot != null && snapshot.getVersion() == versions.current(organizationId)) {
+            return snapshot;
+        }
+        OrganizationSnapshot fresh = build(organizationId);
+        // Replace the cached snapshot, unless a concurrent reader has already put in a newer one
+        snapshots.asMap().merge(organizationId, fresh,
+                (cached, built) -> cached.getVersion() >= built.getVersion() ? cached : built);
+        return fresh;
+    }
+
+    /**
+     * One page of the snapshot's departments ordered by (name, id), starting after {@code after}
+     * (null for the first page)
+     */
+    public KeysetPage<DepartmentNode> getDepartmentPage(OrganizationSnapshot snapshot, PageCursor after, int size) {
+        int from = 0;
+        if (after != null) {
+            int position = snapshot.positionOfDepartment(after.getId());
+            if (position < 0) {
+                // The cursor's department is gone; the database knows which row follows it
+                position = after.rowsAfter(1,
+                                (cursor, limit) -> departmentRepository.findPageByOrganizationIdAfter(
+                                        snapshot.getId(), cursor.getName(), cursor.getId(), limit),
+                                (id, limit) -> departmentRepository.findNamelessPageByOrganizationIdAfter(
+                                        snapshot.getId(), id, limit)).stream()
+                        .map(department -> snapshot.positionOfDepartment(department.getId()))
+                        .filter(next -> next >= 0)
+                        .findFirst()
+                        .orElse(snapshot.getDepartments().size()) - 1;
+            }
+            from = position + 1;
+        }
+        return page(snapshot.getDepartments(), from, size,
+                department -> new PageCursor(department.getName(), department.getId()));
+    }
+
+    /**
+     * One page of the snapshot's teams ordered by (name, id), starting after {@code after}
+     * (null for the first page)
+     */
+    public KeysetPage<TeamNode> getTeamPage(OrganizationSnapshot snapshot, PageCursor after, int size) {
+        int from = 0;
+        if (after != null) {
+            int position = snapshot.positionOfTeam(after.getId());
+            if (position < 0) {
+                position = after.rowsAfter(1,
+                                (cursor, limit) -> teamRepository.findPageByOrganizationIdAfter(
+                                        snapshot.getId(), cursor.getName(), cursor.getId(), limit),
+                                (id, limit) -> teamRepository.findNamelessPageByOrganizationIdAfter(
+                                        snapshot.getId(), id, limit)).stream()
+                        .map(team -> snapshot.positionOfTeam(team.getId()))
+                        .filter(next -> next >= 0)
+                        .findFirst()
+                        .orElse(snapshot.getTeams().size()) - 1;
+            }
+            from = position + 1;
+        }
+        return page(snapshot.getTeams(), from, size, team -> new PageCursor(team.getName(), team.getId()));
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        // cache.gets{result=hit|miss}, cache.evictions, cache.size, tagged cache=organization.snapshots
+        CaffeineCacheMetrics.monitor(registry, snapshots, "organization.snapshots");
+    }
+
+    private OrganizationSnapshot build(UUID organizationId) {
+        return readOnlyTransaction.execute(status -> {
+            // Read in the same transaction as the rows, so the snapshot is labelled with the version it shows
+            long version = versions.current(organizationId);
+            Organization organization = organizationRepository.findById(organizationId)
+                    .orElseThrow(() -> new ResourceNotFoundException("Organization not found with id: " + organizationId));
+            return new OrganizationSnapshot(version, organization.getId(), organization.getName(),
+                    departmentRepository.findNodesByOrganizationId(organizationId),
+                    teamRepository.findNodesByOrganizationId(organizationId));
+        });
+    }
+
+    /**
+     * Up to {@code size + 1} rows from {@code from}, so that {@link KeysetPage#of} can tell whether there is a next page
+     */
+    private static <T> KeysetPage<T> page(List<T> rows, int from, int size, Function<T, PageCursor> cursorOf) {
+        int start = Math.max(0, Math.min(from, rows.size()));
+        int end = Math.min(rows.size(), start + size + 1);
+        return KeysetPage.of(rows.subList(start, end), size, cursorOf);
+    }
+}
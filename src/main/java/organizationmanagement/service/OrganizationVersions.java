@@ -0,0 +1,79 @@
+package organizationmanagement.service;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import organizationmanagement.exception.ResourceNotFoundException;
+
+import java.util.List;
+import java.util.UUID;
+import java.util.function.IntSupplier;
+
+/**
+ * A version number per organization, bumped by every change to the organization itself, its
+ * departments, teams or memberships. Anything derived from an organization (its
+ * {@link OrganizationSnapshotCache snapshot}, an ETag) records the version it was built at and is
+ * stale once the current version differs.
+ *
+ * <p>The version is the organization row's {@code version} column, incremented in the transaction
+ * that makes the change, so the change and its version commit together and every instance sees
+ * both at once; it also survives restarts. It isn't mapped on {@link organizationmanagement.model.Organization},
+ * so bumping it leaves the second-level and query caches alone. A bump holds the organization row's
+ * lock until the change commits, which serializes writes within one organization.</p>
+ */
+@Component
+public class OrganizationVersions {
+
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final String schema;
+
+    public OrganizationVersions(JdbcTemplate jdbcTemplate,
+                                PlatformTransactionManager transactionManager,
+                                @Value("${spring.jpa.properties.hibernate.default_schema}") String schema) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.schema = schema;
+    }
+
+    /**
+     * The organization's current version: a primary key lookup of one column
+     *
+     * @throws ResourceNotFoundException if the organization doesn't exist
+     */
+    public long current(UUID organizationId) {
+        List<Long> versions = jdbcTemplate.queryForList("SELECT version FROM " + schema + ".organization " +
+                "WHERE id = ? AND deleted_at IS NULL", Long.class, organizationId);
+        if (versions.isEmpty()) {
+            throw new ResourceNotFoundException("Organization not found with id: " + organizationId);
+        }
+        return versions.get(0);
+    }
+
+    /**
+     * Call in the transaction that changes the organization, so that the new version commits with the change
+     */
+    public void bump(UUID organizationId) {
+        if (!TransactionSynchronizationManager.isActualTransactionActive()) {
+            throw new IllegalStateException("Organization versions must be bumped in the transaction that makes the change");
+        }
+        jdbcTemplate.update("UPDATE " + schema + ".organization SET version = version + 1 WHERE id = ?", organizationId);
+    }
+
+    /**
+     * Run {@code write}, which returns the number of rows it changed, in a transaction that also bumps
+     * the organization's version if that number isn't zero
+     */
+    public int bumpIfChanged(UUID organizationId, IntSupplier write) {
+        return transactionTemplate.execute(status -> {
+            int changed = write.getAsInt();
+            if (changed > 0) {
+                bump(organizationId);
+            }
+            return changed;
+        });
+    }
+}
@@ -1,15 +1,16 @@
 package organizationmanagement.service;
 
-import organizationmanagement.client.SurveyServiceClient;
-import organizationmanagement.client.UserServiceClient;
+import organizationmanagement.client.ExistenceCache;
 import organizationmanagement.exception.*;
 import organizationmanagement.model.Department;
 import organizationmanagement.model.Team;
 import organizationmanagement.repository.DepartmentRepository;
 import organizationmanagement.repository.TeamRepository;
+import organizationmanagement.utils.KeysetPage;
+import organizationmanagement.utils.PageCursor;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
-import org.springframework.http.ResponseEntity;
+import org.springframework.data.domain.Limit;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
@@ -23,30 +24,59 @@ public class TeamService {
 
     private final TeamRepository teamRepository;
     private final DepartmentRepository departmentRepository;
-    private final UserServiceClient userServiceClient;
-    private final SurveyServiceClient surveyServiceClient;
+    private final ExistenceCache existenceCache;
+    private final OrganizationVersions organizationVersions;
+    private final OptimisticLockRetry optimisticLockRetry;
 
     // Existing methods (unchanged)
     public List<Team> getAll() {
         return teamRepository.findAll();
     }
 
+    /**
+     * One page of teams ordered by (name, id), starting after {@code after} (null for the first page)
+     */
+    public KeysetPage<Team> getPage(PageCursor after, int size) {
+        List<Team> rows = after == null
+                ? teamRepository.findFirstPage(Limit.of(size + 1))
+                : after.rowsAfter(size + 1,
+                        (cursor, limit) -> teamRepository.findPageAfter(cursor.getName(), cursor.getId(), limit),
+                        teamRepository::findNamelessPageAfter);
+        return KeysetPage.of(rows, size, TeamService::cursorOf);
+    }
+
+    public KeysetPage<Team> getPageByOrganization(UUID organizationId, PageCursor after, int size) {
+        List<Team> rows = after == null
+                ? teamRepository.findFirstPageByOrganizationId(organizationId, Limit.of(size + 1))
+                : after.rowsAfter(size + 1,
+                        (cursor, limit) -> teamRepository.findPageByOrganizationIdAfter(
+                                organizationId, cursor.getName(), cursor.getId(), limit),
+                        (id, limit) -> teamRepository.findNamelessPageByOrganizationIdAfter(organizationId, id, limit));
+        return KeysetPage.of(rows, size, TeamService::cursorOf);
+    }
+
+    private static PageCursor cursorOf(Team team) {
+        return new PageCursor(team.getName(), team.getId());
+    }
+
     public Team getById(UUID id) {
         return teamRepository.findById(id)
                 .orElseThrow(() -> new ResourceNotFoundException("Team not found with id: " + id));
     }
 
+    @Transactional
     public void delete(UUID id) {
-        if (!teamRepository.existsById(id)) {
-            throw new ResourceNotFoundException("Team not found with id: " + id);
-        }
-        teamRepository.deleteById(id);
+        Team team = teamRepository.findById(id)
+                .orElseThrow(() -> new ResourceNotFoundException("Team not found with id: " + id));
+        teamRepository.delete(team);
+        bumpOrganizationVersion(team.getDepartment());
     }
 
     public List<Team> getByDepartmentId(UUID departmentId) {
         return teamRepository.findByDepartmentId(departmentId);
     }
 
+    @Transactional
     public Team createUnderDepartment(UUID deptId, Team team) {
         validateTeamName(team.getName());
 
@@ -59,27 +89,43 @@ public class TeamService {
         }
 
         team.setDepartment(department);
-        return teamRepository.save(team);
+        Team saved = teamRepository.save(team);
+        bumpOrganizationVersion(department);
+        return saved;
     }
 
     public Team update(UUID id, UUID departmentId, Team updatedTeam) {
         validateTeamName(updatedTeam.getName());
 
-        Team existingTeam = teamRepository.findById(id)
-                .orElseThrow(() -> new ResourceNotFoundException("Team not found with id: " + id));
-
-        Department department = departmentRepository.findById(departmentId)
-                .orElseThrow(() -> new ResourceNotFoundException("Department not found with id: " + departmentId));
+        // Each attempt reads the team again; a concurrent update in between makes the save fail and retry
+        return optimisticLockRetry.run("update team " + id, () -> {
+            Team existingTeam = teamRepository.findById(id)
+                    .orElseThrow(() -> new ResourceNotFoundException("Team not found with id: " + id));
+
+            Department department = departmentRepository.findById(departmentId)
+                    .orElseThrow(() -> new ResourceNotFoundException("Department not found with id: " + departmentId));
+
+            boolean exists = teamRepository.existsByNameAndDepartmentId(updatedTeam.getName().trim(), departmentId);
+            if (exists && !existingTeam.getName().equalsIgnoreCase(updatedTeam.getName().trim())) {
+                throw new BadRequestException("A team with the name '" + updatedTeam.getName().trim() + "' already exists in this department.");
+            }
+
+            Department previousDepartment = existingTeam.getDepartment();
+            existingTeam.setName(updatedTeam.getName().trim());
+            existingTeam.setDepartment(department);
+
+            Team saved = teamRepository.save(existingTeam);
+            // The team may have moved to a department of another organization; both have changed
+            bumpOrganizationVersion(previousDepartment);
+            bumpOrganizationVersion(department);
+            return saved;
+        });
+    }
 
-        boolean exists = teamRepository.existsByNameAndDepartmentId(updatedTeam.getName().trim(), departmentId);
-        if (exists && !existingTeam.getName().equalsIgnoreCase(updatedTeam.getName().trim())) {
-            throw new BadRequestException("A team with the name '" + updatedTeam.getName().trim() + "' already exists in this department.");
+    private void bumpOrganizationVersion(Department department) {
+        if (department != null && department.getOrganization() != null) {
+            organizationVersions.bump(department.getOrganization().getId());
         }
-
-        existingTeam.setName(updatedTeam.getName().trim());
-        existingTeam.setDepartment(department);
-
-        return teamRepository.save(existingTeam);
     }
 
     // NEW: Organization-scoped methods
@@ -94,9 +140,11 @@ public class TeamService {
                         "Team not found with id: " + id + " in organization: " + organizationId));
     }
 
+    @Transactional
     public void deleteByIdAndOrganization(UUID id, UUID organizationId) {
         Team team = getByIdAndOrganization(id, organizationId);
         teamRepository.delete(team);
+        organizationVersions.bump(organizationId);
     }
 
     public List<Team> getByDepartmentIdAndOrganization(UUID departmentId, UUID organizationId) {
@@ -108,6 +156,7 @@ public class TeamService {
         return teamRepository.findByDepartmentId(departmentId);
     }
 
+    @Transactional
     public Team createUnderDepartmentInOrganization(UUID deptId, Team team, UUID organizationId) {
         validateTeamName(team.getName());
 
@@ -123,30 +172,36 @@ public class TeamService {
         }
 
         team.setDepartment(department);
-        return teamRepository.save(team);
+        Team saved = teamRepository.save(team);
+        organizationVersions.bump(organizationId);
+        return saved;
     }
 
     public Team updateInOrganization(UUID id, UUID departmentId, Team updatedTeam, UUID organizationId) {
         validateTeamName(updatedTeam.getName());
 
-        // Verify team exists in the organization
-        Team existingTeam = getByIdAndOrganization(id, organizationId);
+        return optimisticLockRetry.run("update team " + id, () -> {
+            // Verify team exists in the organization
+            Team existingTeam = getByIdAndOrganization(id, organizationId);
 
-        // Verify new department belongs to the organization
-        Department department = departmentRepository.findByIdAndOrganizationId(departmentId, organizationId)
-                .orElseThrow(() -> new ResourceNotFoundException(
-                        "Department not found with id: " + departmentId + " in organization: " + organizationId));
+            // Verify new department belongs to the organization
+            Department department = departmentRepository.findByIdAndOrganizationId(departmentId, organizationId)
+                    .orElseThrow(() -> new ResourceNotFoundException(
+                            "Department not found with id: " + departmentId + " in organization: " + organizationId));
 
-        // Check for duplicate team name within the new department
-        boolean exists = teamRepository.existsByNameAndDepartmentId(updatedTeam.getName().trim(), departmentId);
-        if (exists && !existingTeam.getName().equalsIgnoreCase(updatedTeam.getName().trim())) {
-            throw new BadRequestException("A team with the name '" + updatedTeam.getName().trim() + "' already exists in this department.");
-        }
+            // Check for duplicate team name within the new department
+            boolean exists = teamRepository.existsByNameAndDepartmentId(updatedTeam.getName().trim(), departmentId);
+            if (exists && !existingTeam.getName().equalsIgnoreCase(updatedTeam.getName().trim())) {
+                throw new BadRequestException("A team with the name '" + updatedTeam.getName().trim() + "' already exists in this department.");
+            }
 
-        existingTeam.setName(updatedTeam.getName().trim());
-        existingTeam.setDepartment(department);
+            existingTeam.setName(updatedTeam.getName().trim());
+            existingTeam.setDepartment(department);
 
-        return teamRepository.save(existingTeam);
+            Team saved = teamRepository.save(existingTeam);
+            organizationVersions.bump(organizationId);
+            return saved;
+        });
     }
 
     // Helper method for organization validation
@@ -171,56 +226,41 @@ public class TeamService {
 
     // Organization-scoped versions (also without ServiceUnavailableException)
 
-    @Transactional
+    // Membership writes are single-row INSERT/DELETE statements; the collections are never loaded.
+    // None of them is transactional: remote checks run first, and each write is one short
+    // transaction with its organization version bump, so no connection is held across a remote call.
+
     public void assignUserToTeamInOrganization(UUID teamId, UUID userId, UUID organizationId) {
-        // 1. Find team and verify it exists in the organization
-        Team team = teamRepository.findByIdAndDepartmentOrganizationId(teamId, organizationId)
-                .orElseThrow(() -> new ResourceNotFoundException(
-                        "Team not found with id " + teamId + " in organization " + organizationId));
+        // 1. Verify the team exists in the organization
+        validateOrganizationAccess(teamId, organizationId);
 
-        // 2. Verify user exists (EXACTLY like DepartmentService)
-        ResponseEntity<Boolean> userExistsResponse = userServiceClient.userExists(userId);
-        if (userExistsResponse.getBody() == null || !userExistsResponse.getBody()) {
+        // 2. Verify user exists, before any connection is taken for the write
+        if (!existenceCache.userExists(userId)) {
             throw new ResourceNotFoundException("User not found with id: " + userId);
         }
 
-        // 3. Check for existing assignment (EXACTLY like DepartmentService)
-        if (team.getUserIds().contains(userId)) {
+        // 3. Insert; a conflict on the primary key means the user was already assigned
+        if (organizationVersions.bumpIfChanged(organizationId, () -> teamRepository.insertUser(teamId, userId)) == 0) {
             throw new BadRequestException("User is already assigned to this team");
         }
-
-        // 4. Perform assignment (EXACTLY like DepartmentService)
-        team.getUserIds().add(userId);
-        teamRepository.save(team);
     }
 
-    @Transactional
     public void removeUserFromTeamInOrganization(UUID teamId, UUID userId, UUID organizationId) {
-        // 1. Find team and verify it exists in the organization
-        Team team = teamRepository.findByIdAndDepartmentOrganizationId(teamId, organizationId)
-                .orElseThrow(() -> new ResourceNotFoundException(
-                        "Team not found with id " + teamId + " in organization " + organizationId));
+        // 1. Verify the team exists in the organization
+        validateOrganizationAccess(teamId, organizationId);
 
-        // 2. Verify user is actually assigned
-        if (!team.getUserIds().contains(userId)) {
+        // 2. Delete; no row means the user wasn't assigned
+        if (organizationVersions.bumpIfChanged(organizationId, () -> teamRepository.deleteUser(teamId, userId)) == 0) {
             throw new BadRequestException("User is not assigned to this team");
         }
-
-        // 3. Perform removal
-        team.getUserIds().remove(userId);
-        teamRepository.save(team);
     }
 
-    @Transactional
     public void assignSurveyToTeamInOrganization(UUID teamId, UUID surveyId, UUID organizationId) {
-        // 1. Find team and verify it exists in the organization
-        Team team = teamRepository.findByIdAndDepartmentOrganizationId(teamId, organizationId)
-                .orElseThrow(() -> new ResourceNotFoundException(
-                        "Team not found with id " + teamId + " in organization " + organizationId));
+        // 1. Verify the team exists in the organization
+        validateOrganizationAccess(teamId, organizationId);
 
         // 2. Verify survey exists using Feign client
-        ResponseEntity<Boolean> surveyExistsResponse = surveyServiceClient.surveyExists(surveyId);
-        if (surveyExistsResponse.getBody() == null || !surveyExistsResponse.getBody()) {
+        if (!existenceCache.surveyExists(surveyId)) {
             throw new ResourceNotFoundException("Survey not found with id: " + surveyId);
         }
 
@@ -232,30 +272,19 @@ public class TeamService {
     }
     */
 
-        // 3. Check for existing assignment
-        if (team.getSurveyIds().contains(surveyId)) {
+        // 3. Insert; a conflict on the primary key means the survey was already assigned
+        if (organizationVersions.bumpIfChanged(organizationId, () -> teamRepository.insertSurvey(teamId, surveyId)) == 0) {
             throw new BadRequestException("Survey is already assigned to this team");
         }
-
-        // 4. Perform assignment
-        team.getSurveyIds().add(surveyId);
-        teamRepository.save(team);
     }
 
-    @Transactional
     public void removeSurveyFromTeamInOrganization(UUID teamId, UUID surveyId, UUID organizationId) {
-        // 1. Find team and verify it exists in the organization
-        Team team = teamRepository.findByIdAndDepartmentOrganizationId(teamId, organizationId)
-                .orElseThrow(() -> new ResourceNotFoundException(
-                        "Team not found with id " + teamId + " in organization " + organizationId));
+        // 1. Verify the team exists in the organization
+        validateOrganizationAccess(teamId, organizationId);
 
-        // 2. Verify survey is actually assigned
-        if (!team.getSurveyIds().contains(surveyId)) {
+        // 2. Delete; no row means the survey wasn't assigned
+        if (organizationVersions.bumpIfChanged(organizationId, () -> teamRepository.deleteSurvey(teamId, surveyId)) == 0) {
             throw new BadRequestException("Survey is not assigned to this team");
         }
-
-        // 3. Perform removal
-        team.getSurveyIds().remove(surveyId);
-        teamRepository.save(team);
     }
-}
\ No newline at end of file
+}
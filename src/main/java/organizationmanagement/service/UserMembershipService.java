@@ -0,0 +1,30 @@
+package organizationmanagement.service;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Service;
+import organizationmanagement.dto.UserGroupSummary;
+import organizationmanagement.repository.MembershipJdbcRepository;
+
+import java.util.List;
+import java.util.UUID;
+
+@Service
+@RequiredArgsConstructor
+public class UserMembershipService {
+
+    private final MembershipJdbcRepository membershipJdbcRepository;
+
+    /**
+     * Teams and departments of the organization that the user belongs to
+     */
+    public List<UserGroupSummary> getGroupsOfUserInOrganization(UUID userId, UUID organizationId) {
+        return membershipJdbcRepository.findGroupsOfUser(userId, organizationId);
+    }
+
+    /**
+     * Teams and departments the user belongs to across every organization (root admin only)
+     */
+    public List<UserGroupSummary> getGroupsOfUser(UUID userId) {
+        return membershipJdbcRepository.findGroupsOfUser(userId, null);
+    }
+}
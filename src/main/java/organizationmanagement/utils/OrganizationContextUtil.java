@@ -1,12 +1,11 @@
 package organizationmanagement.utils;
 
-import jakarta.servlet.http.HttpServletRequest;
 import org.springframework.security.core.Authentication;
 import org.springframework.security.core.GrantedAuthority;
 import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.stereotype.Component;
-import org.springframework.web.context.request.RequestContextHolder;
-import org.springframework.web.context.request.ServletRequestAttributes;
+import organizationmanagement.security.Authority;
+import organizationmanagement.security.JwtPrincipal;
 
 import java.util.Collection;
 import java.util.UUID;
@@ -14,22 +13,16 @@ import java.util.UUID;
 @Component
 public class OrganizationContextUtil {
 
-    private final JwtUtil jwtUtil;
-
-    public OrganizationContextUtil(JwtUtil jwtUtil) {
-        this.jwtUtil = jwtUtil;
-    }
-
     /**
-     * Extract organization ID from the current JWT token
+     * Extract organization ID from the principal the JWT filter verified for this request
      */
     public UUID getCurrentOrganizationId() {
-        String token = extractTokenFromRequest();
-        if (token == null) {
+        JwtPrincipal principal = getCurrentPrincipal();
+        if (principal == null) {
             throw new SecurityException("No authentication token found");
         }
 
-        UUID organizationId = jwtUtil.extractOrganizationId(token);
+        UUID organizationId = principal.getOrganizationId();
         if (organizationId == null) {
             throw new SecurityException("No organization context found in token");
         }
@@ -41,6 +34,11 @@ public class OrganizationContextUtil {
      * Check if current user is a root admin (can access all organizations)
      */
     public boolean isRootAdmin() {
+        JwtPrincipal principal = getCurrentPrincipal();
+        if (principal != null) {
+            return principal.hasAuthority(Authority.SYS_ADMIN_ROOT);
+        }
+
         Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
         if (authentication == null) {
             return false;
@@ -80,22 +78,14 @@ public class OrganizationContextUtil {
     }
 
     /**
-     * Extract JWT token from the current HTTP request
+     * Get the verified JWT principal of the current request, or null if the request is not authenticated by a token
      */
-    private String extractTokenFromRequest() {
-        ServletRequestAttributes attributes = (ServletRequestAttributes) RequestContextHolder.getRequestAttributes();
-        if (attributes == null) {
+    public JwtPrincipal getCurrentPrincipal() {
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        if (authentication == null || !(authentication.getPrincipal() instanceof JwtPrincipal principal)) {
             return null;
         }
-
-        HttpServletRequest request = attributes.getRequest();
-        String authHeader = request.getHeader("Authorization");
-
-        if (authHeader != null && authHeader.startsWith("Bearer ")) {
-            return authHeader.substring(7);
-        }
-
-        return null;
+        return principal;
     }
 
     /**
@@ -150,6 +140,11 @@ public class OrganizationContextUtil {
 
 
     public boolean hasAuthority(String authority) {
+        JwtPrincipal principal = getCurrentPrincipal();
+        if (principal != null) {
+            return principal.hasAuthority(authority);
+        }
+
         Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
         if (authentication == null) {
             return false;
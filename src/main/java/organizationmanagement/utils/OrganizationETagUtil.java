@@ -0,0 +1,39 @@
+package organizationmanagement.utils;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+import org.springframework.web.context.request.WebRequest;
+import organizationmanagement.service.OrganizationVersions;
+
+import java.util.UUID;
+
+/**
+ * Conditional GET for responses derived from one organization's departments, teams and memberships.
+ * The ETag is the organization's stored {@link OrganizationVersions version}, so it changes with every
+ * mutation, whichever instance made it, is the same on every instance and survives restarts. A
+ * matching {@code If-None-Match} is answered after reading that one column, without loading anything.
+ */
+@Component
+@RequiredArgsConstructor
+public class OrganizationETagUtil {
+
+    private final OrganizationVersions organizationVersions;
+
+    /**
+     * Strong ETag for the organization's current version. Versions are per organization, but so are
+     * the responses they tag.
+     */
+    public String eTag(UUID organizationId) {
+        return "\"" + organizationVersions.current(organizationId) + "\"";
+    }
+
+    /**
+     * Sets the ETag on the response and, if the request's {@code If-None-Match} matches it, turns the
+     * response into a 304. Call before loading anything; on true the handler returns null.
+     *
+     * @throws organizationmanagement.exception.ResourceNotFoundException if the organization doesn't exist
+     */
+    public boolean checkNotModified(UUID organizationId, WebRequest request) {
+        return request.checkNotModified(eTag(organizationId));
+    }
+}
@@ -0,0 +1,82 @@
+package organizationmanagement.utils;
+
+import org.springframework.data.domain.Limit;
+import organizationmanagement.exception.BadRequestException;
+
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.List;
+import java.util.UUID;
+import java.util.function.BiFunction;
+
+/**
+ * Position in a list ordered by {@code (name, id)}: the sort key of the last row of the previous page.
+ * Handed to clients as an opaque URL-safe token so the encoding can change without breaking them.
+ *
+ * <p>Names are nullable; rows without one sort after all the others (PostgreSQL's {@code NULLS LAST}).</p>
+ */
+public final class PageCursor {
+
+    private static final int UUID_LENGTH = 36;
+    // Stands for a null name in the token; PostgreSQL text can't contain it, so no real name is ever this
+    private static final String NULL_NAME = "\0";
+    // Sorts before every other id, to read null-named rows from the start
+    private static final UUID NIL = new UUID(0, 0);
+
+    private final String name;
+    private final UUID id;
+
+    public PageCursor(String name, UUID id) {
+        this.name = name;
+        this.id = id;
+    }
+
+    public String getName() { return name; }
+
+    public UUID getId() { return id; }
+
+    /**
+     * Up to {@code limit} rows after this cursor. A row-value comparison never matches a null name, so
+     * {@code namedAfter} only seeks among named rows; null-named rows come from {@code namelessAfter}, by
+     * id, once those run out.
+     */
+    public <T> List<T> rowsAfter(int limit, BiFunction<PageCursor, Limit, List<T>> namedAfter,
+                                 BiFunction<UUID, Limit, List<T>> namelessAfter) {
+        if (name == null) {
+            return namelessAfter.apply(id, Limit.of(limit));
+        }
+        List<T> rows = namedAfter.apply(this, Limit.of(limit));
+        if (rows.size() >= limit) {
+            return rows;
+        }
+        List<T> all = new ArrayList<>(rows);
+        all.addAll(namelessAfter.apply(NIL, Limit.of(limit - rows.size())));
+        return all;
+    }
+
+    public String encode() {
+        // The id has a fixed width, so the name needs no escaping
+        String raw = id + (name == null ? NULL_NAME : name);
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    /**
+     * Decode a token produced by {@link #encode()}; null or blank means "first page"
+     */
+    public static PageCursor decode(String token) {
+        if (token == null || token.isBlank()) {
+            return null;
+        }
+        try {
+            String raw = new String(Base64.getUrlDecoder().decode(token), StandardCharsets.UTF_8);
+            if (raw.length() < UUID_LENGTH) {
+                throw new IllegalArgumentException("cursor too short");
+            }
+            String name = raw.substring(UUID_LENGTH);
+            return new PageCursor(NULL_NAME.equals(name) ? null : name, UUID.fromString(raw.substring(0, UUID_LENGTH)));
+        } catch (IllegalArgumentException e) {
+            throw new BadRequestException("Invalid page cursor");
+        }
+    }
+}
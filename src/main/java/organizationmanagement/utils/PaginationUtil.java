@@ -0,0 +1,31 @@
+package organizationmanagement.utils;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import organizationmanagement.exception.BadRequestException;
+
+@Component
+public class PaginationUtil {
+
+    private final int defaultPageSize;
+    private final int maxPageSize;
+
+    public PaginationUtil(@Value("${pagination.default-page-size:50}") int defaultPageSize,
+                          @Value("${pagination.max-page-size:500}") int maxPageSize) {
+        this.defaultPageSize = defaultPageSize;
+        this.maxPageSize = maxPageSize;
+    }
+
+    /**
+     * Page size for a request: the default when none is given, capped at the configured maximum
+     */
+    public int resolvePageSize(Integer requested) {
+        if (requested == null) {
+            return Math.min(defaultPageSize, maxPageSize);
+        }
+        if (requested < 1) {
+            throw new BadRequestException("Page size must be at least 1");
+        }
+        return Math.min(requested, maxPageSize);
+    }
+}
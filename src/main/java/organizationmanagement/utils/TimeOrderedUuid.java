@@ -0,0 +1,39 @@
+package organizationmanagement.utils;
+
+import java.security.SecureRandom;
+import java.time.Instant;
+import java.util.Optional;
+import java.util.UUID;
+
+/**
+ * Version 7 UUIDs (RFC 9562): the first 48 bits are the creation time in Unix milliseconds, the
+ * rest random. Any such id tells when it was made, which {@code OrganizationIdIndex} uses to know
+ * whether its last sync can have seen it.
+ */
+public final class TimeOrderedUuid {
+
+    private static final SecureRandom RANDOM = new SecureRandom();
+
+    private TimeOrderedUuid() {
+    }
+
+    public static UUID generate() {
+        return generate(System.currentTimeMillis());
+    }
+
+    public static UUID generate(long epochMillis) {
+        long mostSigBits = (epochMillis << 16) | 0x7000L | (RANDOM.nextInt() & 0x0FFFL);
+        long leastSigBits = (RANDOM.nextLong() & 0x3FFFFFFFFFFFFFFFL) | 0x8000000000000000L;
+        return new UUID(mostSigBits, leastSigBits);
+    }
+
+    /**
+     * When the id was generated, or empty if it isn't a version 7 UUID (a random one, for instance)
+     */
+    public static Optional<Instant> timestampOf(UUID id) {
+        if (id.version() != 7 || id.variant() != 2) {
+            return Optional.empty();
+        }
+        return Optional.of(Instant.ofEpochMilli(id.getMostSignificantBits() >>> 16));
+    }
+}
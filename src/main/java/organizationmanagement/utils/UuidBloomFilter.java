@@ -0,0 +1,98 @@
+package organizationmanagement.utils;
+
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Fixed-size Bloom filter of UUIDs. {@link #mightContain} never misses an id that was put; it
+ * wrongly reports an id it never saw at about the false positive rate the filter was sized for,
+ * rising once more ids than expected are put into it. Ids can't be taken out again.
+ *
+ * <p>Safe for concurrent use without locking: bits are only ever set, with compare-and-set.</p>
+ */
+public final class UuidBloomFilter {
+
+    private static final double LN2 = Math.log(2);
+
+    private final AtomicLongArray words;
+    private final long bitCount;
+    private final int hashCount;
+
+    private UuidBloomFilter(long bits, int hashCount) {
+        int wordCount = Math.toIntExact((bits + Long.SIZE - 1) / Long.SIZE);
+        this.words = new AtomicLongArray(wordCount);
+        this.bitCount = (long) wordCount * Long.SIZE;
+        this.hashCount = hashCount;
+    }
+
+    /**
+     * The smallest filter that holds {@code expectedInsertions} ids at {@code falsePositiveRate}
+     */
+    public static UuidBloomFilter create(long expectedInsertions, double falsePositiveRate) {
+        if (falsePositiveRate <= 0 || falsePositiveRate >= 1) {
+            throw new IllegalArgumentException("False positive rate must be between 0 and 1: " + falsePositiveRate);
+        }
+        long n = Math.max(1, expectedInsertions);
+        long bits = Math.max(Long.SIZE, (long) Math.ceil(-n * Math.log(falsePositiveRate) / (LN2 * LN2)));
+        int hashCount = Math.max(1, (int) Math.round((double) bits / n * LN2));
+        return new UuidBloomFilter(bits, hashCount);
+    }
+
+    public void put(UUID id) {
+        long h1 = hash1(id);
+        long h2 = hash2(id);
+        for (int i = 0; i < hashCount; i++) {
+            long bit = Math.floorMod(h1 + i * h2, bitCount);
+            int word = (int) (bit >>> 6);
+            long mask = 1L << bit;
+            long current = words.get(word);
+            while ((current & mask) == 0 && !words.compareAndSet(word, current, current | mask)) {
+                current = words.get(word);
+            }
+        }
+    }
+
+    public boolean mightContain(UUID id) {
+        long h1 = hash1(id);
+        long h2 = hash2(id);
+        for (int i = 0; i < hashCount; i++) {
+            long bit = Math.floorMod(h1 + i * h2, bitCount);
+            if ((words.get((int) (bit >>> 6)) & (1L << bit)) == 0) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    public long bitCount() {
+        return bitCount;
+    }
+
+    public int hashCount() {
+        return hashCount;
+    }
+
+    // The k bit positions are h1 + i * h2 (Kirsch-Mitzenmacher); both halves of the id go into each,
+    // so ids that share one half still spread out
+
+    private static long hash1(UUID id) {
+        return mix(id.getMostSignificantBits() ^ mix(id.getLeastSignificantBits()));
+    }
+
+    private static long hash2(UUID id) {
+        // Odd, so it never collapses all k positions onto one bit
+        return mix(id.getLeastSignificantBits() ^ 0x9E3779B97F4A7C15L ^ id.getMostSignificantBits()) | 1;
+    }
+
+    /**
+     * MurmurHash3's 64-bit finalizer
+     */
+    private static long mix(long h) {
+        h ^= h >>> 33;
+        h *= 0xFF51AFD7ED558CCDL;
+        h ^= h >>> 33;
+        h *= 0xC4CEB93FE53B8A34L;
+        h ^= h >>> 33;
+        return h;
+    }
+}
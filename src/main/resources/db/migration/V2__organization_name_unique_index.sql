@@ -0,0 +1,34 @@
+-- The organization table used to be created only by Hibernate (ddl-auto), after Flyway has run.
+-- Create it here when missing so the index below can be built on a fresh database.
+CREATE TABLE IF NOT EXISTS organization (
+    id   UUID PRIMARY KEY,
+    name VARCHAR(255)
+);
+
+-- Names that already collide (differ only in case or surrounding whitespace) would make the index
+-- below fail, and with it the migration and application startup: updates never checked for
+-- duplicates and the check on create could race. In each group of colliding names the row with the
+-- lowest id keeps its name; the others get their id appended, which makes them unique, and are
+-- listed as warnings in the migration output. Give those organizations proper names afterwards.
+DO $$
+DECLARE
+    duplicate RECORD;
+BEGIN
+    FOR duplicate IN
+        SELECT id, name
+        FROM (SELECT id, name, row_number() OVER (PARTITION BY lower(trim(name)) ORDER BY id) AS position
+              FROM organization
+              WHERE name IS NOT NULL) ranked
+        WHERE position > 1
+    LOOP
+        UPDATE organization SET name = left(trim(duplicate.name), 200) || ' - ' || duplicate.id
+        WHERE id = duplicate.id;
+        RAISE WARNING 'Organization % renamed from ''%'': another organization has the same name',
+            duplicate.id, duplicate.name;
+    END LOOP;
+END $$;
+
+-- Organization names are unique ignoring case and surrounding whitespace.
+-- OrganizationRepository.existsByNormalizedName uses the same expression so it can use this index.
+CREATE UNIQUE INDEX IF NOT EXISTS ux_organization_name_normalized
+    ON organization (lower(trim(name)));
@@ -0,0 +1,38 @@
+-- Tables used to be created by Hibernate (spring.jpa.hibernate.ddl-auto=update); Flyway owns them now
+-- and Hibernate only validates. IF NOT EXISTS keeps this a no-op on databases Hibernate already populated.
+
+CREATE TABLE IF NOT EXISTS department (
+    id              UUID PRIMARY KEY,
+    name            VARCHAR(255),
+    organization_id UUID REFERENCES organization (id)
+);
+
+CREATE TABLE IF NOT EXISTS team (
+    id            UUID PRIMARY KEY,
+    name          VARCHAR(255),
+    department_id UUID REFERENCES department (id)
+);
+
+CREATE TABLE IF NOT EXISTS department_users (
+    department_id UUID NOT NULL REFERENCES department (id),
+    user_id       UUID NOT NULL,
+    PRIMARY KEY (department_id, user_id)
+);
+
+CREATE TABLE IF NOT EXISTS department_surveys (
+    department_id UUID NOT NULL REFERENCES department (id),
+    survey_id     UUID NOT NULL,
+    PRIMARY KEY (department_id, survey_id)
+);
+
+CREATE TABLE IF NOT EXISTS team_users (
+    team_id UUID NOT NULL REFERENCES team (id),
+    user_id UUID NOT NULL,
+    PRIMARY KEY (team_id, user_id)
+);
+
+CREATE TABLE IF NOT EXISTS team_surveys (
+    team_id   UUID NOT NULL REFERENCES team (id),
+    survey_id UUID NOT NULL,
+    PRIMARY KEY (team_id, survey_id)
+);
@@ -0,0 +1,15 @@
+-- Indexes for the repository lookups. Membership lookups by (team_id/department_id, member id)
+-- are already served by the primary keys of the collection tables.
+
+-- DepartmentRepository.findByOrganizationId, existsByNameAndOrganizationId[AndIdNot]
+CREATE INDEX IF NOT EXISTS ix_department_organization_name ON department (organization_id, name);
+
+-- TeamRepository.findByDepartmentId, existsByNameAndDepartmentId,
+-- and the department join behind every organization-scoped team query
+CREATE INDEX IF NOT EXISTS ix_team_department_name ON team (department_id, name);
+
+-- Reverse lookups: which teams and departments a user or survey belongs to
+CREATE INDEX IF NOT EXISTS ix_team_users_user ON team_users (user_id);
+CREATE INDEX IF NOT EXISTS ix_team_surveys_survey ON team_surveys (survey_id);
+CREATE INDEX IF NOT EXISTS ix_department_users_user ON department_users (user_id);
+CREATE INDEX IF NOT EXISTS ix_department_surveys_survey ON department_surveys (survey_id);
@@ -0,0 +1,11 @@
+-- Keyset pagination: every list endpoint is ordered by (name, id) and seeks past the last row
+-- of the previous page, so each of these orderings needs a matching btree.
+
+CREATE INDEX IF NOT EXISTS ix_organization_name_id ON organization (name, id);
+CREATE INDEX IF NOT EXISTS ix_department_name_id ON department (name, id);
+CREATE INDEX IF NOT EXISTS ix_team_name_id ON team (name, id);
+
+-- Organization-scoped department pages. The extra id column still serves every lookup
+-- ix_department_organization_name did, so that index is replaced rather than kept alongside.
+CREATE INDEX IF NOT EXISTS ix_department_organization_name_id ON department (organization_id, name, id);
+DROP INDEX IF EXISTS ix_department_organization_name;
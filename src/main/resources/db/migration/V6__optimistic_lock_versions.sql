@@ -0,0 +1,6 @@
+-- Version columns for optimistic locking (@Version on Department and Team). Every entity update
+-- checks and increments the version, so an update based on a stale read fails instead of
+-- overwriting a concurrent one. Existing rows start at 0.
+
+ALTER TABLE department ADD COLUMN IF NOT EXISTS version BIGINT NOT NULL DEFAULT 0;
+ALTER TABLE team ADD COLUMN IF NOT EXISTS version BIGINT NOT NULL DEFAULT 0;
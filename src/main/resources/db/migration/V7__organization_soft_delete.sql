@@ -0,0 +1,21 @@
+-- Deleting an organization marks it, its departments and its teams deleted (hidden from every
+-- query through @SQLRestriction) and queues it in organization_purge. OrganizationPurger then
+-- removes the rows in bounded chunks, one stage at a time, recording the stage it has reached so
+-- that it resumes there after a restart.
+
+ALTER TABLE organization ADD COLUMN IF NOT EXISTS deleted_at TIMESTAMPTZ;
+ALTER TABLE department ADD COLUMN IF NOT EXISTS deleted_at TIMESTAMPTZ;
+ALTER TABLE team ADD COLUMN IF NOT EXISTS deleted_at TIMESTAMPTZ;
+
+-- A deleted organization's name can be reused right away, while its rows are still being purged
+DROP INDEX IF EXISTS ux_organization_name_normalized;
+CREATE UNIQUE INDEX IF NOT EXISTS ux_organization_name_normalized
+    ON organization (lower(trim(name))) WHERE deleted_at IS NULL;
+
+CREATE TABLE IF NOT EXISTS organization_purge (
+    organization_id UUID PRIMARY KEY REFERENCES organization (id) ON DELETE CASCADE,
+    stage           VARCHAR(32) NOT NULL,
+    rows_purged     BIGINT      NOT NULL DEFAULT 0,
+    requested_at    TIMESTAMPTZ NOT NULL DEFAULT now(),
+    updated_at      TIMESTAMPTZ NOT NULL DEFAULT now()
+);
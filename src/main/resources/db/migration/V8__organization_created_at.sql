@@ -0,0 +1,7 @@
+-- OrganizationIdIndex keeps the ids of all organizations in memory. Every few seconds it asks for
+-- the ones created or deleted since its last look, which covers changes made through other instances.
+
+ALTER TABLE organization ADD COLUMN IF NOT EXISTS created_at TIMESTAMPTZ NOT NULL DEFAULT now();
+
+CREATE INDEX IF NOT EXISTS ix_organization_created_at ON organization (created_at);
+CREATE INDEX IF NOT EXISTS ix_organization_deleted_at ON organization (deleted_at) WHERE deleted_at IS NOT NULL;
@@ -0,0 +1,6 @@
+-- The version of an organization's departments, teams and memberships (OrganizationVersions).
+-- Every change to them increments it in the same transaction, so every instance sees the same
+-- version and snapshots and ETags built from an older one are stale everywhere at once.
+-- Existing rows start at 0.
+
+ALTER TABLE organization ADD COLUMN IF NOT EXISTS version BIGINT NOT NULL DEFAULT 0;
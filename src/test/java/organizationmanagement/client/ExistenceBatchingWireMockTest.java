@@ -0,0 +1,162 @@
+package organizationmanagement.client;
+
+import com.github.tomakehurst.wiremock.WireMockServer;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.MethodOrderer;
+import org.junit.jupiter.api.Order;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestMethodOrder;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.ImportAutoConfiguration;
+import org.springframework.boot.autoconfigure.http.HttpMessageConvertersAutoConfiguration;
+import org.springframework.boot.autoconfigure.jackson.JacksonAutoConfiguration;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.cloud.openfeign.EnableFeignClients;
+import org.springframework.cloud.openfeign.FeignAutoConfiguration;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+
+import static com.github.tomakehurst.wiremock.client.WireMock.aResponse;
+import static com.github.tomakehurst.wiremock.client.WireMock.get;
+import static com.github.tomakehurst.wiremock.client.WireMock.getRequestedFor;
+import static com.github.tomakehurst.wiremock.client.WireMock.post;
+import static com.github.tomakehurst.wiremock.client.WireMock.postRequestedFor;
+import static com.github.tomakehurst.wiremock.client.WireMock.urlMatching;
+import static com.github.tomakehurst.wiremock.client.WireMock.urlPathEqualTo;
+import static com.github.tomakehurst.wiremock.core.WireMockConfiguration.options;
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Concurrent existence lookups through the real Feign clients against a WireMock user-service
+ * whose every response takes {@value #REMOTE_LATENCY_MS} ms. The fallback test runs last because
+ * it switches batching off for the rest of the context's life.
+ */
+@SpringBootTest(classes = ExistenceBatchingWireMockTest.FeignClients.class,
+        webEnvironment = SpringBootTest.WebEnvironment.NONE,
+        properties = {"existence-batch.window=10ms", "existence-batch.max-size=50", "existence-batch.concurrency=8"})
+@TestMethodOrder(MethodOrderer.OrderAnnotation.class)
+class ExistenceBatchingWireMockTest {
+
+    private static final int REMOTE_LATENCY_MS = 20;
+    private static final int LOOKUPS = 400;
+    private static final int CALLERS = 32;
+
+    private static final WireMockServer userService = new WireMockServer(options().dynamicPort());
+
+    private static long batchedMs;
+
+    static {
+        userService.start();
+    }
+
+    @Configuration
+    @EnableFeignClients(clients = {UserServiceClient.class, SurveyServiceClient.class})
+    @ImportAutoConfiguration({FeignAutoConfiguration.class, HttpMessageConvertersAutoConfiguration.class,
+            JacksonAutoConfiguration.class})
+    @Import({ExistenceCache.class, RemoteServiceGuards.class})
+    static class FeignClients {
+    }
+
+    @DynamicPropertySource
+    static void remoteUrls(DynamicPropertyRegistry registry) {
+        registry.add("user-service.url", userService::baseUrl);
+        registry.add("survey-service.url", userService::baseUrl);
+    }
+
+    @AfterAll
+    static void stopWireMock() {
+        userService.stop();
+    }
+
+    @Autowired
+    private ExistenceCache existenceCache;
+
+    @BeforeEach
+    void reset() {
+        userService.resetAll();
+        existenceCache.evictAll();
+    }
+
+    @Test
+    @Order(1)
+    void concurrentLookupsAreSentAsBatches() throws Exception {
+        List<UUID> ids = randomIds();
+        String body = ids.stream().map(id -> "\"" + id + "\":true").collect(Collectors.joining(",", "{", "}"));
+        userService.stubFor(post(urlPathEqualTo("/api/users/exists"))
+                .willReturn(aResponse().withFixedDelay(REMOTE_LATENCY_MS)
+                        .withHeader("Content-Type", "application/json").withBody(body)));
+        // Warm up the Feign client and connection before timing
+        existenceCache.userExists(ids.get(0));
+        existenceCache.evictAll();
+        userService.resetRequests();
+
+        batchedMs = lookUpConcurrently(ids);
+
+        int batchCalls = userService.findAll(postRequestedFor(urlPathEqualTo("/api/users/exists"))).size();
+        report("batched", batchedMs, batchCalls);
+        assertThat(userService.findAll(getRequestedFor(urlMatching("/api/users/.*/exists")))).isEmpty();
+        // At most one call per (size or window) batch, never one per lookup
+        assertThat(batchCalls).isLessThanOrEqualTo(LOOKUPS / CALLERS * 4).isGreaterThanOrEqualTo(LOOKUPS / 50);
+    }
+
+    @Test
+    @Order(2)
+    void withoutABatchEndpointLookupsFallBackToSingleCalls() throws Exception {
+        userService.stubFor(post(urlPathEqualTo("/api/users/exists")).willReturn(aResponse().withStatus(404)));
+        userService.stubFor(get(urlMatching("/api/users/.*/exists"))
+                .willReturn(aResponse().withFixedDelay(REMOTE_LATENCY_MS)
+                        .withHeader("Content-Type", "application/json").withBody("true")));
+        long fallbackMs = lookUpConcurrently(randomIds());
+        report("single calls", fallbackMs, userService.findAll(getRequestedFor(urlMatching("/api/users/.*/exists"))).size());
+
+        assertThat(userService.findAll(getRequestedFor(urlMatching("/api/users/.*/exists")))).hasSize(LOOKUPS);
+        // The missing endpoint is remembered: only batches already in flight probe it
+        assertThat(userService.findAll(postRequestedFor(urlPathEqualTo("/api/users/exists"))))
+                .hasSizeLessThanOrEqualTo(CALLERS);
+
+        // Single calls pay the remote latency once per ID, so batching must win clearly
+        assertThat(batchedMs).isPositive().isLessThan(fallbackMs);
+    }
+
+    private long lookUpConcurrently(List<UUID> ids) throws Exception {
+        ExecutorService callers = Executors.newFixedThreadPool(CALLERS);
+        try {
+            long start = System.nanoTime();
+            List<Future<Boolean>> lookups = new ArrayList<>();
+            for (UUID id : ids) {
+                lookups.add(callers.submit(() -> existenceCache.userExists(id)));
+            }
+            for (Future<Boolean> lookup : lookups) {
+                assertThat(lookup.get(30, TimeUnit.SECONDS)).isTrue();
+            }
+            return TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start);
+        } finally {
+            callers.shutdownNow();
+        }
+    }
+
+    private static void report(String mode, long elapsedMs, int remoteCalls) {
+        System.out.printf("existence lookups (%s): %d in %d ms = %.0f/s over %d remote calls%n",
+                mode, LOOKUPS, elapsedMs, LOOKUPS * 1000.0 / Math.max(1, elapsedMs), remoteCalls);
+    }
+
+    private static List<UUID> randomIds() {
+        List<UUID> ids = new ArrayList<>();
+        for (int i = 0; i < LOOKUPS; i++) {
+            ids.add(UUID.randomUUID());
+        }
+        return ids;
+    }
+}
@@ -0,0 +1,110 @@
+package organizationmanagement.client;
+
+import org.junit.jupiter.api.Test;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Function;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class ExistenceCacheTest {
+
+    private static final UUID KNOWN = UUID.randomUUID();
+    private static final UUID UNKNOWN = UUID.randomUUID();
+
+    private final AtomicLong nanos = new AtomicLong();
+    private final AtomicInteger userCalls = new AtomicInteger();
+
+    private final Function<UUID, CompletableFuture<Boolean>> userService = id -> {
+        userCalls.incrementAndGet();
+        return CompletableFuture.completedFuture(id.equals(KNOWN));
+    };
+
+    private ExistenceCache cache(Function<UUID, CompletableFuture<Boolean>> users) {
+        RemoteServiceGuards guards = new RemoteServiceGuards(50, 80, Duration.ofSeconds(2), 20, 10,
+                Duration.ofSeconds(10), 3, 50);
+        return new ExistenceCache(users, id -> CompletableFuture.completedFuture(true), guards, 1000,
+                Duration.ofMinutes(10), Duration.ofSeconds(30), nanos::get, () -> { });
+    }
+
+    @Test
+    void positiveAndNegativeAnswersHaveTheirOwnTtl() {
+        ExistenceCache cache = cache(userService);
+
+        assertThat(cache.userExists(KNOWN)).isTrue();
+        assertThat(cache.userExists(UNKNOWN)).isFalse();
+        assertThat(userCalls).hasValue(2);
+
+        nanos.addAndGet(TimeUnit.SECONDS.toNanos(31));
+        cache.userExists(KNOWN);
+        cache.userExists(UNKNOWN);
+        // Only the negative answer expired
+        assertThat(userCalls).hasValue(3);
+
+        nanos.addAndGet(TimeUnit.MINUTES.toNanos(10));
+        cache.userExists(KNOWN);
+        assertThat(userCalls).hasValue(4);
+    }
+
+    @Test
+    void concurrentLookupsOfOneIdShareOneCall() throws Exception {
+        CompletableFuture<Boolean> remoteCall = new CompletableFuture<>();
+        ExistenceCache cache = cache(id -> {
+            userCalls.incrementAndGet();
+            return remoteCall;
+        });
+
+        ExecutorService pool = Executors.newFixedThreadPool(8);
+        try {
+            List<Future<Boolean>> lookups = new ArrayList<>();
+            for (int i = 0; i < 8; i++) {
+                lookups.add(pool.submit(() -> cache.userExists(KNOWN)));
+            }
+            Thread.sleep(100);
+            remoteCall.complete(true);
+            for (Future<Boolean> lookup : lookups) {
+                assertThat(lookup.get(5, TimeUnit.SECONDS)).isTrue();
+            }
+        } finally {
+            pool.shutdownNow();
+        }
+        assertThat(userCalls).hasValue(1);
+    }
+
+    @Test
+    void failedCallsAreNotCached() {
+        ExistenceCache cache = cache(id -> {
+            if (userCalls.incrementAndGet() == 1) {
+                return CompletableFuture.failedFuture(new IllegalStateException("user-service unavailable"));
+            }
+            return CompletableFuture.completedFuture(true);
+        });
+
+        assertThatThrownBy(() -> cache.userExists(KNOWN)).isInstanceOf(IllegalStateException.class);
+        assertThat(cache.userExists(KNOWN)).isTrue();
+        assertThat(userCalls).hasValue(2);
+    }
+
+    @Test
+    void evictionForcesANewCall() {
+        ExistenceCache cache = cache(userService);
+        cache.userExists(KNOWN);
+
+        cache.evictUser(KNOWN);
+        cache.userExists(KNOWN);
+        cache.evictAll();
+        cache.userExists(KNOWN);
+
+        assertThat(userCalls).hasValue(3);
+    }
+}
@@ -0,0 +1,156 @@
+package organizationmanagement.client;
+
+import com.github.tomakehurst.wiremock.WireMockServer;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.boot.autoconfigure.ImportAutoConfiguration;
+import org.springframework.boot.autoconfigure.http.HttpMessageConvertersAutoConfiguration;
+import org.springframework.boot.autoconfigure.jackson.JacksonAutoConfiguration;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.cloud.openfeign.EnableFeignClients;
+import org.springframework.cloud.openfeign.FeignAutoConfiguration;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static com.github.tomakehurst.wiremock.client.WireMock.aResponse;
+import static com.github.tomakehurst.wiremock.client.WireMock.get;
+import static com.github.tomakehurst.wiremock.client.WireMock.urlMatching;
+import static com.github.tomakehurst.wiremock.core.WireMockConfiguration.options;
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * The Feign clients run on the pooled HC5 client: connections are kept alive and reused,
+ * capped per route, evicted once idle, and visible through the pool metrics.
+ */
+@SpringBootTest(classes = FeignConnectionPoolTest.FeignClients.class,
+        webEnvironment = SpringBootTest.WebEnvironment.NONE,
+        properties = {
+                "spring.cloud.openfeign.httpclient.max-connections-per-route=" + FeignConnectionPoolTest.PER_ROUTE,
+                "feign-pool.evict-idle-after=300ms"})
+class FeignConnectionPoolTest {
+
+    static final int PER_ROUTE = 4;
+
+    private static final WireMockServer userService = new WireMockServer(options().dynamicPort());
+
+    static {
+        userService.start();
+    }
+
+    @Configuration
+    @EnableFeignClients(clients = {UserServiceClient.class, SurveyServiceClient.class})
+    @ImportAutoConfiguration({FeignAutoConfiguration.class, HttpMessageConvertersAutoConfiguration.class,
+            JacksonAutoConfiguration.class})
+    @Import(FeignHttpClientConfig.class)
+    static class FeignClients {
+    }
+
+    @DynamicPropertySource
+    static void remoteUrls(DynamicPropertyRegistry registry) {
+        registry.add("user-service.url", userService::baseUrl);
+        registry.add("survey-service.url", userService::baseUrl);
+    }
+
+    @AfterAll
+    static void stopWireMock() {
+        userService.stop();
+    }
+
+    @Autowired
+    private UserServiceClient userServiceClient;
+
+    @Autowired
+    @Qualifier("feignConnectionPoolMetrics")
+    private MeterBinder poolMetrics;
+
+    private final SimpleMeterRegistry meters = new SimpleMeterRegistry();
+
+    @BeforeEach
+    void setUp() {
+        userService.resetAll();
+        poolMetrics.bindTo(meters);
+    }
+
+    @Test
+    void sequentialCallsReuseOneKeptAliveConnectionUntilItIsIdle() throws Exception {
+        stubUserExists(0);
+        awaitIdleEviction();
+
+        for (int i = 0; i < 50; i++) {
+            assertThat(userServiceClient.userExists(UUID.randomUUID()).getBody()).isTrue();
+        }
+
+        assertThat(pooled("available")).isEqualTo(1);
+        assertThat(pooled("leased")).isZero();
+
+        awaitIdleEviction();
+        assertThat(pooled("available")).isZero();
+    }
+
+    @Test
+    void concurrentCallsAreCappedAtTheRouteLimit() throws Exception {
+        stubUserExists(200);
+        int callers = PER_ROUTE * 3;
+        ExecutorService pool = Executors.newFixedThreadPool(callers);
+        double maxLeased = 0;
+        double maxPending = 0;
+        try {
+            List<Future<Boolean>> calls = new ArrayList<>();
+            for (int i = 0; i < callers; i++) {
+                calls.add(pool.submit(() -> userServiceClient.userExists(UUID.randomUUID()).getBody()));
+            }
+            while (!calls.stream().allMatch(Future::isDone)) {
+                maxLeased = Math.max(maxLeased, pooled("leased"));
+                maxPending = Math.max(maxPending, meters.get("httpcomponents.httpclient.pool.total.pending")
+                        .tag("httpclient", "feign").gauge().value());
+                Thread.sleep(10);
+            }
+            for (Future<Boolean> call : calls) {
+                assertThat(call.get()).isTrue();
+            }
+        } finally {
+            pool.shutdownNow();
+        }
+
+        assertThat(maxLeased).isEqualTo(PER_ROUTE);
+        assertThat(maxPending).isPositive();
+        assertThat(pooled("available")).isLessThanOrEqualTo(PER_ROUTE);
+        assertThat(meters.get("httpcomponents.httpclient.pool.route.max.default").gauge().value()).isEqualTo(PER_ROUTE);
+    }
+
+    /**
+     * The idle evictor runs every evict-idle-after and closes connections idle for longer
+     */
+    private void awaitIdleEviction() throws InterruptedException {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (pooled("available") > 0 && System.nanoTime() < deadline) {
+            Thread.sleep(50);
+        }
+    }
+
+    private void stubUserExists(int delayMs) {
+        userService.stubFor(get(urlMatching("/api/users/.*/exists"))
+                .willReturn(aResponse().withFixedDelay(delayMs)
+                        .withHeader("Content-Type", "application/json").withBody("true")));
+    }
+
+    private double pooled(String state) {
+        return meters.get("httpcomponents.httpclient.pool.total.connections")
+                .tags("httpclient", "feign", "state", state).gauge().value();
+    }
+}
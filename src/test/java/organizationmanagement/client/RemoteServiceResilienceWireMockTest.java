@@ -0,0 +1,207 @@
+package organizationmanagement.client;
+
+import com.github.tomakehurst.wiremock.WireMockServer;
+import feign.RetryableException;
+import io.github.resilience4j.circuitbreaker.CircuitBreaker;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.ImportAutoConfiguration;
+import org.springframework.boot.autoconfigure.http.HttpMessageConvertersAutoConfiguration;
+import org.springframework.boot.autoconfigure.jackson.JacksonAutoConfiguration;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.cloud.openfeign.EnableFeignClients;
+import org.springframework.cloud.openfeign.FeignAutoConfiguration;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Import;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import organizationmanagement.exception.GlobalExceptionHandler;
+import organizationmanagement.exception.ServiceUnavailableException;
+
+import java.net.SocketTimeoutException;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static com.github.tomakehurst.wiremock.client.WireMock.aResponse;
+import static com.github.tomakehurst.wiremock.client.WireMock.post;
+import static com.github.tomakehurst.wiremock.client.WireMock.postRequestedFor;
+import static com.github.tomakehurst.wiremock.client.WireMock.urlPathEqualTo;
+import static com.github.tomakehurst.wiremock.core.WireMockConfiguration.options;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * Timeouts, bulkhead and circuit breaker of the existence lookups, against WireMock stand-ins for
+ * user-service and survey-service that inject latency and errors. The two services have their own
+ * breakers, so each test drives a service the others leave alone.
+ */
+@SpringBootTest(classes = RemoteServiceResilienceWireMockTest.FeignClients.class,
+        webEnvironment = SpringBootTest.WebEnvironment.NONE,
+        properties = {
+                "existence-batch.window=1ms",
+                "spring.cloud.openfeign.client.config.user-service.read-timeout=" + RemoteServiceResilienceWireMockTest.USER_READ_TIMEOUT_MS,
+                "remote-call.circuit-breaker.sliding-window-size=4",
+                "remote-call.circuit-breaker.minimum-calls=4",
+                "remote-call.circuit-breaker.wait-in-open-state=60s",
+                "remote-call.bulkhead.max-waiting-callers=" + RemoteServiceResilienceWireMockTest.MAX_WAITING})
+class RemoteServiceResilienceWireMockTest {
+
+    static final int USER_READ_TIMEOUT_MS = 500;
+    static final int MAX_WAITING = 3;
+
+    private static final WireMockServer userService = new WireMockServer(options().dynamicPort());
+    private static final WireMockServer surveyService = new WireMockServer(options().dynamicPort());
+
+    static {
+        userService.start();
+        surveyService.start();
+    }
+
+    @Configuration
+    @EnableFeignClients(clients = {UserServiceClient.class, SurveyServiceClient.class})
+    @ImportAutoConfiguration({FeignAutoConfiguration.class, HttpMessageConvertersAutoConfiguration.class,
+            JacksonAutoConfiguration.class})
+    @Import({ExistenceCache.class, RemoteServiceGuards.class})
+    static class FeignClients {
+    }
+
+    @DynamicPropertySource
+    static void remoteUrls(DynamicPropertyRegistry registry) {
+        registry.add("user-service.url", userService::baseUrl);
+        registry.add("survey-service.url", surveyService::baseUrl);
+    }
+
+    @AfterAll
+    static void stopWireMock() {
+        userService.stop();
+        surveyService.stop();
+    }
+
+    @Autowired
+    private ExistenceCache existenceCache;
+
+    @Autowired
+    private RemoteServiceGuards guards;
+
+    private final SimpleMeterRegistry meters = new SimpleMeterRegistry();
+
+    @BeforeEach
+    void reset() {
+        userService.resetAll();
+        surveyService.resetAll();
+        existenceCache.evictAll();
+        guards.bindTo(meters);
+    }
+
+    @Test
+    void slowResponsesAreCutOffAtTheClientsReadTimeout() {
+        userService.stubFor(post(urlPathEqualTo("/api/users/exists"))
+                .willReturn(aResponse().withFixedDelay(USER_READ_TIMEOUT_MS * 6)
+                        .withHeader("Content-Type", "application/json").withBody("{}")));
+
+        long start = System.nanoTime();
+        assertThatThrownBy(() -> existenceCache.userExists(UUID.randomUUID()))
+                .isInstanceOf(ServiceUnavailableException.class)
+                .hasRootCauseInstanceOf(SocketTimeoutException.class)
+                .cause().isInstanceOf(RetryableException.class);
+        long elapsedMs = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start);
+
+        assertThat(elapsedMs).isGreaterThanOrEqualTo(USER_READ_TIMEOUT_MS).isLessThan(USER_READ_TIMEOUT_MS * 4L);
+    }
+
+    @Test
+    void callersBeyondTheBulkheadAreTurnedAwayImmediately() throws Exception {
+        UUID first = UUID.randomUUID();
+        userService.stubFor(post(urlPathEqualTo("/api/users/exists"))
+                .willReturn(aResponse().withFixedDelay(USER_READ_TIMEOUT_MS / 2)
+                        .withHeader("Content-Type", "application/json").withBody("{\"" + first + "\":true}")));
+        // Warm up the Feign client so connection setup doesn't count against the read timeout
+        existenceCache.userExists(first);
+        existenceCache.evictAll();
+
+        int callers = MAX_WAITING + 5;
+        ExecutorService pool = Executors.newFixedThreadPool(callers);
+        int answered = 0;
+        int rejected = 0;
+        try {
+            List<Future<Boolean>> lookups = new ArrayList<>();
+            for (int i = 0; i < callers; i++) {
+                UUID id = UUID.randomUUID();
+                lookups.add(pool.submit(() -> existenceCache.userExists(id)));
+            }
+            for (Future<Boolean> lookup : lookups) {
+                try {
+                    lookup.get(10, TimeUnit.SECONDS);
+                    answered++;
+                } catch (ExecutionException e) {
+                    assertThat(e.getCause()).isInstanceOf(ServiceUnavailableException.class)
+                            .hasMessageContaining("Too many requests are waiting on user-service");
+                    rejected++;
+                }
+            }
+        } finally {
+            pool.shutdownNow();
+        }
+
+        assertThat(answered).isEqualTo(MAX_WAITING);
+        assertThat(rejected).isEqualTo(callers - MAX_WAITING);
+        assertThat(meters.get("resilience4j.bulkhead.max.allowed.concurrent.calls")
+                .tag("name", RemoteServiceGuards.USER_SERVICE).gauge().value()).isEqualTo(MAX_WAITING);
+        assertThat(guards.state(RemoteServiceGuards.USER_SERVICE)).isEqualTo(CircuitBreaker.State.CLOSED);
+    }
+
+    @Test
+    void repeatedErrorsOpenTheCircuitAndLaterCallsFailFastWith503() {
+        surveyService.stubFor(post(urlPathEqualTo("/api/surveys/exists")).willReturn(aResponse().withStatus(500)));
+        assertThat(circuitState("closed")).isEqualTo(1.0);
+
+        for (int i = 0; i < 4; i++) {
+            assertThatThrownBy(() -> existenceCache.surveyExists(UUID.randomUUID()))
+                    .isInstanceOf(ServiceUnavailableException.class)
+                    .hasMessageContaining("survey-service call failed");
+        }
+        assertThat(guards.state(RemoteServiceGuards.SURVEY_SERVICE)).isEqualTo(CircuitBreaker.State.OPEN);
+        assertThat(circuitState("open")).isEqualTo(1.0);
+        assertThat(circuitState("closed")).isZero();
+
+        ServiceUnavailableException fastFailure = null;
+        long start = System.nanoTime();
+        for (int i = 0; i < 20; i++) {
+            try {
+                existenceCache.surveyExists(UUID.randomUUID());
+            } catch (ServiceUnavailableException e) {
+                fastFailure = e;
+            }
+        }
+        long elapsedMs = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start);
+
+        assertThat(fastFailure).isNotNull().hasMessageContaining("circuit breaker is open");
+        assertThat(fastFailure.getRetryAfter()).isEqualTo(Duration.ofSeconds(60));
+        assertThat(surveyService.findAll(postRequestedFor(urlPathEqualTo("/api/surveys/exists")))).hasSize(4);
+        assertThat(elapsedMs).isLessThan(1000);
+        assertThat(meters.get("resilience4j.circuitbreaker.not.permitted.calls")
+                .tag("name", RemoteServiceGuards.SURVEY_SERVICE).counter().count()).isEqualTo(20);
+
+        ResponseEntity<Object> response = new GlobalExceptionHandler().handleServiceUnavailable(fastFailure);
+        assertThat(response.getStatusCode()).isEqualTo(HttpStatus.SERVICE_UNAVAILABLE);
+        assertThat(response.getHeaders().getFirst(HttpHeaders.RETRY_AFTER)).isEqualTo("60");
+    }
+
+    private double circuitState(String state) {
+        return meters.get("resilience4j.circuitbreaker.state")
+                .tags("name", RemoteServiceGuards.SURVEY_SERVICE, "state", state).gauge().value();
+    }
+}
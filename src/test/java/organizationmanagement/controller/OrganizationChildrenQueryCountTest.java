@@ -0,0 +1,143 @@
+package organizationmanagement.controller;
+
+import io.zonky.test.db.AutoConfigureEmbeddedDatabase;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.jackson.JacksonAutoConfiguration;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.context.annotation.Import;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.authority.AuthorityUtils;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.web.context.request.ServletWebRequest;
+import organizationmanagement.client.ExistenceCache;
+import organizationmanagement.client.RemoteServiceGuards;
+import organizationmanagement.client.SurveyServiceClient;
+import organizationmanagement.client.UserServiceClient;
+import organizationmanagement.model.Department;
+import organizationmanagement.model.Organization;
+import organizationmanagement.model.Team;
+import organizationmanagement.repository.OrganizationPurgeRepository;
+import organizationmanagement.security.JwtPrincipal;
+import organizationmanagement.repository.MembershipJdbcRepository;
+import organizationmanagement.service.BulkAssignmentService;
+import organizationmanagement.service.DepartmentService;
+import organizationmanagement.service.OptimisticLockRetry;
+import organizationmanagement.service.OrganizationExportService;
+import organizationmanagement.service.OrganizationIdIndex;
+import organizationmanagement.service.OrganizationService;
+import organizationmanagement.service.OrganizationSnapshotCache;
+import organizationmanagement.service.OrganizationVersions;
+import organizationmanagement.service.TeamService;
+import organizationmanagement.service.UserMembershipService;
+import organizationmanagement.utils.OrganizationContextUtil;
+import organizationmanagement.utils.OrganizationETagUtil;
+import organizationmanagement.utils.PaginationUtil;
+
+import java.util.Date;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+
+import static io.zonky.test.db.AutoConfigureEmbeddedDatabase.DatabaseProvider.ZONKY;
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Guards GET /api/organizations/{id}/children against N+1 regressions: the number of
+ * SQL statements must not grow with the number of departments or teams.
+ */
+@DataJpaTest(properties = "spring.jpa.properties.hibernate.generate_statistics=true")
+@AutoConfigureEmbeddedDatabase(provider = ZONKY)
+@Import({OrganizationController.class, OrganizationService.class, DepartmentService.class,
+        TeamService.class, OrganizationExportService.class, BulkAssignmentService.class,
+        MembershipJdbcRepository.class, UserMembershipService.class, OrganizationContextUtil.class,
+        PaginationUtil.class, ExistenceCache.class, RemoteServiceGuards.class, OrganizationVersions.class, OptimisticLockRetry.class,
+        OrganizationSnapshotCache.class, OrganizationETagUtil.class, JacksonAutoConfiguration.class,
+        OrganizationPurgeRepository.class, OrganizationIdIndex.class})
+class OrganizationChildrenQueryCountTest {
+
+    @Autowired
+    private OrganizationController organizationController;
+
+    @Autowired
+    private TestEntityManager entityManager;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @MockBean
+    private UserServiceClient userServiceClient;
+
+    @MockBean
+    private SurveyServiceClient surveyServiceClient;
+
+    @BeforeEach
+    void authenticateAsRootAdmin() {
+        JwtPrincipal principal = new JwtPrincipal("root", null, List.of("SYS_ADMIN_ROOT"), new Date());
+        SecurityContextHolder.getContext().setAuthentication(new UsernamePasswordAuthenticationToken(
+                principal, null, AuthorityUtils.createAuthorityList("SYS_ADMIN_ROOT")));
+    }
+
+    @AfterEach
+    void clearSecurityContext() {
+        SecurityContextHolder.clearContext();
+    }
+
+    @Test
+    void childrenAreLoadedWithAConstantNumberOfQueries() {
+        UUID small = createOrganization("Small Org", 1, 1);
+        UUID large = createOrganization("Large Org", 25, 4);
+
+        long smallQueries = countQueries(small, 1, 1);
+        long largeQueries = countQueries(large, 25, 100);
+
+        // organization + departments + teams
+        assertThat(largeQueries).isEqualTo(3);
+        assertThat(largeQueries).isEqualTo(smallQueries);
+    }
+
+    private long countQueries(UUID organizationId, int expectedDepartments, int expectedTeams) {
+        entityManager.clear();
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+
+        OrganizationController.ChildrenResponse children = organizationController.getChildren(organizationId,
+                new ServletWebRequest(new MockHttpServletRequest("GET", "/"), new MockHttpServletResponse())).getBody();
+
+        assertThat(children.getDepartments()).hasSize(expectedDepartments);
+        assertThat(children.getTeams()).hasSize(expectedTeams)
+                .allSatisfy(team -> assertThat(team.getDepartment()).isNotNull());
+        return statistics.getPrepareStatementCount();
+    }
+
+    private UUID createOrganization(String name, int departments, int teamsPerDepartment) {
+        Organization org = new Organization();
+        org.setName(name);
+        entityManager.persist(org);
+        for (int d = 0; d < departments; d++) {
+            Department department = new Department();
+            department.setName(name + " department " + d);
+            department.setOrganization(org);
+            department.setUserIds(Set.of(UUID.randomUUID()));
+            entityManager.persist(department);
+            for (int t = 0; t < teamsPerDepartment; t++) {
+                Team team = new Team();
+                team.setName(name + " team " + d + "-" + t);
+                team.setDepartment(department);
+                team.setUserIds(Set.of(UUID.randomUUID(), UUID.randomUUID()));
+                entityManager.persist(team);
+            }
+        }
+        entityManager.flush();
+        return org.getId();
+    }
+}
@@ -0,0 +1,227 @@
+package organizationmanagement.controller;
+
+import io.zonky.test.db.AutoConfigureEmbeddedDatabase;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.jackson.JacksonAutoConfiguration;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.context.annotation.Import;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.authority.AuthorityUtils;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.web.context.request.ServletWebRequest;
+import organizationmanagement.client.ExistenceCache;
+import organizationmanagement.client.RemoteServiceGuards;
+import organizationmanagement.client.SurveyServiceClient;
+import organizationmanagement.client.UserServiceClient;
+import organizationmanagement.model.Department;
+import organizationmanagement.model.Organization;
+import organizationmanagement.model.Team;
+import organizationmanagement.repository.MembershipJdbcRepository;
+import organizationmanagement.repository.OrganizationPurgeRepository;
+import organizationmanagement.security.JwtPrincipal;
+import organizationmanagement.service.BulkAssignmentService;
+import organizationmanagement.service.DepartmentService;
+import organizationmanagement.service.OptimisticLockRetry;
+import organizationmanagement.service.OrganizationExportService;
+import organizationmanagement.service.OrganizationIdIndex;
+import organizationmanagement.service.OrganizationService;
+import organizationmanagement.service.OrganizationSnapshotCache;
+import organizationmanagement.service.OrganizationVersions;
+import organizationmanagement.service.TeamService;
+import organizationmanagement.service.UserMembershipService;
+import organizationmanagement.utils.OrganizationContextUtil;
+import organizationmanagement.utils.OrganizationETagUtil;
+import organizationmanagement.utils.PaginationUtil;
+
+import java.util.Collection;
+import java.util.Date;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+import static io.zonky.test.db.AutoConfigureEmbeddedDatabase.DatabaseProvider.ZONKY;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.when;
+
+/**
+ * Polling the organization-scoped read endpoints with the last ETag is answered with 304, after
+ * reading only the organization's stored version, until something in the organization changes
+ * through any instance.
+ */
+@DataJpaTest
+@AutoConfigureEmbeddedDatabase(provider = ZONKY)
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+@Import({OrganizationController.class, DepartmentController.class, TeamController.class,
+        OrganizationService.class, DepartmentService.class, TeamService.class, OrganizationExportService.class,
+        BulkAssignmentService.class, MembershipJdbcRepository.class, UserMembershipService.class,
+        OrganizationContextUtil.class, PaginationUtil.class, ExistenceCache.class, RemoteServiceGuards.class,
+        OptimisticLockRetry.class, OrganizationSnapshotCache.class, OrganizationETagUtil.class,
+        JacksonAutoConfiguration.class, OrganizationPurgeRepository.class, OrganizationIdIndex.class, OrganizationVersions.class})
+class OrganizationETagTest {
+
+    @Autowired
+    private OrganizationController organizationController;
+
+    @Autowired
+    private DepartmentController departmentController;
+
+    @Autowired
+    private TeamController teamController;
+
+    @Autowired
+    private OrganizationService organizationService;
+
+    @Autowired
+    private DepartmentService departmentService;
+
+    @Autowired
+    private TeamService teamService;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @MockBean
+    private UserServiceClient userServiceClient;
+
+    @MockBean
+    private SurveyServiceClient surveyServiceClient;
+
+    private UUID organizationId;
+    private UUID departmentId;
+    private UUID teamId;
+
+    @BeforeEach
+    void setUp() {
+        when(userServiceClient.usersExist(any())).thenAnswer(invocation -> allExist(invocation.getArgument(0)));
+
+        Organization org = new Organization();
+        org.setName("ETag " + UUID.randomUUID());
+        organizationId = organizationService.create(org).getId();
+        Department department = new Department();
+        department.setName("Engineering");
+        departmentId = departmentService.createUnderOrganization(organizationId, department).getId();
+        Team team = new Team();
+        team.setName("Platform");
+        teamId = teamService.createUnderDepartmentInOrganization(departmentId, team, organizationId).getId();
+
+        JwtPrincipal principal = new JwtPrincipal("member", organizationId, List.of("PERMISSION_READ"), new Date());
+        SecurityContextHolder.getContext().setAuthentication(new UsernamePasswordAuthenticationToken(
+                principal, null, AuthorityUtils.createAuthorityList("PERMISSION_READ")));
+    }
+
+    @AfterEach
+    void clearSecurityContext() {
+        SecurityContextHolder.clearContext();
+    }
+
+    @Test
+    void unchangedOrganizationIsAnsweredWith304WithoutQueries() {
+        List<Function<ServletWebRequest, ResponseEntity<?>>> endpoints = List.of(
+                request -> organizationController.getChildren(organizationId, request),
+                request -> departmentController.getAll(null, null, request),
+                request -> departmentController.getById(departmentId, request),
+                request -> teamController.getAll(null, null, request),
+                request -> teamController.getById(teamId, request),
+                request -> teamController.getTeamsByDepartment(departmentId, request));
+
+        for (Function<ServletWebRequest, ResponseEntity<?>> endpoint : endpoints) {
+            MockHttpServletResponse first = new MockHttpServletResponse();
+            assertThat(endpoint.apply(request(null, first)).getStatusCode()).isEqualTo(HttpStatus.OK);
+            String eTag = first.getHeader(HttpHeaders.ETAG);
+            assertThat(eTag).matches("\"[0-9]+\"");
+
+            Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+            statistics.setStatisticsEnabled(true);
+            statistics.clear();
+            MockHttpServletResponse second = new MockHttpServletResponse();
+            assertThat(endpoint.apply(request(eTag, second))).isNull();
+            assertThat(second.getStatus()).isEqualTo(HttpStatus.NOT_MODIFIED.value());
+            assertThat(second.getHeader(HttpHeaders.ETAG)).isEqualTo(eTag);
+            // Only the stored version was read, over plain JDBC, which Hibernate doesn't count
+            assertThat(statistics.getPrepareStatementCount()).isZero();
+        }
+    }
+
+    @Test
+    void membershipChangeGivesANewETagAndAFullResponse() {
+        MockHttpServletResponse first = new MockHttpServletResponse();
+        teamController.getAll(null, null, request(null, first));
+        String eTag = first.getHeader(HttpHeaders.ETAG);
+
+        teamService.assignUserToTeamInOrganization(teamId, UUID.randomUUID(), organizationId);
+
+        MockHttpServletResponse second = new MockHttpServletResponse();
+        ResponseEntity<?> response = teamController.getAll(null, null, request(eTag, second));
+        assertThat(response.getStatusCode()).isEqualTo(HttpStatus.OK);
+        assertThat(second.getHeader(HttpHeaders.ETAG)).isNotEqualTo(eTag);
+        assertThat(teamController.getById(teamId, request(null, new MockHttpServletResponse()))
+                .getBody().getUserCount()).isEqualTo(1);
+    }
+
+    @Test
+    void everyInstanceHandsOutTheSameETagUntilAnyOfThemChangesTheOrganization() {
+        MockHttpServletResponse first = new MockHttpServletResponse();
+        organizationController.getChildren(organizationId, request(null, first));
+        String eTag = first.getHeader(HttpHeaders.ETAG);
+
+        // Another instance, or this one after a restart, starts from the stored version
+        OrganizationETagUtil otherInstance = new OrganizationETagUtil(
+                new OrganizationVersions(jdbcTemplate, transactionManager, "organization_service"));
+        assertThat(otherInstance.eTag(organizationId)).isEqualTo(eTag);
+
+        // Another instance adds a department and bumps the stored version in the same transaction
+        UUID added = UUID.randomUUID();
+        new TransactionTemplate(transactionManager).executeWithoutResult(status -> {
+            jdbcTemplate.update("INSERT INTO organization_service.department (id, name, organization_id) VALUES (?, ?, ?)",
+                    added, "Added elsewhere", organizationId);
+            jdbcTemplate.update("UPDATE organization_service.organization SET version = version + 1 WHERE id = ?",
+                    organizationId);
+        });
+
+        MockHttpServletResponse second = new MockHttpServletResponse();
+        ResponseEntity<OrganizationController.ChildrenResponse> response =
+                organizationController.getChildren(organizationId, request(eTag, second));
+        assertThat(response.getStatusCode()).isEqualTo(HttpStatus.OK);
+        assertThat(second.getHeader(HttpHeaders.ETAG)).isNotEqualTo(eTag).isEqualTo(otherInstance.eTag(organizationId));
+        assertThat(departmentController.getById(added, request(null, new MockHttpServletResponse())).getStatusCode())
+                .isEqualTo(HttpStatus.OK);
+    }
+
+    private static ServletWebRequest request(String ifNoneMatch, MockHttpServletResponse response) {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/api/teams");
+        if (ifNoneMatch != null) {
+            request.addHeader(HttpHeaders.IF_NONE_MATCH, ifNoneMatch);
+        }
+        return new ServletWebRequest(request, response);
+    }
+
+    private static ResponseEntity<Map<UUID, Boolean>> allExist(Collection<UUID> ids) {
+        return ResponseEntity.ok(ids.stream().collect(Collectors.toMap(id -> id, id -> true)));
+    }
+}
@@ -0,0 +1,110 @@
+package organizationmanagement.controller;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.context.annotation.Import;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+import organizationmanagement.client.SurveyServiceClient;
+import organizationmanagement.client.UserServiceClient;
+import organizationmanagement.security.AuthorityPermissionEvaluator;
+import organizationmanagement.security.JwtTokenUtil;
+import organizationmanagement.security.PublicEndpoints;
+import organizationmanagement.security.SecurityConfig;
+import organizationmanagement.service.BulkAssignmentService;
+import organizationmanagement.service.DepartmentService;
+import organizationmanagement.service.OrganizationExportService;
+import organizationmanagement.service.OrganizationService;
+import organizationmanagement.service.OrganizationSnapshotCache;
+import organizationmanagement.service.TeamService;
+import organizationmanagement.service.UserMembershipService;
+import organizationmanagement.utils.OrganizationContextUtil;
+import organizationmanagement.utils.OrganizationETagUtil;
+import organizationmanagement.utils.PaginationUtil;
+
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.when;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * The batch existence check is called by other services without a user token, through the real
+ * security filter chain.
+ */
+@WebMvcTest(OrganizationController.class)
+@Import({SecurityConfig.class, PublicEndpoints.class, AuthorityPermissionEvaluator.class})
+class OrganizationExistsEndpointTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @MockBean
+    private JwtTokenUtil jwtTokenUtil;
+
+    @MockBean
+    private OrganizationService organizationService;
+
+    @MockBean
+    private DepartmentService departmentService;
+
+    @MockBean
+    private TeamService teamService;
+
+    @MockBean
+    private OrganizationExportService organizationExportService;
+
+    @MockBean
+    private BulkAssignmentService bulkAssignmentService;
+
+    @MockBean
+    private UserMembershipService userMembershipService;
+
+    @MockBean
+    private OrganizationContextUtil organizationContextUtil;
+
+    @MockBean
+    private PaginationUtil paginationUtil;
+
+    @MockBean
+    private OrganizationSnapshotCache organizationSnapshotCache;
+
+    @MockBean
+    private OrganizationETagUtil organizationETagUtil;
+
+    @MockBean
+    private UserServiceClient userServiceClient;
+
+    @MockBean
+    private SurveyServiceClient surveyServiceClient;
+
+    @Test
+    void batchCheckNeedsNoToken() throws Exception {
+        UUID existing = UUID.randomUUID();
+        UUID missing = UUID.randomUUID();
+        when(organizationService.exists(List.of(existing, missing))).thenReturn(Map.of(existing, true, missing, false));
+
+        mockMvc.perform(post("/api/organizations/exists")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("[\"" + existing + "\", \"" + missing + "\"]"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$['" + existing + "']").value(true))
+                .andExpect(jsonPath("$['" + missing + "']").value(false));
+
+        verifyNoInteractions(jwtTokenUtil);
+    }
+
+    @Test
+    void otherOrganizationRoutesStillNeedOne() throws Exception {
+        mockMvc.perform(get("/api/organizations")).andExpect(status().isUnauthorized());
+
+        verifyNoInteractions(organizationService);
+    }
+}
@@ -0,0 +1,164 @@
+package organizationmanagement.repository;
+
+import io.zonky.test.db.AutoConfigureEmbeddedDatabase;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.context.annotation.Import;
+import organizationmanagement.client.ExistenceCache;
+import organizationmanagement.client.RemoteServiceGuards;
+import organizationmanagement.client.SurveyServiceClient;
+import organizationmanagement.client.UserServiceClient;
+import organizationmanagement.model.Department;
+import organizationmanagement.model.Organization;
+import organizationmanagement.model.Team;
+import organizationmanagement.service.DepartmentService;
+import organizationmanagement.service.OptimisticLockRetry;
+import organizationmanagement.service.OrganizationVersions;
+import organizationmanagement.service.TeamService;
+import organizationmanagement.utils.KeysetPage;
+import organizationmanagement.utils.PageCursor;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.UUID;
+import java.util.function.BiFunction;
+import java.util.function.Function;
+
+import static io.zonky.test.db.AutoConfigureEmbeddedDatabase.DatabaseProvider.ZONKY;
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Walks every list page by page and checks that the pages together are exactly the (name, id)
+ * ordering, with no gaps or repeats, including rows that share a name or have none.
+ */
+@DataJpaTest
+@AutoConfigureEmbeddedDatabase(provider = ZONKY)
+@Import({ExistenceCache.class, RemoteServiceGuards.class, DepartmentService.class, TeamService.class,
+        OrganizationVersions.class, OptimisticLockRetry.class})
+class KeysetPaginationTest {
+
+    @Autowired
+    private TestEntityManager entityManager;
+
+    @Autowired
+    private DepartmentService departmentService;
+
+    @Autowired
+    private TeamService teamService;
+
+    @MockBean
+    private UserServiceClient userServiceClient;
+
+    @MockBean
+    private SurveyServiceClient surveyServiceClient;
+
+    @Test
+    void departmentPagesCoverTheOrganizationInOrder() {
+        Organization org = organization("Paged Org");
+        Organization other = organization("Other Org");
+        List<Department> expected = new ArrayList<>();
+        for (int i = 0; i < 11; i++) {
+            // Duplicate names force the id tie-breaker to do its job
+            expected.add(department(org, "Dept " + (i % 4)));
+            department(other, "Dept " + i);
+        }
+        entityManager.flush();
+        entityManager.clear();
+        // PostgreSQL orders uuids bytewise, which matches their string form (UUID.compareTo is signed)
+        expected.sort(Comparator.comparing(Department::getName).thenComparing(d -> d.getId().toString()));
+
+        List<UUID> paged = collect((after, size) -> departmentService.getPageByOrganization(org.getId(), after, size),
+                Department::getId, 3);
+
+        assertThat(paged).containsExactlyElementsOf(expected.stream().map(Department::getId).toList());
+    }
+
+    @Test
+    void teamPagesCoverEveryTeamExactlyOnce() {
+        Organization org = organization("Team Org");
+        Department department = department(org, "Engineering");
+        for (int i = 0; i < 10; i++) {
+            Team team = new Team();
+            team.setName("Team " + (i % 3));
+            team.setDepartment(department);
+            entityManager.persist(team);
+        }
+        entityManager.flush();
+        entityManager.clear();
+
+        List<UUID> paged = collect(teamService::getPage, Team::getId, 4);
+        List<UUID> scoped = collect((after, size) -> teamService.getPageByOrganization(org.getId(), after, size),
+                Team::getId, 4);
+
+        assertThat(paged).hasSize(10).doesNotHaveDuplicates();
+        assertThat(scoped).containsExactlyElementsOf(paged);
+    }
+
+    @Test
+    void rowsWithoutANameComeLastAndAreNeitherSkippedNorRepeated() {
+        Organization org = organization("Nameless Org");
+        List<Department> expected = new ArrayList<>();
+        for (int i = 0; i < 7; i++) {
+            expected.add(department(org, i % 2 == 0 ? null : "Dept " + i));
+        }
+        // A real name that reads like the old encoding of a missing one
+        expected.add(department(org, "null"));
+        entityManager.flush();
+        entityManager.clear();
+        expected.sort(Comparator.comparing(Department::getName, Comparator.nullsLast(Comparator.naturalOrder()))
+                .thenComparing(d -> d.getId().toString()));
+        List<UUID> expectedIds = expected.stream().map(Department::getId).toList();
+
+        for (int size : List.of(1, 2, 3)) {
+            assertThat(collect((after, pageSize) -> departmentService.getPageByOrganization(org.getId(), after, pageSize),
+                    Department::getId, size)).as("page size %d", size).containsExactlyElementsOf(expectedIds);
+            assertThat(collect(departmentService::getPage, Department::getId, size))
+                    .as("page size %d", size).containsExactlyElementsOf(expectedIds);
+        }
+    }
+
+    @Test
+    void lastPageHasNoCursor() {
+        Organization org = organization("Exact Org");
+        department(org, "A");
+        department(org, "B");
+        entityManager.flush();
+
+        KeysetPage<Department> page = departmentService.getPageByOrganization(org.getId(), null, 2);
+
+        assertThat(page.getItems()).hasSize(2);
+        assertThat(page.getNextCursor()).isNull();
+    }
+
+    private <T> List<UUID> collect(BiFunction<PageCursor, Integer, KeysetPage<T>> fetch,
+                                   Function<T, UUID> idOf, int size) {
+        List<UUID> ids = new ArrayList<>();
+        PageCursor after = null;
+        do {
+            KeysetPage<T> page = fetch.apply(after, size);
+            assertThat(page.getItems()).hasSizeLessThanOrEqualTo(size);
+            page.getItems().forEach(item -> ids.add(idOf.apply(item)));
+            after = PageCursor.decode(page.getNextCursor());
+        } while (after != null);
+        return ids;
+    }
+
+    private Organization organization(String name) {
+        Organization org = new Organization();
+        org.setName(name);
+        entityManager.persist(org);
+        return org;
+    }
+
+    private Department department(Organization org, String name) {
+        Department department = new Department();
+        department.setName(name);
+        department.setOrganization(org);
+        entityManager.persist(department);
+        return department;
+    }
+}
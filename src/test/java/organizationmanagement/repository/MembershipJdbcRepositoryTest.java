@@ -0,0 +1,83 @@
+package organizationmanagement.repository;
+
+import io.zonky.test.db.AutoConfigureEmbeddedDatabase;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.context.annotation.Import;
+import organizationmanagement.dto.UserGroupSummary;
+import organizationmanagement.model.Department;
+import organizationmanagement.model.Organization;
+import organizationmanagement.model.Team;
+
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+
+import static io.zonky.test.db.AutoConfigureEmbeddedDatabase.DatabaseProvider.ZONKY;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.tuple;
+
+@DataJpaTest
+@AutoConfigureEmbeddedDatabase(provider = ZONKY)
+@Import(MembershipJdbcRepository.class)
+class MembershipJdbcRepositoryTest {
+
+    @Autowired
+    private MembershipJdbcRepository membershipJdbcRepository;
+
+    @Autowired
+    private TestEntityManager entityManager;
+
+    @Test
+    void groupsOfUserAreScopedToTheOrganization() {
+        UUID userId = UUID.randomUUID();
+        Organization acme = organization("Acme");
+        Organization globex = organization("Globex");
+        Department engineering = department(acme, "Engineering", Set.of(userId));
+        department(acme, "Sales", Set.of(UUID.randomUUID()));
+        team(engineering, "Platform", Set.of(userId));
+        team(engineering, "Mobile", Set.of(userId, UUID.randomUUID()));
+        team(engineering, "Web", Set.of(UUID.randomUUID()));
+        team(department(globex, "Research", Set.of()), "Lab", Set.of(userId));
+        entityManager.flush();
+
+        List<UserGroupSummary> inAcme = membershipJdbcRepository.findGroupsOfUser(userId, acme.getId());
+        List<UserGroupSummary> everywhere = membershipJdbcRepository.findGroupsOfUser(userId, null);
+
+        assertThat(inAcme).extracting(UserGroupSummary::getType, UserGroupSummary::getName).containsExactly(
+                tuple(UserGroupSummary.Type.DEPARTMENT, "Engineering"),
+                tuple(UserGroupSummary.Type.TEAM, "Mobile"),
+                tuple(UserGroupSummary.Type.TEAM, "Platform"));
+        assertThat(everywhere).hasSize(4)
+                .extracting(UserGroupSummary::getOrganizationId)
+                .containsOnly(acme.getId(), globex.getId());
+        assertThat(membershipJdbcRepository.findGroupsOfUser(UUID.randomUUID(), null)).isEmpty();
+    }
+
+    private Organization organization(String name) {
+        Organization org = new Organization();
+        org.setName(name);
+        entityManager.persist(org);
+        return org;
+    }
+
+    private Department department(Organization org, String name, Set<UUID> userIds) {
+        Department department = new Department();
+        department.setName(name);
+        department.setOrganization(org);
+        department.setUserIds(new HashSet<>(userIds));
+        entityManager.persist(department);
+        return department;
+    }
+
+    private void team(Department department, String name, Set<UUID> userIds) {
+        Team team = new Team();
+        team.setName(name);
+        team.setDepartment(department);
+        team.setUserIds(new HashSet<>(userIds));
+        entityManager.persist(team);
+    }
+}
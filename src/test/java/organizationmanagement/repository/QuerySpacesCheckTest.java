@@ -0,0 +1,17 @@
+package organizationmanagement.repository;
+
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThatCode;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class QuerySpacesCheckTest {
+
+    @Test
+    void configuredSchemaMustBeTheOneTheQuerySpacesNames() {
+        assertThatCode(() -> new QuerySpacesCheck("organization_service")).doesNotThrowAnyException();
+        assertThatThrownBy(() -> new QuerySpacesCheck("other_schema"))
+                .isInstanceOf(IllegalStateException.class)
+                .hasMessageContaining("other_schema");
+    }
+}
@@ -0,0 +1,96 @@
+package organizationmanagement.repository;
+
+import io.zonky.test.db.AutoConfigureEmbeddedDatabase;
+import org.flywaydb.core.Flyway;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import organizationmanagement.model.Organization;
+
+import javax.sql.DataSource;
+import java.util.List;
+import java.util.UUID;
+
+import static io.zonky.test.db.AutoConfigureEmbeddedDatabase.DatabaseProvider.ZONKY;
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Runs the Flyway migrations against a real PostgreSQL. The context only starts if Hibernate's
+ * schema validation (ddl-auto=validate) accepts the migrated tables for every entity.
+ */
+@DataJpaTest
+@AutoConfigureEmbeddedDatabase(provider = ZONKY)
+class SchemaMigrationTest {
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private OrganizationRepository organizationRepository;
+
+    @Autowired
+    private DataSource dataSource;
+
+    @Test
+    void lookupIndexesExist() {
+        List<String> indexes = jdbcTemplate.queryForList(
+                "SELECT indexname FROM pg_indexes WHERE schemaname = 'organization_service'", String.class);
+
+        assertThat(indexes).contains(
+                "ux_organization_name_normalized",
+                "ix_department_organization_name_id",
+                "ix_team_department_name",
+                "ix_team_users_user",
+                "ix_team_surveys_survey",
+                "ix_department_users_user",
+                "ix_department_surveys_survey",
+                "ix_organization_name_id",
+                "ix_department_name_id",
+                "ix_team_name_id");
+    }
+
+    @Test
+    void normalizedNameCheckIgnoresCaseAndWhitespace() {
+        Organization org = new Organization();
+        org.setName("Acme Corp");
+        organizationRepository.saveAndFlush(org);
+
+        assertThat(organizationRepository.existsByNormalizedName("  acme corp ")).isTrue();
+        assertThat(organizationRepository.existsByNormalizedNameAndIdNot("ACME CORP", org.getId())).isFalse();
+        assertThat(organizationRepository.existsByNormalizedName("Acme")).isFalse();
+    }
+
+    @Test
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    void existingDuplicateNamesAreRenamedBeforeTheUniqueIndexIsBuilt() {
+        String schema = "legacy_names";
+        jdbcTemplate.execute("DROP SCHEMA IF EXISTS " + schema + " CASCADE");
+        try {
+            migrate(schema, "1");
+            // The organization table as Hibernate created it, with names that only differ in case and whitespace
+            jdbcTemplate.execute("CREATE TABLE " + schema + ".organization (id UUID PRIMARY KEY, name VARCHAR(255))");
+            UUID first = UUID.fromString("00000000-0000-0000-0000-000000000001");
+            UUID second = UUID.fromString("00000000-0000-0000-0000-000000000002");
+            UUID third = UUID.fromString("00000000-0000-0000-0000-000000000003");
+            jdbcTemplate.update("INSERT INTO " + schema + ".organization (id, name) VALUES (?, 'Acme'), (?, ' acme '), (?, 'Other')",
+                    first, second, third);
+
+            migrate(schema, "2");
+
+            assertThat(jdbcTemplate.queryForList("SELECT name FROM " + schema + ".organization ORDER BY id", String.class))
+                    .containsExactly("Acme", "acme - " + second, "Other");
+            assertThat(jdbcTemplate.queryForList("SELECT indexname FROM pg_indexes WHERE schemaname = ?",
+                    String.class, schema)).contains("ux_organization_name_normalized");
+        } finally {
+            jdbcTemplate.execute("DROP SCHEMA IF EXISTS " + schema + " CASCADE");
+        }
+    }
+
+    private void migrate(String schema, String target) {
+        Flyway.configure().dataSource(dataSource).schemas(schema).locations("classpath:db/migration")
+                .target(target).load().migrate();
+    }
+}
@@ -0,0 +1,101 @@
+package organizationmanagement.security;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.config.BeanDefinition;
+import org.springframework.context.annotation.ClassPathScanningCandidateComponentProvider;
+import org.springframework.core.type.filter.AnnotationTypeFilter;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.authority.AuthorityUtils;
+import org.springframework.util.ClassUtils;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.lang.reflect.Method;
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.List;
+import java.util.UUID;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class AuthorityPermissionEvaluatorTest {
+
+    // The permission argument of hasPermission(..., '...')
+    private static final Pattern PERMISSION = Pattern.compile("hasPermission\\([^']*'([^']*)'\\)");
+
+    private final AuthorityPermissionEvaluator evaluator = new AuthorityPermissionEvaluator();
+
+    private static Authentication jwtAuthentication(String... authorities) {
+        JwtPrincipal principal = new JwtPrincipal("alice", UUID.randomUUID(), List.of(authorities), new Date());
+        return new UsernamePasswordAuthenticationToken(principal, null, AuthorityUtils.createAuthorityList(authorities));
+    }
+
+    @Test
+    void anyListedAuthorityGrantsAccess() {
+        Authentication reader = jwtAuthentication("PERMISSION_READ", "CUSTOM_FLAG");
+        Authentication root = jwtAuthentication("SYS_ADMIN_ROOT");
+
+        assertThat(evaluator.hasPermission(reader, null, "PERMISSION_READ,SYS_ADMIN_ROOT")).isTrue();
+        assertThat(evaluator.hasPermission(root, null, "PERMISSION_READ,SYS_ADMIN_ROOT")).isTrue();
+        assertThat(evaluator.hasPermission(reader, null, "PERMISSION_DELETE,SYS_ADMIN_ROOT")).isFalse();
+    }
+
+    @Test
+    void nonJwtAuthenticationsAreCheckedByGrantedAuthorities() {
+        Authentication user = new UsernamePasswordAuthenticationToken(
+                "bob", null, AuthorityUtils.createAuthorityList("PERMISSION_UPDATE"));
+
+        assertThat(evaluator.hasPermission(user, null, "PERMISSION_UPDATE,SYS_ADMIN_ROOT")).isTrue();
+        assertThat(evaluator.hasPermission(user, null, "SYS_ADMIN_ROOT")).isFalse();
+    }
+
+    @Test
+    void principalMaskMatchesItsAuthorities() {
+        JwtPrincipal principal = new JwtPrincipal("alice", null, List.of("PERMISSION_CREATE", "CUSTOM_FLAG"), new Date());
+
+        assertThat(principal.hasAuthority(Authority.PERMISSION_CREATE)).isTrue();
+        assertThat(principal.hasAuthority(Authority.SYS_ADMIN_ROOT)).isFalse();
+        assertThat(principal.hasAuthority("CUSTOM_FLAG")).isTrue();
+        assertThat(principal.hasAuthority("OTHER_FLAG")).isFalse();
+    }
+
+    @Test
+    void typoInExpressionDeniesEveryone() {
+        Authentication reader = jwtAuthentication("PERMISSION_READ");
+        Authentication root = jwtAuthentication("SYS_ADMIN_ROOT");
+        Authentication user = new UsernamePasswordAuthenticationToken(
+                "bob", null, AuthorityUtils.createAuthorityList("PERMISSION_READ", "SYS_ADMIN_ROOT"));
+
+        assertThat(evaluator.hasPermission(reader, null, "PERMISSION_REED")).isFalse();
+        assertThat(evaluator.hasPermission(root, null, "PERMISSION_REED,SYS_ADMIN_ROOT")).isFalse();
+        assertThat(evaluator.hasPermission(user, null, "PERMISSION_REED,SYS_ADMIN_ROOT")).isFalse();
+        // Asking again is answered from the cached mask, still without throwing
+        assertThat(evaluator.hasPermission(reader, null, "PERMISSION_REED")).isFalse();
+    }
+
+    @Test
+    void everyControllerExpressionNamesKnownAuthorities() {
+        ClassPathScanningCandidateComponentProvider scanner = new ClassPathScanningCandidateComponentProvider(false);
+        scanner.addIncludeFilter(new AnnotationTypeFilter(RestController.class));
+        List<String> permissions = new ArrayList<>();
+        for (BeanDefinition controller : scanner.findCandidateComponents("organizationmanagement.controller")) {
+            for (Method method : ClassUtils.resolveClassName(controller.getBeanClassName(), null).getDeclaredMethods()) {
+                PreAuthorize preAuthorize = method.getAnnotation(PreAuthorize.class);
+                if (preAuthorize == null) {
+                    continue;
+                }
+                Matcher matcher = PERMISSION.matcher(preAuthorize.value());
+                while (matcher.find()) {
+                    permissions.add(matcher.group(1));
+                }
+            }
+        }
+
+        assertThat(permissions).isNotEmpty();
+        assertThat(permissions).allSatisfy(permission -> assertThat(permission.split(","))
+                .allSatisfy(name -> assertThat(Authority.fromName(name.trim())).as(permission).isNotNull()));
+    }
+}
@@ -0,0 +1,83 @@
+package organizationmanagement.security;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.security.core.userdetails.User;
+import organizationmanagement.utils.JwtUtil;
+import organizationmanagement.utils.OrganizationContextUtil;
+
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.spy;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+
+class JwtRequestFilterTest {
+
+    private static final String SECRET = "b3JnYW5pemF0aW9uLW1hbmFnZW1lbnQtdGVzdC1zZWNyZXQta2V5ISE=";
+
+    private JwtTokenUtil jwtTokenUtil;
+    private JwtRequestFilter filter;
+    private OrganizationContextUtil organizationContextUtil;
+    private JwtUtil jwtUtil;
+
+    @BeforeEach
+    void setUp() {
+        jwtTokenUtil = spy(new JwtTokenUtil(SECRET, new JwtTokenCache(false, 0)));
+        filter = new JwtRequestFilter(jwtTokenUtil, new PublicEndpoints());
+        organizationContextUtil = new OrganizationContextUtil();
+        jwtUtil = new JwtUtil(SECRET, 60_000);
+    }
+
+    @AfterEach
+    void tearDown() {
+        SecurityContextHolder.clearContext();
+    }
+
+    @Test
+    void tokenIsParsedOncePerRequestEvenWhenContextIsReadRepeatedly() throws Exception {
+        UUID organizationId = UUID.randomUUID();
+        String token = jwtUtil.generateToken(
+                User.withUsername("alice").password("n/a").authorities("PERMISSION_READ").build(),
+                organizationId);
+
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/api/teams");
+        request.addHeader("Authorization", "Bearer " + token);
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        AtomicReference<UUID> seenOrganizationId = new AtomicReference<>();
+
+        filter.doFilter(request, response, (req, res) -> {
+            // What a controller typically does during one request
+            organizationContextUtil.isRootAdmin();
+            organizationContextUtil.getCurrentOrganizationId();
+            organizationContextUtil.hasOrganizationAccess(organizationId);
+            organizationContextUtil.hasAuthority("PERMISSION_READ");
+            seenOrganizationId.set(organizationContextUtil.getCurrentOrganizationId());
+        });
+
+        assertThat(response.getStatus()).isEqualTo(200);
+        assertThat(seenOrganizationId.get()).isEqualTo(organizationId);
+        verify(jwtTokenUtil, times(1)).getAllClaimsFromToken(anyString());
+    }
+
+    @Test
+    void invalidTokenIsRejectedWithoutReachingTheChain() throws Exception {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/api/teams");
+        request.addHeader("Authorization", "Bearer not-a-jwt");
+        MockHttpServletResponse response = new MockHttpServletResponse();
+
+        filter.doFilter(request, response, (req, res) -> {
+            throw new AssertionError("chain must not be invoked for an invalid token");
+        });
+
+        assertThat(response.getStatus()).isEqualTo(401);
+        verify(jwtTokenUtil, times(1)).getAllClaimsFromToken(anyString());
+    }
+}
@@ -0,0 +1,85 @@
+package organizationmanagement.security;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.Clock;
+import java.time.Instant;
+import java.time.ZoneOffset;
+import java.util.Date;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Function;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class JwtTokenCacheTest {
+
+    private static final Instant NOW = Instant.parse("2026-01-01T00:00:00Z");
+
+    private final AtomicLong nanos = new AtomicLong();
+    private final Clock clock = Clock.fixed(NOW, ZoneOffset.UTC);
+    private final AtomicInteger verifications = new AtomicInteger();
+
+    private Function<String, JwtPrincipal> verifierExpiringIn(long seconds) {
+        return token -> {
+            verifications.incrementAndGet();
+            return new JwtPrincipal("alice", UUID.randomUUID(), List.of("PERMISSION_READ"),
+                    Date.from(NOW.plusSeconds(seconds)));
+        };
+    }
+
+    @Test
+    void repeatedTokenIsVerifiedOnce() {
+        JwtTokenCache cache = new JwtTokenCache(true, 100, nanos::get, clock);
+
+        JwtPrincipal first = cache.get("token-a", verifierExpiringIn(60));
+        JwtPrincipal second = cache.get("token-a", verifierExpiringIn(60));
+
+        assertThat(second).isSameAs(first);
+        assertThat(verifications).hasValue(1);
+        assertThat(cache.missCount()).isEqualTo(1);
+        assertThat(cache.hitCount()).isEqualTo(1);
+    }
+
+    @Test
+    void entryExpiresAtTokenExpiry() {
+        JwtTokenCache cache = new JwtTokenCache(true, 100, nanos::get, clock);
+
+        cache.get("token-a", verifierExpiringIn(60));
+        nanos.addAndGet(TimeUnit.SECONDS.toNanos(59));
+        cache.get("token-a", verifierExpiringIn(60));
+        assertThat(verifications).hasValue(1);
+
+        nanos.addAndGet(TimeUnit.SECONDS.toNanos(2));
+        cache.get("token-a", verifierExpiringIn(60));
+        assertThat(verifications).hasValue(2);
+    }
+
+    @Test
+    void rejectedTokenIsNotCached() {
+        JwtTokenCache cache = new JwtTokenCache(true, 100, nanos::get, clock);
+        Function<String, JwtPrincipal> rejecting = token -> {
+            verifications.incrementAndGet();
+            throw new IllegalArgumentException("bad signature");
+        };
+
+        assertThatThrownBy(() -> cache.get("token-a", rejecting)).isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> cache.get("token-a", rejecting)).isInstanceOf(IllegalArgumentException.class);
+        assertThat(verifications).hasValue(2);
+        assertThat(cache.estimatedSize()).isZero();
+    }
+
+    @Test
+    void disabledCacheVerifiesEveryTime() {
+        JwtTokenCache cache = new JwtTokenCache(false, 100, nanos::get, clock);
+
+        cache.get("token-a", verifierExpiringIn(60));
+        cache.get("token-a", verifierExpiringIn(60));
+
+        assertThat(verifications).hasValue(2);
+    }
+}
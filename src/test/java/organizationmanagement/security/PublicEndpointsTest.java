@@ -0,0 +1,50 @@
+package organizationmanagement.security;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockHttpServletRequest;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class PublicEndpointsTest {
+
+    private final PublicEndpoints publicEndpoints = new PublicEndpoints();
+
+    @Test
+    void documentationAndHealthArePublicForAnyMethod() {
+        assertThat(publicEndpoints.matches("GET", "/actuator/health")).isTrue();
+        assertThat(publicEndpoints.matches("GET", "/v3/api-docs")).isTrue();
+        assertThat(publicEndpoints.matches("GET", "/v3/api-docs/swagger-config")).isTrue();
+        assertThat(publicEndpoints.matches("GET", "/swagger-ui/index.html")).isTrue();
+        assertThat(publicEndpoints.matches("GET", "/swagger-ui.html")).isTrue();
+    }
+
+    @Test
+    void organizationRoutesArePublicOnlyForTheirMethod() {
+        assertThat(publicEndpoints.matches("POST", "/api/organizations")).isTrue();
+        assertThat(publicEndpoints.matches("GET", "/api/organizations")).isFalse();
+
+        assertThat(publicEndpoints.matches("GET", "/api/organizations/6f1c1f43-52a1-4d55-9d6d-4f3e0fbb1e53/exists")).isTrue();
+        assertThat(publicEndpoints.matches("DELETE", "/api/organizations/6f1c1f43-52a1-4d55-9d6d-4f3e0fbb1e53/exists")).isFalse();
+        assertThat(publicEndpoints.matches("GET", "/api/organizations/6f1c1f43-52a1-4d55-9d6d-4f3e0fbb1e53/children")).isFalse();
+        assertThat(publicEndpoints.matches("GET", "/api/organizations/a/b/exists")).isFalse();
+
+        assertThat(publicEndpoints.matches("POST", "/api/organizations/exists")).isTrue();
+        assertThat(publicEndpoints.matches("DELETE", "/api/organizations/exists")).isFalse();
+    }
+
+    @Test
+    void applicationRoutesAreNotPublic() {
+        assertThat(publicEndpoints.matches("GET", "/api/teams")).isFalse();
+        assertThat(publicEndpoints.matches("GET", "/api/departments/6f1c1f43-52a1-4d55-9d6d-4f3e0fbb1e53")).isFalse();
+        assertThat(publicEndpoints.matches("GET", "/v3/api-docsx")).isFalse();
+        assertThat(publicEndpoints.matches("GET", "/actuator/env")).isFalse();
+    }
+
+    @Test
+    void requestPathIsResolvedWithinTheContextPath() {
+        MockHttpServletRequest request = new MockHttpServletRequest("POST", "/org/api/organizations");
+        request.setContextPath("/org");
+
+        assertThat(publicEndpoints.matches(request)).isTrue();
+    }
+}
@@ -0,0 +1,216 @@
+package organizationmanagement.service;
+
+import com.zaxxer.hikari.HikariDataSource;
+import com.zaxxer.hikari.HikariPoolMXBean;
+import io.zonky.test.db.postgres.embedded.EmbeddedPostgres;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.context.annotation.Import;
+import org.springframework.http.ResponseEntity;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import organizationmanagement.client.ExistenceCache;
+import organizationmanagement.client.RemoteServiceGuards;
+import organizationmanagement.client.SurveyServiceClient;
+import organizationmanagement.client.UserServiceClient;
+import organizationmanagement.model.Department;
+import organizationmanagement.model.Organization;
+import organizationmanagement.model.Team;
+import organizationmanagement.repository.DepartmentRepository;
+import organizationmanagement.repository.OrganizationRepository;
+import organizationmanagement.repository.TeamRepository;
+
+import javax.sql.DataSource;
+import java.io.IOException;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Consumer;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.when;
+
+/**
+ * Many concurrent assignments against a user-service stand-in that takes {@value #REMOTE_LATENCY_MS} ms
+ * to answer, on a Hikari pool much smaller than the number of callers. While the remote call is in
+ * flight no connection may be checked out and no thread may be queued for one.
+ * Uses a plain Hikari pool over the embedded database so pool metrics are real.
+ */
+@DataJpaTest(properties = {
+        "spring.datasource.hikari.maximum-pool-size=" + AssignmentConnectionUsageTest.POOL_SIZE,
+        "spring.datasource.hikari.connection-timeout=2000",
+        // Every caller joins one batch, so nothing is legitimately writing while the stand-in is sampled
+        "existence-batch.window=200ms"})
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+@Import({ExistenceCache.class, RemoteServiceGuards.class, DepartmentService.class, TeamService.class,
+        OrganizationVersions.class, OptimisticLockRetry.class})
+class AssignmentConnectionUsageTest {
+
+    static final int POOL_SIZE = 2;
+    private static final int CALLERS = 16;
+    private static final int REMOTE_LATENCY_MS = 500;
+
+    private static final EmbeddedPostgres postgres = start();
+
+    @DynamicPropertySource
+    static void dataSource(DynamicPropertyRegistry registry) {
+        registry.add("spring.datasource.url", () -> postgres.getJdbcUrl("postgres", "postgres"));
+        registry.add("spring.datasource.username", () -> "postgres");
+        registry.add("spring.datasource.password", () -> "postgres");
+    }
+
+    @AfterAll
+    static void stop() throws IOException {
+        postgres.close();
+    }
+
+    @Autowired
+    private TeamService teamService;
+
+    @Autowired
+    private DepartmentService departmentService;
+
+    @Autowired
+    private OrganizationRepository organizationRepository;
+
+    @Autowired
+    private DepartmentRepository departmentRepository;
+
+    @Autowired
+    private TeamRepository teamRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private DataSource dataSource;
+
+    @MockBean
+    private UserServiceClient userServiceClient;
+
+    @MockBean
+    private SurveyServiceClient surveyServiceClient;
+
+    private final AtomicInteger maxActiveDuringRemoteCall = new AtomicInteger(-1);
+    private final AtomicInteger maxWaitingDuringRemoteCall = new AtomicInteger(-1);
+
+    private HikariPoolMXBean pool;
+    private UUID organizationId;
+    private UUID departmentId;
+    private UUID teamId;
+
+    @BeforeEach
+    void setUp() throws SQLException {
+        pool = dataSource.unwrap(HikariDataSource.class).getHikariPoolMXBean();
+        when(userServiceClient.usersExist(any())).thenAnswer(invocation -> slowlyAllExist(invocation.getArgument(0)));
+        when(userServiceClient.userExists(any())).thenAnswer(invocation -> {
+            slowRemoteCall();
+            return ResponseEntity.ok(true);
+        });
+
+        Organization org = new Organization();
+        org.setName("Pool Org " + UUID.randomUUID());
+        organizationRepository.save(org);
+        Department department = new Department();
+        department.setName("Engineering");
+        department.setOrganization(org);
+        departmentRepository.save(department);
+        Team team = new Team();
+        team.setName("Platform");
+        team.setDepartment(department);
+        teamRepository.save(team);
+
+        organizationId = org.getId();
+        departmentId = department.getId();
+        teamId = team.getId();
+    }
+
+    @Test
+    void teamAssignmentsHoldNoConnectionDuringRemoteVerification() throws Exception {
+        List<UUID> users = assignConcurrently(userId -> teamService.assignUserToTeamInOrganization(teamId, userId, organizationId));
+
+        assertPoolStayedFlat();
+        assertThat(jdbcTemplate.queryForObject(
+                "SELECT count(*) FROM organization_service.team_users WHERE team_id = ?", Integer.class, teamId))
+                .isEqualTo(users.size());
+    }
+
+    @Test
+    void departmentAssignmentsHoldNoConnectionDuringRemoteVerification() throws Exception {
+        List<UUID> users = assignConcurrently(userId ->
+                departmentService.assignUserToDepartmentInOrganization(departmentId, userId, organizationId));
+
+        assertPoolStayedFlat();
+        assertThat(jdbcTemplate.queryForObject(
+                "SELECT count(*) FROM organization_service.department_users WHERE department_id = ?", Integer.class, departmentId))
+                .isEqualTo(users.size());
+    }
+
+    private List<UUID> assignConcurrently(Consumer<UUID> assign) throws Exception {
+        List<UUID> users = new ArrayList<>();
+        for (int i = 0; i < CALLERS; i++) {
+            users.add(UUID.randomUUID());
+        }
+        ExecutorService callers = Executors.newFixedThreadPool(CALLERS);
+        try {
+            List<Future<?>> results = new ArrayList<>();
+            for (UUID userId : users) {
+                results.add(callers.submit(() -> assign.accept(userId)));
+            }
+            for (Future<?> result : results) {
+                result.get(30, TimeUnit.SECONDS);
+            }
+        } finally {
+            callers.shutdownNow();
+        }
+        return users;
+    }
+
+    private void assertPoolStayedFlat() {
+        assertThat(maxActiveDuringRemoteCall.get()).as("connections checked out during the remote call").isZero();
+        assertThat(maxWaitingDuringRemoteCall.get()).as("threads waiting for a connection").isZero();
+    }
+
+    private ResponseEntity<Map<UUID, Boolean>> slowlyAllExist(Collection<UUID> ids) throws InterruptedException {
+        slowRemoteCall();
+        return ResponseEntity.ok(ids.stream().collect(Collectors.toMap(Function.identity(), id -> true)));
+    }
+
+    /**
+     * Stands in for a slow user-service. Sampled at the end of the delay, when every caller
+     * has finished its lookup and is waiting on this response.
+     */
+    private void slowRemoteCall() throws InterruptedException {
+        Thread.sleep(REMOTE_LATENCY_MS);
+        maxActiveDuringRemoteCall.accumulateAndGet(pool.getActiveConnections(), Math::max);
+        maxWaitingDuringRemoteCall.accumulateAndGet(pool.getThreadsAwaitingConnection(), Math::max);
+    }
+
+    private static EmbeddedPostgres start() {
+        try {
+            return EmbeddedPostgres.start();
+        } catch (IOException e) {
+            throw new IllegalStateException("Could not start embedded PostgreSQL", e);
+        }
+    }
+}
@@ -0,0 +1,170 @@
+package organizationmanagement.service;
+
+import io.zonky.test.db.AutoConfigureEmbeddedDatabase;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.context.annotation.Import;
+import org.springframework.http.ResponseEntity;
+import org.springframework.jdbc.core.JdbcTemplate;
+import organizationmanagement.client.ExistenceCache;
+import organizationmanagement.client.RemoteServiceGuards;
+import organizationmanagement.client.SurveyServiceClient;
+import organizationmanagement.client.UserServiceClient;
+import organizationmanagement.dto.BulkAssignmentResultDTO;
+import organizationmanagement.dto.BulkAssignmentResultDTO.Item;
+import organizationmanagement.dto.BulkAssignmentResultDTO.Status;
+import organizationmanagement.exception.BadRequestException;
+import organizationmanagement.model.Department;
+import organizationmanagement.model.Organization;
+import organizationmanagement.model.Team;
+import organizationmanagement.repository.MembershipJdbcRepository;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.EnumMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.stream.Collectors;
+
+import static io.zonky.test.db.AutoConfigureEmbeddedDatabase.DatabaseProvider.ZONKY;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@DataJpaTest
+@AutoConfigureEmbeddedDatabase(provider = ZONKY)
+@Import({ExistenceCache.class, RemoteServiceGuards.class, BulkAssignmentService.class, MembershipJdbcRepository.class,
+        OrganizationVersions.class})
+class BulkAssignmentServiceTest {
+
+    @Autowired
+    private BulkAssignmentService bulkAssignmentService;
+
+    @Autowired
+    private TestEntityManager entityManager;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @MockBean
+    private UserServiceClient userServiceClient;
+
+    @MockBean
+    private SurveyServiceClient surveyServiceClient;
+
+    private UUID organizationId;
+    private UUID departmentId;
+    private UUID teamId;
+    private UUID alreadyMember;
+
+    @BeforeEach
+    void setUp() {
+        Organization org = new Organization();
+        org.setName("Bulk Org");
+        entityManager.persist(org);
+
+        alreadyMember = UUID.randomUUID();
+        Department department = new Department();
+        department.setName("Engineering");
+        department.setOrganization(org);
+        entityManager.persist(department);
+
+        Team team = new Team();
+        team.setName("Platform");
+        team.setDepartment(department);
+        team.setUserIds(new HashSet<>(Set.of(alreadyMember)));
+        entityManager.persist(team);
+
+        entityManager.flush();
+        organizationId = org.getId();
+        departmentId = department.getId();
+        teamId = team.getId();
+    }
+
+    @Test
+    void tenThousandUsersAreAssignedWithAPerIdReport() {
+        UUID unknown = UUID.randomUUID();
+        UUID unreachable = UUID.randomUUID();
+        List<Collection<UUID>> batches = Collections.synchronizedList(new ArrayList<>());
+        when(userServiceClient.usersExist(any())).thenAnswer(invocation -> {
+            Collection<UUID> batch = List.copyOf(invocation.<Collection<UUID>>getArgument(0));
+            batches.add(batch);
+            if (batch.contains(unreachable)) {
+                throw new IllegalStateException("user-service timed out");
+            }
+            return ResponseEntity.ok(batch.stream().collect(Collectors.toMap(id -> id, id -> !id.equals(unknown))));
+        });
+
+        List<UUID> ids = new ArrayList<>();
+        for (int i = 0; i < 9_996; i++) {
+            ids.add(UUID.randomUUID());
+        }
+        ids.addAll(List.of(alreadyMember, unknown, unreachable, ids.get(0)));
+        Collections.shuffle(ids);
+
+        BulkAssignmentResultDTO result = bulkAssignmentService.assignUsersToTeam(teamId, ids, organizationId);
+
+        assertThat(result.getRequested()).isEqualTo(10_000);
+        // Everything in the unreachable ID's batch fails verification with it
+        int failedBatch = batches.stream().filter(batch -> batch.contains(unreachable)).findFirst().orElseThrow().size();
+        boolean unknownInFailedBatch = batches.stream()
+                .anyMatch(batch -> batch.contains(unreachable) && batch.contains(unknown));
+        assertThat(result.getAssigned()).isEqualTo(9_998 - failedBatch - (unknownInFailedBatch ? 0 : 1));
+        assertThat(result.getResults()).extracting(Item::getId).containsExactlyElementsOf(ids);
+        Map<Status, Long> counts = result.getResults().stream()
+                .collect(Collectors.groupingBy(Item::getStatus, Collectors.counting()));
+        Map<Status, Long> expected = new EnumMap<>(Map.of(
+                Status.ASSIGNED, (long) result.getAssigned(),
+                Status.ALREADY_ASSIGNED, 1L,
+                Status.VERIFICATION_FAILED, (long) failedBatch,
+                Status.DUPLICATE_IN_REQUEST, 1L));
+        if (!unknownInFailedBatch) {
+            expected.put(Status.NOT_FOUND, 1L);
+        }
+        assertThat(counts).containsExactlyInAnyOrderEntriesOf(expected);
+        assertThat(memberCount("team_users", "team_id", teamId)).isEqualTo(result.getAssigned() + 1);
+        // Lookups are coalesced into batch calls, and existing members never leave the service
+        assertThat(batches).hasSizeLessThan(200)
+                .noneMatch(batch -> batch.contains(alreadyMember));
+        verify(userServiceClient, never()).userExists(any());
+    }
+
+    @Test
+    void surveysAreAssignedToADepartment() {
+        when(surveyServiceClient.surveysExist(any())).thenAnswer(invocation -> ResponseEntity.ok(
+                invocation.<Collection<UUID>>getArgument(0).stream().collect(Collectors.toMap(id -> id, id -> true))));
+        List<UUID> ids = List.of(UUID.randomUUID(), UUID.randomUUID());
+
+        BulkAssignmentResultDTO result = bulkAssignmentService.assignSurveysToDepartment(departmentId, ids, organizationId);
+
+        assertThat(result.getResults()).extracting(Item::getStatus).containsOnly(Status.ASSIGNED);
+        assertThat(memberCount("department_surveys", "department_id", departmentId)).isEqualTo(2);
+    }
+
+    @Test
+    void oversizedRequestIsRejected() {
+        List<UUID> ids = new ArrayList<>();
+        for (int i = 0; i < 10_001; i++) {
+            ids.add(UUID.randomUUID());
+        }
+
+        assertThatThrownBy(() -> bulkAssignmentService.assignUsersToTeam(teamId, ids, organizationId))
+                .isInstanceOf(BadRequestException.class);
+    }
+
+    private int memberCount(String table, String groupColumn, UUID groupId) {
+        return jdbcTemplate.queryForObject("SELECT count(*) FROM organization_service." + table +
+                " WHERE " + groupColumn + " = ?", Integer.class, groupId);
+    }
+}
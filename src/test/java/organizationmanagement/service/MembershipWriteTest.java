@@ -0,0 +1,161 @@
+package organizationmanagement.service;
+
+import io.zonky.test.db.AutoConfigureEmbeddedDatabase;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.context.annotation.Import;
+import org.springframework.http.ResponseEntity;
+import org.springframework.jdbc.core.JdbcTemplate;
+import organizationmanagement.client.ExistenceCache;
+import organizationmanagement.client.RemoteServiceGuards;
+import organizationmanagement.client.SurveyServiceClient;
+import organizationmanagement.client.UserServiceClient;
+import organizationmanagement.exception.BadRequestException;
+import organizationmanagement.exception.ResourceNotFoundException;
+import organizationmanagement.model.Department;
+import organizationmanagement.model.Organization;
+import organizationmanagement.model.Team;
+
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.stream.Collectors;
+
+import static io.zonky.test.db.AutoConfigureEmbeddedDatabase.DatabaseProvider.ZONKY;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.when;
+
+@DataJpaTest(properties = "spring.jpa.properties.hibernate.generate_statistics=true")
+@AutoConfigureEmbeddedDatabase(provider = ZONKY)
+@Import({ExistenceCache.class, RemoteServiceGuards.class, DepartmentService.class, TeamService.class,
+        OrganizationVersions.class, OptimisticLockRetry.class})
+class MembershipWriteTest {
+
+    @Autowired
+    private DepartmentService departmentService;
+
+    @Autowired
+    private TeamService teamService;
+
+    @Autowired
+    private TestEntityManager entityManager;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @MockBean
+    private UserServiceClient userServiceClient;
+
+    @MockBean
+    private SurveyServiceClient surveyServiceClient;
+
+    private UUID organizationId;
+    private UUID departmentId;
+    private UUID teamId;
+
+    @BeforeEach
+    void setUp() {
+        when(userServiceClient.usersExist(any())).thenAnswer(invocation -> allExist(invocation.getArgument(0)));
+        when(surveyServiceClient.surveysExist(any())).thenAnswer(invocation -> allExist(invocation.getArgument(0)));
+
+        Organization org = new Organization();
+        org.setName("Membership Org");
+        entityManager.persist(org);
+
+        Set<UUID> members = new HashSet<>();
+        for (int i = 0; i < 500; i++) {
+            members.add(UUID.randomUUID());
+        }
+        Department department = new Department();
+        department.setName("Engineering");
+        department.setOrganization(org);
+        department.setUserIds(members);
+        entityManager.persist(department);
+
+        Team team = new Team();
+        team.setName("Platform");
+        team.setDepartment(department);
+        team.setUserIds(new HashSet<>(members));
+        entityManager.persist(team);
+
+        entityManager.flush();
+        entityManager.clear();
+        organizationId = org.getId();
+        departmentId = department.getId();
+        teamId = team.getId();
+    }
+
+    @Test
+    void assignAndRemoveNeverLoadTheMembershipCollection() {
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+        UUID userId = UUID.randomUUID();
+        UUID surveyId = UUID.randomUUID();
+
+        teamService.assignUserToTeamInOrganization(teamId, userId, organizationId);
+        teamService.assignSurveyToTeamInOrganization(teamId, surveyId, organizationId);
+        departmentService.assignUserToDepartmentInOrganization(departmentId, userId, organizationId);
+        departmentService.assignSurveyToDepartmentInOrganization(departmentId, surveyId, organizationId);
+
+        assertThat(countRows("team_users", "team_id", teamId, "user_id", userId)).isOne();
+        assertThat(countRows("team_surveys", "team_id", teamId, "survey_id", surveyId)).isOne();
+        assertThat(countRows("department_users", "department_id", departmentId, "user_id", userId)).isOne();
+        assertThat(countRows("department_surveys", "department_id", departmentId, "survey_id", surveyId)).isOne();
+
+        teamService.removeUserFromTeamInOrganization(teamId, userId, organizationId);
+        teamService.removeSurveyFromTeamInOrganization(teamId, surveyId, organizationId);
+        departmentService.removeUserFromDepartmentInOrganization(departmentId, userId, organizationId);
+        departmentService.removeSurveyFromDepartmentInOrganization(departmentId, surveyId, organizationId);
+
+        assertThat(countRows("team_users", "team_id", teamId, "user_id", userId)).isZero();
+        assertThat(countRows("department_users", "department_id", departmentId, "user_id", userId)).isZero();
+        assertThat(statistics.getCollectionFetchCount()).isZero();
+        assertThat(statistics.getEntityLoadCount()).isZero();
+    }
+
+    @Test
+    void duplicateAssignmentIsRejectedByTheRowCount() {
+        UUID userId = UUID.randomUUID();
+        teamService.assignUserToTeamInOrganization(teamId, userId, organizationId);
+
+        assertThatThrownBy(() -> teamService.assignUserToTeamInOrganization(teamId, userId, organizationId))
+                .isInstanceOf(BadRequestException.class)
+                .hasMessage("User is already assigned to this team");
+        assertThatThrownBy(() -> departmentService.removeSurveyFromDepartmentInOrganization(
+                departmentId, UUID.randomUUID(), organizationId))
+                .isInstanceOf(BadRequestException.class)
+                .hasMessage("Survey is not assigned to this department");
+    }
+
+    @Test
+    void groupOutsideTheOrganizationIsNotFound() {
+        assertThatThrownBy(() -> teamService.removeUserFromTeamInOrganization(teamId, UUID.randomUUID(), UUID.randomUUID()))
+                .isInstanceOf(ResourceNotFoundException.class);
+        assertThatThrownBy(() -> departmentService.assignUserToDepartmentInOrganization(
+                departmentId, UUID.randomUUID(), UUID.randomUUID()))
+                .isInstanceOf(ResourceNotFoundException.class);
+    }
+
+    private static ResponseEntity<Map<UUID, Boolean>> allExist(Collection<UUID> ids) {
+        return ResponseEntity.ok(ids.stream().collect(Collectors.toMap(id -> id, id -> true)));
+    }
+
+    private int countRows(String table, String groupColumn, UUID groupId, String memberColumn, UUID memberId) {
+        return jdbcTemplate.queryForObject("SELECT count(*) FROM organization_service." + table +
+                " WHERE " + groupColumn + " = ? AND " + memberColumn + " = ?", Integer.class, groupId, memberId);
+    }
+}
@@ -0,0 +1,212 @@
+package organizationmanagement.service;
+
+import io.zonky.test.db.AutoConfigureEmbeddedDatabase;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.context.annotation.Import;
+import org.springframework.http.ResponseEntity;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.orm.ObjectOptimisticLockingFailureException;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import organizationmanagement.client.ExistenceCache;
+import organizationmanagement.client.RemoteServiceGuards;
+import organizationmanagement.client.SurveyServiceClient;
+import organizationmanagement.client.UserServiceClient;
+import organizationmanagement.exception.ConflictException;
+import organizationmanagement.model.Department;
+import organizationmanagement.model.Organization;
+import organizationmanagement.model.Team;
+import organizationmanagement.repository.DepartmentRepository;
+import organizationmanagement.repository.OrganizationPurgeRepository;
+import organizationmanagement.repository.TeamRepository;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Collectors;
+
+import static io.zonky.test.db.AutoConfigureEmbeddedDatabase.DatabaseProvider.ZONKY;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.when;
+
+/**
+ * Concurrent membership edits and updates of the same team or department all land: memberships
+ * are written row by row, and updates that lose a version race are retried on the current row.
+ */
+@DataJpaTest(properties = "optimistic-lock.max-attempts=20")
+@AutoConfigureEmbeddedDatabase(provider = ZONKY)
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+@Import({OrganizationService.class, DepartmentService.class, TeamService.class, OrganizationVersions.class,
+        OptimisticLockRetry.class, ExistenceCache.class, RemoteServiceGuards.class,
+        OrganizationPurgeRepository.class, OrganizationIdIndex.class})
+class OptimisticLockingTest {
+
+    private static final int THREADS = 8;
+    private static final int ASSIGNMENTS = 64;
+    private static final int UPDATES = 16;
+
+    @Autowired
+    private OrganizationService organizationService;
+
+    @Autowired
+    private DepartmentService departmentService;
+
+    @Autowired
+    private TeamService teamService;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Autowired
+    private DepartmentRepository departmentRepository;
+
+    @Autowired
+    private TeamRepository teamRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @MockBean
+    private UserServiceClient userServiceClient;
+
+    @MockBean
+    private SurveyServiceClient surveyServiceClient;
+
+    private UUID organizationId;
+    private UUID departmentId;
+    private UUID teamId;
+
+    @BeforeEach
+    void setUp() {
+        when(userServiceClient.usersExist(any())).thenAnswer(invocation -> allExist(invocation.getArgument(0)));
+
+        Organization org = new Organization();
+        org.setName("Locking " + UUID.randomUUID());
+        organizationId = organizationService.create(org).getId();
+        Department department = new Department();
+        department.setName("Engineering");
+        departmentId = departmentService.createUnderOrganization(organizationId, department).getId();
+        Team team = new Team();
+        team.setName("Platform");
+        teamId = teamService.createUnderDepartmentInOrganization(departmentId, team, organizationId).getId();
+    }
+
+    @Test
+    void concurrentAssignmentsAndUpdatesAllLand() throws Exception {
+        List<Callable<Void>> tasks = new ArrayList<>();
+        for (int i = 0; i < ASSIGNMENTS; i++) {
+            UUID userId = UUID.randomUUID();
+            tasks.add(() -> {
+                teamService.assignUserToTeamInOrganization(teamId, userId, organizationId);
+                departmentService.assignUserToDepartmentInOrganization(departmentId, userId, organizationId);
+                return null;
+            });
+        }
+        for (int i = 0; i < UPDATES; i++) {
+            String name = "Platform " + i;
+            tasks.add(() -> {
+                Team renamed = new Team();
+                renamed.setName(name);
+                teamService.updateInOrganization(teamId, departmentId, renamed, organizationId);
+
+                Department stale = departmentService.getById(departmentId);
+                stale.setName("Engineering " + name);
+                departmentService.update(stale);
+                return null;
+            });
+        }
+
+        runConcurrently(tasks);
+
+        assertThat(memberCount("team_users", "team_id", teamId)).isEqualTo(ASSIGNMENTS);
+        assertThat(memberCount("department_users", "department_id", departmentId)).isEqualTo(ASSIGNMENTS);
+        // Every update was applied on top of the previous one
+        assertThat(teamRepository.findById(teamId).orElseThrow().getVersion()).isEqualTo(UPDATES);
+        assertThat(departmentRepository.findById(departmentId).orElseThrow().getVersion()).isEqualTo(UPDATES);
+    }
+
+    @Test
+    void staleDepartmentCopyDoesNotOverwriteMemberships() {
+        Department stale = departmentService.getById(departmentId);
+        Department concurrent = departmentService.getById(departmentId);
+        concurrent.setName("Research");
+        departmentService.update(concurrent);
+        departmentService.assignUserToDepartmentInOrganization(departmentId, UUID.randomUUID(), organizationId);
+
+        stale.setName("Renamed");
+        stale.setUserIds(new HashSet<>());
+        departmentService.update(stale);
+
+        Department current = departmentService.getById(departmentId);
+        assertThat(current.getName()).isEqualTo("Renamed");
+        assertThat(current.getVersion()).isEqualTo(2);
+        assertThat(memberCount("department_users", "department_id", departmentId)).isEqualTo(1);
+    }
+
+    @Test
+    void retriesAreBounded() {
+        AtomicInteger attempts = new AtomicInteger();
+        OptimisticLockRetry retry = new OptimisticLockRetry(3, Duration.ZERO, transactionManager);
+
+        assertThat(retry.run("update team", () -> {
+            if (attempts.incrementAndGet() < 3) {
+                throw new ObjectOptimisticLockingFailureException(Team.class, teamId);
+            }
+            return "saved";
+        })).isEqualTo("saved");
+
+        attempts.set(0);
+        assertThatThrownBy(() -> retry.run("update team", () -> {
+            attempts.incrementAndGet();
+            throw new ObjectOptimisticLockingFailureException(Team.class, teamId);
+        })).isInstanceOf(ConflictException.class);
+        assertThat(attempts).hasValue(3);
+    }
+
+    private static void runConcurrently(List<Callable<Void>> tasks) throws Exception {
+        ExecutorService executor = Executors.newFixedThreadPool(THREADS);
+        try {
+            CountDownLatch start = new CountDownLatch(1);
+            List<Future<Void>> results = new ArrayList<>();
+            for (Callable<Void> task : tasks) {
+                results.add(executor.submit(() -> {
+                    start.await();
+                    return task.call();
+                }));
+            }
+            start.countDown();
+            for (Future<Void> result : results) {
+                // Rethrows the first failure
+                result.get();
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    private int memberCount(String table, String column, UUID id) {
+        return jdbcTemplate.queryForObject(
+                "SELECT count(*) FROM organization_service." + table + " WHERE " + column + " = ?", Integer.class, id);
+    }
+
+    private static ResponseEntity<Map<UUID, Boolean>> allExist(Collection<UUID> ids) {
+        return ResponseEntity.ok(ids.stream().collect(Collectors.toMap(id -> id, id -> true)));
+    }
+}
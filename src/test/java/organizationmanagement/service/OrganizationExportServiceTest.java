@@ -0,0 +1,104 @@
+package organizationmanagement.service;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.zonky.test.db.AutoConfigureEmbeddedDatabase;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.jackson.JacksonAutoConfiguration;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.context.annotation.Import;
+import organizationmanagement.exception.ResourceNotFoundException;
+import organizationmanagement.model.Department;
+import organizationmanagement.model.Organization;
+import organizationmanagement.model.Team;
+
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.stream.Collectors;
+
+import static io.zonky.test.db.AutoConfigureEmbeddedDatabase.DatabaseProvider.ZONKY;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+@DataJpaTest
+@AutoConfigureEmbeddedDatabase(provider = ZONKY)
+@Import({OrganizationExportService.class, JacksonAutoConfiguration.class})
+class OrganizationExportServiceTest {
+
+    @Autowired
+    private OrganizationExportService exportService;
+
+    @Autowired
+    private TestEntityManager entityManager;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Test
+    void exportsTheWholeTreeOneObjectPerLine() throws Exception {
+        Organization org = new Organization();
+        org.setName("Export Org");
+        entityManager.persist(org);
+
+        UUID user = UUID.randomUUID();
+        UUID survey = UUID.randomUUID();
+        Department department = new Department();
+        department.setName("Engineering");
+        department.setOrganization(org);
+        department.setUserIds(Set.of(user));
+        department.setSurveyIds(Set.of(survey));
+        entityManager.persist(department);
+
+        for (int i = 0; i < 3; i++) {
+            Team team = new Team();
+            team.setName("Team " + i);
+            team.setDepartment(department);
+            team.setUserIds(Set.of(user, UUID.randomUUID()));
+            entityManager.persist(team);
+        }
+        entityManager.flush();
+        entityManager.clear();
+
+        List<JsonNode> lines = export(org.getId());
+
+        assertThat(lines.get(0).get("type").asText()).isEqualTo("organization");
+        assertThat(lines.get(0).get("name").asText()).isEqualTo("Export Org");
+        Map<String, Long> countsByType = lines.stream()
+                .collect(Collectors.groupingBy(line -> line.get("type").asText(), Collectors.counting()));
+        assertThat(countsByType).containsExactlyInAnyOrderEntriesOf(Map.of(
+                "organization", 1L,
+                "department", 1L,
+                "team", 3L,
+                "department_user", 1L,
+                "department_survey", 1L,
+                "team_user", 6L));
+        assertThat(lines).filteredOn(line -> line.get("type").asText().equals("team"))
+                .allSatisfy(team -> assertThat(team.get("departmentId").asText()).isEqualTo(department.getId().toString()));
+    }
+
+    @Test
+    void unknownOrganizationIsNotFound() {
+        assertThatThrownBy(() -> exportService.writeNdjson(UUID.randomUUID(), new ByteArrayOutputStream()))
+                .isInstanceOf(ResourceNotFoundException.class);
+    }
+
+    private List<JsonNode> export(UUID organizationId) throws Exception {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        exportService.writeNdjson(organizationId, out);
+
+        String body = out.toString(StandardCharsets.UTF_8);
+        assertThat(body).endsWith("\n");
+        List<JsonNode> lines = new ArrayList<>();
+        for (String line : body.split("\n")) {
+            lines.add(objectMapper.readTree(line));
+        }
+        return lines;
+    }
+}
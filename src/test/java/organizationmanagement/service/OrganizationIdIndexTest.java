@@ -0,0 +1,137 @@
+package organizationmanagement.service;
+
+import io.zonky.test.db.AutoConfigureEmbeddedDatabase;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import organizationmanagement.model.Organization;
+import organizationmanagement.repository.OrganizationPurgeRepository;
+import organizationmanagement.utils.TimeOrderedUuid;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.UUID;
+
+import static io.zonky.test.db.AutoConfigureEmbeddedDatabase.DatabaseProvider.ZONKY;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.entry;
+
+/**
+ * Existence checks are answered from the id index without SQL, and organizations created or
+ * deleted behind this instance's back (as another instance would) show up with the next sync;
+ * until then new ones are found in the database.
+ */
+@DataJpaTest(properties = {"organization-ids.sync-interval=PT1H", "organization-ids.rebuild-interval=PT1H"})
+@AutoConfigureEmbeddedDatabase(provider = ZONKY)
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+@Import({OrganizationService.class, OrganizationVersions.class, OrganizationPurgeRepository.class,
+        OrganizationIdIndex.class})
+class OrganizationIdIndexTest {
+
+    @Autowired
+    private OrganizationService organizationService;
+
+    @Autowired
+    private OrganizationIdIndex organizationIdIndex;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    private Statistics statistics;
+    private UUID organizationId;
+
+    @BeforeEach
+    void setUp() {
+        organizationId = create("Indexed " + UUID.randomUUID());
+        organizationIdIndex.rebuild();
+
+        statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.setStatisticsEnabled(true);
+        statistics.clear();
+    }
+
+    @Test
+    void knownAndUnknownIdsAreAnsweredWithoutQueries() {
+        UUID created = create("Created " + UUID.randomUUID());
+        statistics.clear();
+
+        for (int i = 0; i < 100; i++) {
+            assertThat(organizationService.exists(organizationId)).isTrue();
+            assertThat(organizationService.exists(created)).isTrue();
+        }
+        int unknownExists = 0;
+        for (int i = 0; i < 1000; i++) {
+            if (organizationService.exists(UUID.randomUUID())) {
+                unknownExists++;
+            }
+        }
+
+        assertThat(unknownExists).isZero();
+        // Only the filter's false positives (about 1%) went to the database
+        assertThat(statistics.getPrepareStatementCount()).isLessThan(50);
+    }
+
+    @Test
+    void deletedOrganizationIsGoneAtOnce() {
+        organizationService.delete(organizationId);
+
+        assertThat(organizationService.exists(organizationId)).isFalse();
+        assertThat(organizationService.exists(List.of(organizationId))).containsOnly(entry(organizationId, false));
+        assertThat(organizationIdIndex.lookup(organizationId)).isNotEqualTo(OrganizationIdIndex.Answer.PRESENT);
+    }
+
+    @Test
+    void changesThroughOtherInstancesArrivePerSync() {
+        // An id that isn't time-ordered, as from an instance that predates them
+        UUID elsewhere = UUID.randomUUID();
+        jdbcTemplate.update("INSERT INTO organization_service.organization (id, name) VALUES (?, ?)",
+                elsewhere, "Elsewhere " + elsewhere);
+        jdbcTemplate.update("UPDATE organization_service.organization SET deleted_at = now() WHERE id = ?",
+                organizationId);
+
+        // Until the next sync this instance still has the old picture
+        assertThat(organizationIdIndex.lookup(elsewhere)).isEqualTo(OrganizationIdIndex.Answer.ABSENT);
+        assertThat(organizationIdIndex.lookup(organizationId)).isEqualTo(OrganizationIdIndex.Answer.PRESENT);
+
+        organizationIdIndex.sync();
+
+        assertThat(organizationIdIndex.lookup(elsewhere)).isEqualTo(OrganizationIdIndex.Answer.PRESENT);
+        assertThat(organizationService.exists(elsewhere)).isTrue();
+        assertThat(organizationIdIndex.lookup(organizationId)).isNotEqualTo(OrganizationIdIndex.Answer.PRESENT);
+    }
+
+    @Test
+    void organizationCreatedElsewhereExistsBeforeTheNextSync() {
+        UUID elsewhere = TimeOrderedUuid.generate();
+        jdbcTemplate.update("INSERT INTO organization_service.organization (id, name) VALUES (?, ?)",
+                elsewhere, "Elsewhere " + elsewhere);
+
+        // Newer than the last sync, so the filter's miss isn't trusted
+        assertThat(organizationIdIndex.lookup(elsewhere)).isEqualTo(OrganizationIdIndex.Answer.UNKNOWN);
+        assertThat(organizationService.exists(elsewhere)).isTrue();
+        assertThat(organizationService.exists(List.of(elsewhere))).containsOnly(entry(elsewhere, true));
+
+        // An id from before the last sync that the filter never saw is still answered without SQL
+        UUID old = TimeOrderedUuid.generate(System.currentTimeMillis() - Duration.ofHours(1).toMillis());
+        statistics.clear();
+        assertThat(organizationService.exists(old)).isFalse();
+        assertThat(statistics.getPrepareStatementCount()).isZero();
+    }
+
+    private UUID create(String name) {
+        Organization organization = new Organization();
+        organization.setName(name);
+        return organizationService.create(organization).getId();
+    }
+}
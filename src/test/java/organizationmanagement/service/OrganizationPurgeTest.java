@@ -0,0 +1,206 @@
+package organizationmanagement.service;
+
+import io.zonky.test.db.AutoConfigureEmbeddedDatabase;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.context.annotation.Import;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.DefaultTransactionDefinition;
+import org.springframework.transaction.support.TransactionTemplate;
+import organizationmanagement.client.SurveyServiceClient;
+import organizationmanagement.client.UserServiceClient;
+import organizationmanagement.exception.ResourceNotFoundException;
+import organizationmanagement.model.Department;
+import organizationmanagement.model.Organization;
+import organizationmanagement.model.Team;
+import organizationmanagement.repository.DepartmentRepository;
+import organizationmanagement.repository.MembershipJdbcRepository;
+import organizationmanagement.repository.MembershipTable;
+import organizationmanagement.repository.OrganizationPurgeRepository;
+import organizationmanagement.repository.PurgeStage;
+import organizationmanagement.repository.TeamRepository;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+import static io.zonky.test.db.AutoConfigureEmbeddedDatabase.DatabaseProvider.ZONKY;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * Deleting an organization hides it at once; the purge removes its rows chunk by chunk and can be
+ * stopped and resumed at any point.
+ */
+@DataJpaTest(properties = {"organization-purge.chunk-size=10", "organization-purge.initial-delay=PT1H"})
+@AutoConfigureEmbeddedDatabase(provider = ZONKY)
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+@Import({OrganizationService.class, OrganizationVersions.class, OrganizationPurgeRepository.class,
+        OrganizationPurger.class, MembershipJdbcRepository.class, OrganizationIdIndex.class})
+class OrganizationPurgeTest {
+
+    private static final String SCHEMA = "organization_service";
+
+    @Autowired
+    private OrganizationService organizationService;
+
+    @Autowired
+    private OrganizationPurger organizationPurger;
+
+    @Autowired
+    private OrganizationPurgeRepository purgeRepository;
+
+    @Autowired
+    private DepartmentRepository departmentRepository;
+
+    @Autowired
+    private TeamRepository teamRepository;
+
+    @Autowired
+    private MembershipJdbcRepository membershipJdbcRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @MockBean
+    private UserServiceClient userServiceClient;
+
+    @MockBean
+    private SurveyServiceClient surveyServiceClient;
+
+    private UUID userId;
+    private UUID deleted;
+    private UUID kept;
+
+    @BeforeEach
+    void setUp() {
+        userId = UUID.randomUUID();
+        deleted = createOrganization("Deleted " + UUID.randomUUID(), 3, 2, 15);
+        kept = createOrganization("Kept " + UUID.randomUUID(), 1, 1, 5);
+    }
+
+    @Test
+    void deletedOrganizationIsHiddenAtOnce() {
+        Organization organization = organizationService.getById(deleted);
+        List<Department> departments = departmentRepository.findByOrganizationId(deleted);
+        // Cached in the second-level cache before the delete
+        assertThat(organizationService.exists(deleted)).isTrue();
+
+        organizationService.delete(deleted);
+
+        assertThat(organizationService.exists(deleted)).isFalse();
+        assertThatThrownBy(() -> organizationService.getById(deleted)).isInstanceOf(ResourceNotFoundException.class);
+        assertThatThrownBy(() -> organizationService.delete(deleted)).isInstanceOf(ResourceNotFoundException.class);
+        assertThat(departmentRepository.findById(departments.get(0).getId())).isEmpty();
+        assertThat(departmentRepository.findByOrganizationId(deleted)).isEmpty();
+        assertThat(teamRepository.findByDepartmentOrganizationId(deleted)).isEmpty();
+        assertThat(membershipJdbcRepository.findGroupsOfUser(userId, null))
+                .allSatisfy(group -> assertThat(group.getOrganizationId()).isEqualTo(kept));
+
+        // The name is free again, though the rows are still there
+        Organization sameName = new Organization();
+        sameName.setName(organization.getName());
+        assertThat(organizationService.create(sameName).getId()).isNotEqualTo(deleted);
+        assertThat(rowCount("team_users", deleted)).isEqualTo(3 * 2 * 15);
+    }
+
+    @Test
+    void purgeRemovesEverythingInChunksAndResumesWhereItStopped() {
+        organizationService.delete(deleted);
+        TransactionTemplate transaction = new TransactionTemplate(transactionManager);
+
+        // A few chunks, then the instance "stops"
+        for (int i = 0; i < 4; i++) {
+            assertThat(transaction.<Boolean>execute(status -> purgeRepository.purgeChunk(deleted, 10))).isTrue();
+        }
+        Map<String, Object> progress = jdbcTemplate.queryForMap(
+                "SELECT stage, rows_purged FROM " + SCHEMA + ".organization_purge WHERE organization_id = ?", deleted);
+        assertThat(progress).containsEntry("stage", PurgeStage.TEAM_USERS.name()).containsEntry("rows_purged", 40L);
+        assertThat(rowCount("team_users", deleted)).isEqualTo(3 * 2 * 15 - 40);
+
+        organizationPurger.purgePending();
+
+        assertThat(jdbcTemplate.queryForObject("SELECT count(*) FROM " + SCHEMA + ".organization WHERE id = ?",
+                Integer.class, deleted)).isZero();
+        assertThat(jdbcTemplate.queryForObject("SELECT count(*) FROM " + SCHEMA + ".department WHERE organization_id = ?",
+                Integer.class, deleted)).isZero();
+        assertThat(purgeRepository.findPending()).doesNotContain(deleted);
+        for (String table : List.of("team_users", "team_surveys", "department_users", "department_surveys")) {
+            assertThat(rowCount(table, deleted)).as(table).isZero();
+        }
+
+        // Other organizations are untouched
+        assertThat(organizationService.exists(kept)).isTrue();
+        assertThat(rowCount("team_users", kept)).isEqualTo(5);
+        assertThat(rowCount("department_surveys", kept)).isEqualTo(5);
+    }
+
+    @Test
+    void concurrentPurgeOfTheSameOrganizationIsSkipped() {
+        organizationService.delete(deleted);
+        TransactionTemplate transaction = new TransactionTemplate(transactionManager);
+
+        // While one instance holds the organization's queue row, another one moves on
+        transaction.executeWithoutResult(status -> {
+            assertThat(purgeRepository.purgeChunk(deleted, 10)).isTrue();
+            TransactionTemplate otherInstance = new TransactionTemplate(transactionManager,
+                    new DefaultTransactionDefinition(TransactionDefinition.PROPAGATION_REQUIRES_NEW));
+            assertThat(otherInstance.<Boolean>execute(inner -> purgeRepository.purgeChunk(deleted, 10))).isFalse();
+        });
+        assertThat(rowCount("team_users", deleted)).isEqualTo(3 * 2 * 15 - 10);
+    }
+
+    private UUID createOrganization(String name, int departments, int teamsPerDepartment, int membersPerGroup) {
+        Organization organization = new Organization();
+        organization.setName(name);
+        organization = organizationService.create(organization);
+        for (int d = 0; d < departments; d++) {
+            Department department = new Department();
+            department.setName("Department " + d);
+            department.setOrganization(organization);
+            department = departmentRepository.save(department);
+            insertMembers(MembershipTable.DEPARTMENT_USERS, department.getId(), membersPerGroup);
+            insertMembers(MembershipTable.DEPARTMENT_SURVEYS, department.getId(), membersPerGroup);
+            for (int t = 0; t < teamsPerDepartment; t++) {
+                Team team = new Team();
+                team.setName("Team " + d + "-" + t);
+                team.setDepartment(department);
+                team = teamRepository.save(team);
+                insertMembers(MembershipTable.TEAM_USERS, team.getId(), membersPerGroup);
+                insertMembers(MembershipTable.TEAM_SURVEYS, team.getId(), membersPerGroup);
+            }
+        }
+        return organization.getId();
+    }
+
+    private void insertMembers(MembershipTable membership, UUID groupId, int count) {
+        List<UUID> members = new ArrayList<>();
+        members.add(userId);
+        for (int i = 1; i < count; i++) {
+            members.add(UUID.randomUUID());
+        }
+        membershipJdbcRepository.insert(membership, groupId, members);
+    }
+
+    /**
+     * Membership rows of the organization, found through the group tables, whether marked deleted or not
+     */
+    private int rowCount(String table, UUID organizationId) {
+        String join = table.startsWith("team")
+                ? " m JOIN " + SCHEMA + ".team t ON t.id = m.team_id JOIN " + SCHEMA + ".department d ON d.id = t.department_id"
+                : " m JOIN " + SCHEMA + ".department d ON d.id = m.department_id";
+        return jdbcTemplate.queryForObject("SELECT count(*) FROM " + SCHEMA + "." + table + join +
+                " WHERE d.organization_id = ?", Integer.class, organizationId);
+    }
+}
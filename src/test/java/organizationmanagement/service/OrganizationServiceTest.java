@@ -0,0 +1,126 @@
+package organizationmanagement.service;
+
+import jakarta.persistence.EntityManagerFactory;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.dao.DataIntegrityViolationException;
+import organizationmanagement.exception.BadRequestException;
+import organizationmanagement.model.Organization;
+import organizationmanagement.repository.DepartmentRepository;
+import organizationmanagement.repository.OrganizationPurgeRepository;
+import organizationmanagement.repository.OrganizationRepository;
+import organizationmanagement.repository.TeamRepository;
+
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.stream.Stream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.assertj.core.api.Assertions.entry;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class OrganizationServiceTest {
+
+    private static final int EXISTS_MAX_IDS = 10;
+
+    @Mock
+    private OrganizationRepository organizationRepository;
+
+    @Mock
+    private DepartmentRepository departmentRepository;
+
+    @Mock
+    private TeamRepository teamRepository;
+
+    @Mock
+    private OrganizationPurgeRepository organizationPurgeRepository;
+
+    @Mock
+    private OrganizationVersions organizationVersions;
+
+    @Mock
+    private OrganizationIdIndex organizationIdIndex;
+
+    @Mock
+    private EntityManagerFactory entityManagerFactory;
+
+    private OrganizationService organizationService;
+
+    @BeforeEach
+    void setUp() {
+        organizationService = new OrganizationService(organizationRepository, departmentRepository, teamRepository,
+                organizationPurgeRepository, organizationVersions, organizationIdIndex, entityManagerFactory,
+                EXISTS_MAX_IDS);
+    }
+
+    private static Organization named(String name) {
+        Organization org = new Organization();
+        org.setName(name);
+        return org;
+    }
+
+    @Test
+    void duplicateNameIsRejectedWithoutLoadingAllOrganizations() {
+        when(organizationRepository.existsByNormalizedName("Acme")).thenReturn(true);
+
+        assertThatThrownBy(() -> organizationService.create(named("  Acme ")))
+                .isInstanceOf(BadRequestException.class)
+                .hasMessageContaining("already exists");
+        verify(organizationRepository, never()).findAll();
+        verify(organizationRepository, never()).saveAndFlush(any());
+    }
+
+    @Test
+    void concurrentDuplicateBecomesBadRequest() {
+        when(organizationRepository.existsByNormalizedName("Acme")).thenReturn(false);
+        when(organizationRepository.saveAndFlush(any(Organization.class)))
+                .thenThrow(new DataIntegrityViolationException("ux_organization_name_normalized"));
+
+        assertThatThrownBy(() -> organizationService.create(named("Acme")))
+                .isInstanceOf(BadRequestException.class)
+                .hasMessageContaining("already exists");
+    }
+
+    @Test
+    void batchCheckAsksTheDatabaseOnceForWhatTheIndexCantTell() {
+        UUID present = UUID.randomUUID();
+        UUID absent = UUID.randomUUID();
+        UUID found = UUID.randomUUID();
+        UUID missing = UUID.randomUUID();
+        when(organizationIdIndex.lookup(present)).thenReturn(OrganizationIdIndex.Answer.PRESENT);
+        when(organizationIdIndex.lookup(absent)).thenReturn(OrganizationIdIndex.Answer.ABSENT);
+        when(organizationIdIndex.lookup(found)).thenReturn(OrganizationIdIndex.Answer.UNKNOWN);
+        when(organizationIdIndex.lookup(missing)).thenReturn(OrganizationIdIndex.Answer.UNKNOWN);
+        when(organizationRepository.findExistingIds(new UUID[]{found, missing})).thenReturn(List.of(found));
+
+        Map<UUID, Boolean> answers = organizationService.exists(List.of(present, absent, found, missing, found));
+
+        assertThat(answers).containsOnly(entry(present, true), entry(absent, false),
+                entry(found, true), entry(missing, false));
+        verify(organizationRepository).findExistingIds(any());
+        verify(organizationIdIndex).confirmed(found);
+    }
+
+    @Test
+    void batchCheckIsBoundedByTheConfiguredMaximum() {
+        List<UUID> atLimit = Stream.generate(UUID::randomUUID).limit(EXISTS_MAX_IDS).toList();
+        atLimit.forEach(id -> when(organizationIdIndex.lookup(id)).thenReturn(OrganizationIdIndex.Answer.ABSENT));
+        List<UUID> tooMany = Stream.generate(UUID::randomUUID).limit(EXISTS_MAX_IDS + 1).toList();
+
+        assertThat(organizationService.exists(atLimit)).hasSize(EXISTS_MAX_IDS);
+        assertThatThrownBy(() -> organizationService.exists(tooMany))
+                .isInstanceOf(BadRequestException.class)
+                .hasMessageContaining("At most " + EXISTS_MAX_IDS);
+        assertThat(organizationService.exists(List.of())).isEmpty();
+        verify(organizationRepository, never()).findExistingIds(any());
+    }
+}
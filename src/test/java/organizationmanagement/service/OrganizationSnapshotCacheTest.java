@@ -0,0 +1,265 @@
+package organizationmanagement.service;
+
+import io.zonky.test.db.AutoConfigureEmbeddedDatabase;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.context.annotation.Import;
+import org.springframework.http.ResponseEntity;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+import organizationmanagement.client.ExistenceCache;
+import organizationmanagement.client.RemoteServiceGuards;
+import organizationmanagement.client.SurveyServiceClient;
+import organizationmanagement.client.UserServiceClient;
+import organizationmanagement.dto.DepartmentNode;
+import organizationmanagement.dto.OrganizationSnapshot;
+import organizationmanagement.dto.TeamNode;
+import organizationmanagement.model.Department;
+import organizationmanagement.model.Organization;
+import organizationmanagement.model.Team;
+import organizationmanagement.repository.OrganizationPurgeRepository;
+import organizationmanagement.utils.KeysetPage;
+import organizationmanagement.utils.PageCursor;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.stream.Collectors;
+
+import static io.zonky.test.db.AutoConfigureEmbeddedDatabase.DatabaseProvider.ZONKY;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.when;
+
+/**
+ * Snapshots are reused until the organization's stored version moves, whichever instance made the
+ * change, then replaced by a new one showing it; snapshots already handed out never change.
+ */
+@DataJpaTest
+@AutoConfigureEmbeddedDatabase(provider = ZONKY)
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+@Import({OrganizationService.class, DepartmentService.class, TeamService.class, OptimisticLockRetry.class,
+        OrganizationSnapshotCache.class, OrganizationVersions.class, ExistenceCache.class, RemoteServiceGuards.class,
+        OrganizationPurgeRepository.class, OrganizationIdIndex.class})
+class OrganizationSnapshotCacheTest {
+
+    @Autowired
+    private OrganizationSnapshotCache snapshotCache;
+
+    @Autowired
+    private OrganizationService organizationService;
+
+    @Autowired
+    private DepartmentService departmentService;
+
+    @Autowired
+    private TeamService teamService;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    private TransactionTemplate transactionTemplate;
+
+    @MockBean
+    private UserServiceClient userServiceClient;
+
+    @MockBean
+    private SurveyServiceClient surveyServiceClient;
+
+    private UUID organizationId;
+    private UUID departmentId;
+
+    @BeforeEach
+    void setUp() {
+        transactionTemplate = new TransactionTemplate(transactionManager);
+        when(userServiceClient.usersExist(any())).thenAnswer(invocation -> allExist(invocation.getArgument(0)));
+
+        Organization org = new Organization();
+        org.setName("Snapshot " + UUID.randomUUID());
+        organizationId = organizationService.create(org).getId();
+        departmentId = createDepartment("Engineering");
+        createTeam("Platform", departmentId);
+    }
+
+    @Test
+    void unchangedOrganizationIsServedFromTheSameSnapshot() {
+        OrganizationSnapshot first = snapshotCache.get(organizationId);
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.setStatisticsEnabled(true);
+        statistics.clear();
+
+        for (int i = 0; i < 20; i++) {
+            assertThat(snapshotCache.get(organizationId)).isSameAs(first);
+        }
+
+        // Only the stored version was read, over plain JDBC, which Hibernate doesn't count
+        assertThat(statistics.getPrepareStatementCount()).isZero();
+        assertThat(first.getDepartments()).extracting(DepartmentNode::getName).containsExactly("Engineering");
+        assertThat(first.getTeamsOf(departmentId)).extracting(TeamNode::getName).containsExactly("Platform");
+    }
+
+    @Test
+    void everyServiceMutationReplacesTheSnapshot() {
+        OrganizationSnapshot initial = snapshotCache.get(organizationId);
+        UUID teamId = initial.getTeams().get(0).getId();
+
+        departmentService.assignUserToDepartmentInOrganization(departmentId, UUID.randomUUID(), organizationId);
+        teamService.assignUserToTeamInOrganization(teamId, UUID.randomUUID(), organizationId);
+        OrganizationSnapshot afterAssignments = snapshotCache.get(organizationId);
+        assertThat(afterAssignments.getVersion()).isGreaterThan(initial.getVersion());
+        assertThat(afterAssignments.getDepartment(departmentId).orElseThrow().getUserCount()).isEqualTo(1);
+        assertThat(afterAssignments.getTeam(teamId).orElseThrow().getUserCount()).isEqualTo(1);
+
+        UUID research = createDepartment("Research");
+        Team renamed = new Team();
+        renamed.setName("Infrastructure");
+        teamService.updateInOrganization(teamId, research, renamed, organizationId);
+        OrganizationSnapshot afterMove = snapshotCache.get(organizationId);
+        assertThat(afterMove.getTeamsOf(departmentId)).isEmpty();
+        assertThat(afterMove.getTeamsOf(research)).extracting(TeamNode::getName).containsExactly("Infrastructure");
+
+        teamService.deleteByIdAndOrganization(teamId, organizationId);
+        departmentService.deleteByIdAndOrganization(research, organizationId);
+        OrganizationSnapshot afterDeletes = snapshotCache.get(organizationId);
+        assertThat(afterDeletes.getTeams()).isEmpty();
+        assertThat(afterDeletes.getDepartments()).extracting(DepartmentNode::getId).containsExactly(departmentId);
+
+        Organization newName = new Organization();
+        newName.setName("Renamed " + UUID.randomUUID());
+        organizationService.update(organizationId, newName);
+        assertThat(snapshotCache.get(organizationId).getName()).isEqualTo(newName.getName());
+
+        // Snapshots already handed out are untouched
+        assertThat(initial.getTeams()).extracting(TeamNode::getName).containsExactly("Platform");
+        assertThat(initial.getDepartment(departmentId).orElseThrow().getUserCount()).isZero();
+    }
+
+    @Test
+    void changeMadeThroughAnotherInstanceShowsUpAtOnce() {
+        OrganizationSnapshot before = snapshotCache.get(organizationId);
+
+        // Another instance adds a department and bumps the stored version in the same transaction
+        UUID added = UUID.randomUUID();
+        transactionTemplate.executeWithoutResult(status -> {
+            jdbcTemplate.update("INSERT INTO organization_service.department (id, name, organization_id) VALUES (?, ?, ?)",
+                    added, "Added elsewhere", organizationId);
+            jdbcTemplate.update("UPDATE organization_service.organization SET version = version + 1 WHERE id = ?",
+                    organizationId);
+        });
+
+        OrganizationSnapshot after = snapshotCache.get(organizationId);
+        assertThat(after.getVersion()).isEqualTo(before.getVersion() + 1);
+        assertThat(after.getDepartment(added)).isPresent();
+        assertThat(snapshotCache.get(organizationId)).isSameAs(after);
+    }
+
+    @Test
+    void snapshotBelongsToTheVersionItShows() {
+        long stored = jdbcTemplate.queryForObject(
+                "SELECT version FROM organization_service.organization WHERE id = ?", Long.class, organizationId);
+
+        // Creating the department and the team were one change each
+        assertThat(stored).isEqualTo(2);
+        assertThat(snapshotCache.get(organizationId).getVersion()).isEqualTo(stored);
+    }
+
+    @Test
+    void pagesMatchTheDatabaseOrderAndSurviveADeletedCursorRow() {
+        for (String name : List.of("b", "a", "B", "c", "A")) {
+            createDepartment("Dept " + name);
+        }
+
+        List<UUID> fromDatabase = new ArrayList<>();
+        PageCursor after = null;
+        do {
+            KeysetPage<Department> page = departmentService.getPageByOrganization(organizationId, after, 2);
+            page.getItems().forEach(department -> fromDatabase.add(department.getId()));
+            after = PageCursor.decode(page.getNextCursor());
+        } while (after != null);
+
+        List<UUID> fromSnapshot = new ArrayList<>();
+        after = null;
+        do {
+            KeysetPage<DepartmentNode> page = snapshotCache.getDepartmentPage(snapshotCache.get(organizationId), after, 2);
+            page.getItems().forEach(department -> fromSnapshot.add(department.getId()));
+            after = PageCursor.decode(page.getNextCursor());
+        } while (after != null);
+
+        assertThat(fromSnapshot).isEqualTo(fromDatabase).hasSize(6);
+
+        // The last row of the first page is deleted before the second page is requested
+        KeysetPage<DepartmentNode> firstPage = snapshotCache.getDepartmentPage(snapshotCache.get(organizationId), null, 2);
+        departmentService.deleteByIdAndOrganization(firstPage.getItems().get(1).getId(), organizationId);
+        KeysetPage<DepartmentNode> secondPage = snapshotCache.getDepartmentPage(
+                snapshotCache.get(organizationId), PageCursor.decode(firstPage.getNextCursor()), 2);
+        assertThat(secondPage.getItems()).extracting(DepartmentNode::getId).isEqualTo(fromDatabase.subList(2, 4));
+    }
+
+    @Test
+    void readersRacingWithWritersEndUpOnTheLatestState() throws Exception {
+        int teams = 20;
+        AtomicBoolean writing = new AtomicBoolean(true);
+        ExecutorService readers = Executors.newFixedThreadPool(4);
+        try {
+            List<Future<Integer>> reads = new ArrayList<>();
+            for (int r = 0; r < 4; r++) {
+                reads.add(readers.submit(() -> {
+                    int count = 0;
+                    while (writing.get()) {
+                        snapshotCache.get(organizationId);
+                        count++;
+                    }
+                    return count;
+                }));
+            }
+            for (int i = 0; i < teams; i++) {
+                createTeam("Team " + i, departmentId);
+            }
+            writing.set(false);
+            for (Future<Integer> read : reads) {
+                assertThat(read.get()).isPositive();
+            }
+        } finally {
+            readers.shutdownNow();
+        }
+
+        assertThat(snapshotCache.get(organizationId).getTeams()).hasSize(teams + 1);
+    }
+
+    private UUID createDepartment(String name) {
+        Department department = new Department();
+        department.setName(name);
+        return departmentService.createUnderOrganization(organizationId, department).getId();
+    }
+
+    private UUID createTeam(String name, UUID departmentId) {
+        Team team = new Team();
+        team.setName(name);
+        return teamService.createUnderDepartmentInOrganization(departmentId, team, organizationId).getId();
+    }
+
+    private static ResponseEntity<Map<UUID, Boolean>> allExist(Collection<UUID> ids) {
+        return ResponseEntity.ok(ids.stream().collect(Collectors.toMap(id -> id, id -> true)));
+    }
+}
@@ -0,0 +1,245 @@
+package organizationmanagement.service;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import io.zonky.test.db.AutoConfigureEmbeddedDatabase;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.engine.spi.SessionFactoryImplementor;
+import org.hibernate.metamodel.spi.MappingMetamodelImplementor;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.context.annotation.Import;
+import org.springframework.http.ResponseEntity;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import organizationmanagement.client.ExistenceCache;
+import organizationmanagement.client.RemoteServiceGuards;
+import organizationmanagement.client.SurveyServiceClient;
+import organizationmanagement.client.UserServiceClient;
+import organizationmanagement.exception.ResourceNotFoundException;
+import organizationmanagement.model.Department;
+import organizationmanagement.model.Organization;
+import organizationmanagement.model.Team;
+import organizationmanagement.repository.DepartmentRepository;
+import organizationmanagement.repository.OrganizationPurgeRepository;
+import organizationmanagement.repository.QuerySpaces;
+import organizationmanagement.repository.QuerySpacesCheck;
+import organizationmanagement.repository.SecondLevelCacheMetrics;
+import organizationmanagement.repository.TeamRepository;
+
+import java.util.Collection;
+import java.util.Map;
+import java.util.UUID;
+import java.util.stream.Collectors;
+
+import static io.zonky.test.db.AutoConfigureEmbeddedDatabase.DatabaseProvider.ZONKY;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.when;
+
+/**
+ * Organization, Department and Team reads come from the second-level and query caches, and
+ * every write made through the services is visible to the next read. Each service call runs in
+ * its own transaction, as it does behind the controllers.
+ */
+@DataJpaTest
+@AutoConfigureEmbeddedDatabase(provider = ZONKY)
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+@Import({OrganizationService.class, DepartmentService.class, TeamService.class, ExistenceCache.class,
+        RemoteServiceGuards.class, OrganizationVersions.class, OptimisticLockRetry.class, SecondLevelCacheMetrics.class,
+        OrganizationPurgeRepository.class, OrganizationIdIndex.class, QuerySpacesCheck.class})
+class SecondLevelCacheTest {
+
+    @Autowired
+    private OrganizationService organizationService;
+
+    @Autowired
+    private DepartmentService departmentService;
+
+    @Autowired
+    private TeamService teamService;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Autowired
+    private SecondLevelCacheMetrics cacheMetrics;
+
+    @Autowired
+    private DepartmentRepository departmentRepository;
+
+    @Autowired
+    private TeamRepository teamRepository;
+
+    @MockBean
+    private UserServiceClient userServiceClient;
+
+    @MockBean
+    private SurveyServiceClient surveyServiceClient;
+
+    private Statistics statistics;
+    private UUID organizationId;
+    private UUID departmentId;
+    private UUID teamId;
+
+    @BeforeEach
+    void setUp() {
+        when(userServiceClient.usersExist(any())).thenAnswer(invocation -> allExist(invocation.getArgument(0)));
+
+        Organization org = new Organization();
+        org.setName("Cached " + UUID.randomUUID());
+        organizationId = organizationService.create(org).getId();
+
+        Department department = new Department();
+        department.setName("Engineering");
+        departmentId = departmentService.createUnderOrganization(organizationId, department).getId();
+
+        Team team = new Team();
+        team.setName("Platform");
+        teamId = teamService.createUnderDepartmentInOrganization(departmentId, team, organizationId).getId();
+
+        statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+    }
+
+    @Test
+    void repeatedLookupsDoNotGoToTheDatabase() {
+        for (int i = 0; i < 2; i++) {
+            assertThat(organizationService.exists(organizationId)).isTrue();
+            organizationService.getById(organizationId);
+            departmentService.getByIdAndOrganization(departmentId, organizationId);
+            teamService.getByIdAndOrganization(teamId, organizationId);
+        }
+        long statementsAfterFirstRound = statistics.getPrepareStatementCount();
+
+        for (int i = 0; i < 10; i++) {
+            assertThat(organizationService.exists(organizationId)).isTrue();
+            assertThat(organizationService.getById(organizationId).getId()).isEqualTo(organizationId);
+            assertThat(departmentService.getByIdAndOrganization(departmentId, organizationId).getName())
+                    .isEqualTo("Engineering");
+            assertThat(teamService.getByIdAndOrganization(teamId, organizationId).getName()).isEqualTo("Platform");
+        }
+
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(statementsAfterFirstRound);
+        assertThat(statistics.getDomainDataRegionStatistics("organization").getHitCount()).isGreaterThanOrEqualTo(20);
+        assertThat(statistics.getQueryCacheHitCount()).isGreaterThanOrEqualTo(20);
+
+        SimpleMeterRegistry meters = new SimpleMeterRegistry();
+        cacheMetrics.bindTo(meters);
+        assertThat(meters.get("hibernate.second.level.cache.requests")
+                .tags("region", "organization", "result", "hit").functionCounter().count()).isGreaterThanOrEqualTo(20);
+        assertThat(meters.get("hibernate.query.cache.requests").tag("result", "hit").functionCounter().count())
+                .isGreaterThanOrEqualTo(20);
+    }
+
+    @Test
+    void updatesAreVisibleToTheNextRead() {
+        organizationService.getById(organizationId);
+        departmentService.getByIdAndOrganization(departmentId, organizationId);
+        teamService.getByIdAndOrganization(teamId, organizationId);
+
+        Organization renamedOrg = new Organization();
+        renamedOrg.setName("Renamed " + UUID.randomUUID());
+        organizationService.update(organizationId, renamedOrg);
+
+        Department renamedDepartment = departmentService.getById(departmentId);
+        renamedDepartment.setName("Research");
+        departmentService.update(renamedDepartment);
+
+        Team renamedTeam = new Team();
+        renamedTeam.setName("Infrastructure");
+        teamService.updateInOrganization(teamId, departmentId, renamedTeam, organizationId);
+
+        assertThat(organizationService.getById(organizationId).getName()).isEqualTo(renamedOrg.getName());
+        assertThat(departmentService.getByIdAndOrganization(departmentId, organizationId).getName()).isEqualTo("Research");
+        assertThat(teamService.getByIdAndOrganization(teamId, organizationId).getName()).isEqualTo("Infrastructure");
+    }
+
+    @Test
+    void deletesAreVisibleToTheNextRead() {
+        teamService.getByIdAndOrganization(teamId, organizationId);
+        departmentService.getByIdAndOrganization(departmentId, organizationId);
+
+        teamService.deleteByIdAndOrganization(teamId, organizationId);
+        assertThatThrownBy(() -> teamService.getByIdAndOrganization(teamId, organizationId))
+                .isInstanceOf(ResourceNotFoundException.class);
+
+        departmentService.deleteByIdAndOrganization(departmentId, organizationId);
+        assertThatThrownBy(() -> departmentService.getByIdAndOrganization(departmentId, organizationId))
+                .isInstanceOf(ResourceNotFoundException.class);
+
+        assertThat(organizationService.exists(organizationId)).isTrue();
+        organizationService.delete(organizationId);
+        assertThat(organizationService.exists(organizationId)).isFalse();
+        assertThatThrownBy(() -> organizationService.getById(organizationId))
+                .isInstanceOf(ResourceNotFoundException.class);
+    }
+
+    @Test
+    void deletingAnOrganizationInvalidatesItsCachedLookups() {
+        Organization other = new Organization();
+        other.setName("Other " + UUID.randomUUID());
+        UUID otherId = organizationService.create(other).getId();
+        Department otherDepartment = new Department();
+        otherDepartment.setName("Sales");
+        UUID otherDepartmentId = departmentService.createUnderOrganization(otherId, otherDepartment).getId();
+        departmentService.getByIdAndOrganization(otherDepartmentId, otherId);
+
+        for (int i = 0; i < 2; i++) {
+            assertThat(teamRepository.existsByIdAndDepartmentOrganizationId(teamId, organizationId)).isTrue();
+            assertThat(departmentRepository.existsByIdAndOrganizationId(departmentId, organizationId)).isTrue();
+        }
+
+        organizationService.delete(organizationId);
+
+        assertThat(teamRepository.existsByIdAndDepartmentOrganizationId(teamId, organizationId)).isFalse();
+        assertThat(departmentRepository.existsByIdAndOrganizationId(departmentId, organizationId)).isFalse();
+        assertThat(entityManagerFactory.getCache().contains(Team.class, teamId)).isFalse();
+        assertThat(entityManagerFactory.getCache().contains(Department.class, departmentId)).isFalse();
+        // Only the deleted organization's rows leave the cache
+        assertThat(entityManagerFactory.getCache().contains(Department.class, otherDepartmentId)).isTrue();
+    }
+
+    @Test
+    void nativeQuerySpacesMatchTheEntityTables() {
+        MappingMetamodelImplementor metamodel = entityManagerFactory.unwrap(SessionFactoryImplementor.class)
+                .getMappingMetamodel();
+        assertThat(metamodel.getEntityDescriptor(Organization.class).getQuerySpaces())
+                .containsExactly(QuerySpaces.ORGANIZATION);
+        assertThat(metamodel.getEntityDescriptor(Department.class).getQuerySpaces())
+                .containsExactly(QuerySpaces.DEPARTMENT);
+        assertThat(metamodel.getEntityDescriptor(Team.class).getQuerySpaces()).containsExactly(QuerySpaces.TEAM);
+        assertThat(metamodel.getCollectionDescriptor(Team.class.getName() + ".userIds").getCollectionSpaces())
+                .containsExactly(QuerySpaces.TEAM_USERS);
+        assertThat(metamodel.getCollectionDescriptor(Team.class.getName() + ".surveyIds").getCollectionSpaces())
+                .containsExactly(QuerySpaces.TEAM_SURVEYS);
+        assertThat(metamodel.getCollectionDescriptor(Department.class.getName() + ".userIds").getCollectionSpaces())
+                .containsExactly(QuerySpaces.DEPARTMENT_USERS);
+        assertThat(metamodel.getCollectionDescriptor(Department.class.getName() + ".surveyIds").getCollectionSpaces())
+                .containsExactly(QuerySpaces.DEPARTMENT_SURVEYS);
+    }
+
+    @Test
+    void membershipWritesKeepTheEntitiesCached() {
+        departmentService.getByIdAndOrganization(departmentId, organizationId);
+        teamService.getByIdAndOrganization(teamId, organizationId);
+        assertThat(entityManagerFactory.getCache().contains(Organization.class, organizationId)).isTrue();
+
+        departmentService.assignUserToDepartmentInOrganization(departmentId, UUID.randomUUID(), organizationId);
+        teamService.assignUserToTeamInOrganization(teamId, UUID.randomUUID(), organizationId);
+
+        // A native write without query spaces would have cleared every region
+        assertThat(entityManagerFactory.getCache().contains(Organization.class, organizationId)).isTrue();
+        assertThat(entityManagerFactory.getCache().contains(Department.class, departmentId)).isTrue();
+        assertThat(entityManagerFactory.getCache().contains(Team.class, teamId)).isTrue();
+    }
+
+    private static ResponseEntity<Map<UUID, Boolean>> allExist(Collection<UUID> ids) {
+        return ResponseEntity.ok(ids.stream().collect(Collectors.toMap(id -> id, id -> true)));
+    }
+}
@@ -0,0 +1,56 @@
+package organizationmanagement.utils;
+
+import org.junit.jupiter.api.Test;
+import organizationmanagement.exception.BadRequestException;
+
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class PageCursorTest {
+
+    @Test
+    void roundTripsNamesWithAnyCharacters() {
+        UUID id = UUID.randomUUID();
+        PageCursor cursor = new PageCursor("R&D: Équipe / \"ops\"", id);
+
+        String token = cursor.encode();
+        PageCursor decoded = PageCursor.decode(token);
+
+        assertThat(token).matches("[A-Za-z0-9_-]+");
+        assertThat(decoded.getName()).isEqualTo("R&D: Équipe / \"ops\"");
+        assertThat(decoded.getId()).isEqualTo(id);
+    }
+
+    @Test
+    void nullNameIsNotTheStringNull() {
+        UUID id = UUID.randomUUID();
+
+        assertThat(PageCursor.decode(new PageCursor(null, id).encode()).getName()).isNull();
+        assertThat(PageCursor.decode(new PageCursor("null", id).encode()).getName()).isEqualTo("null");
+        assertThat(PageCursor.decode(new PageCursor("", id).encode()).getName()).isEmpty();
+    }
+
+    @Test
+    void missingTokenMeansFirstPage() {
+        assertThat(PageCursor.decode(null)).isNull();
+        assertThat(PageCursor.decode("")).isNull();
+    }
+
+    @Test
+    void malformedTokenIsABadRequest() {
+        assertThatThrownBy(() -> PageCursor.decode("not a cursor!")).isInstanceOf(BadRequestException.class);
+        assertThatThrownBy(() -> PageCursor.decode("c2hvcnQ")).isInstanceOf(BadRequestException.class);
+    }
+
+    @Test
+    void pageSizeIsCappedAtTheMaximum() {
+        PaginationUtil pagination = new PaginationUtil(50, 500);
+
+        assertThat(pagination.resolvePageSize(null)).isEqualTo(50);
+        assertThat(pagination.resolvePageSize(20)).isEqualTo(20);
+        assertThat(pagination.resolvePageSize(10_000)).isEqualTo(500);
+        assertThatThrownBy(() -> pagination.resolvePageSize(0)).isInstanceOf(BadRequestException.class);
+    }
+}
@@ -0,0 +1,36 @@
+package organizationmanagement.utils;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.Instant;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class TimeOrderedUuidTest {
+
+    @Test
+    void carriesItsCreationTime() {
+        long millis = Instant.parse("2026-03-01T12:00:00.123Z").toEpochMilli();
+        UUID id = TimeOrderedUuid.generate(millis);
+
+        assertThat(id.version()).isEqualTo(7);
+        assertThat(id.variant()).isEqualTo(2);
+        assertThat(TimeOrderedUuid.timestampOf(id)).contains(Instant.ofEpochMilli(millis));
+        assertThat(UUID.fromString(id.toString())).isEqualTo(id);
+    }
+
+    @Test
+    void laterIdsSortAfterEarlierOnes() {
+        UUID earlier = TimeOrderedUuid.generate(1_000);
+        UUID later = TimeOrderedUuid.generate(2_000);
+
+        assertThat(earlier.toString()).isLessThan(later.toString());
+        assertThat(TimeOrderedUuid.generate(1_000)).isNotEqualTo(earlier);
+    }
+
+    @Test
+    void randomIdsHaveNoTimestamp() {
+        assertThat(TimeOrderedUuid.timestampOf(UUID.randomUUID())).isEmpty();
+    }
+}
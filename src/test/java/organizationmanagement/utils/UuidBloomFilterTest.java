@@ -0,0 +1,68 @@
+package organizationmanagement.utils;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class UuidBloomFilterTest {
+
+    @Test
+    void neverMissesAnIdThatWasPut() throws Exception {
+        UuidBloomFilter filter = UuidBloomFilter.create(40_000, 0.01);
+        List<UUID> ids = new ArrayList<>();
+        for (int i = 0; i < 40_000; i++) {
+            ids.add(UUID.randomUUID());
+        }
+
+        // Concurrent puts that touch the same words must not lose each other's bits
+        ExecutorService executor = Executors.newFixedThreadPool(4);
+        try {
+            List<Future<?>> puts = new ArrayList<>();
+            for (int t = 0; t < 4; t++) {
+                List<UUID> slice = ids.subList(t * 10_000, (t + 1) * 10_000);
+                puts.add(executor.submit(() -> slice.forEach(filter::put)));
+            }
+            for (Future<?> put : puts) {
+                put.get();
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+
+        assertThat(ids).allMatch(filter::mightContain);
+    }
+
+    @Test
+    void falsePositiveRateIsAboutWhatItWasSizedFor() {
+        UuidBloomFilter filter = UuidBloomFilter.create(10_000, 0.01);
+        for (int i = 0; i < 10_000; i++) {
+            filter.put(UUID.randomUUID());
+        }
+
+        int falsePositives = 0;
+        for (int i = 0; i < 100_000; i++) {
+            if (filter.mightContain(UUID.randomUUID())) {
+                falsePositives++;
+            }
+        }
+
+        assertThat(falsePositives).isBetween(500, 1_500);
+        assertThat(filter.hashCount()).isEqualTo(7);
+        // About 9.6 bits per id at 1%
+        assertThat(filter.bitCount()).isBetween(95_000L, 96_000L);
+    }
+
+    @Test
+    void rateMustBeAProbability() {
+        assertThatThrownBy(() -> UuidBloomFilter.create(100, 0)).isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> UuidBloomFilter.create(100, 1)).isInstanceOf(IllegalArgumentException.class);
+    }
+}